@@ -0,0 +1,45 @@
+package org.opentosca.bus.management.api.soaphttp.processor;
+
+import java.util.concurrent.CompletionException;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.opentosca.bus.management.service.IManagementBusService;
+
+/**
+ * Passes the IA invocation requests of the Management Bus-SOAP/HTTP-API to the Management Bus. The exchange is
+ * continued when the invocation is done, so no thread of the API waits while the invocation waits for others of the
+ * same implementation artifact.
+ */
+public class InvokeIAProcessor implements AsyncProcessor {
+
+    private final IManagementBusService managementBusService;
+
+    public InvokeIAProcessor(final IManagementBusService managementBusService) {
+        this.managementBusService = managementBusService;
+    }
+
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            this.managementBusService.invokeIAAsync(exchange).whenComplete((result, e) -> {
+                if (e != null) {
+                    exchange.setException(e instanceof CompletionException ? e.getCause() : e);
+                }
+                callback.done(false);
+            });
+        } catch (final RuntimeException e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,6 +1,7 @@
 /**
- * This package contains the two camel processors of the Management Bus-SOAP/HTTP-API. One for processing the request
- * and one for processing the response.<br /> <br /> Copyright 2012 IAAS University of Stuttgart <br /> <br />
+ * This package contains the camel processors of the Management Bus-SOAP/HTTP-API. One for processing the request, one
+ * for passing IA invocations on to the Management Bus and one for processing the response.<br /> <br /> Copyright 2012
+ * IAAS University of Stuttgart <br /> <br />
  *
  * @author Michael Zimmermann - zimmerml@studi.informatik.uni-stuttgart.de
  */
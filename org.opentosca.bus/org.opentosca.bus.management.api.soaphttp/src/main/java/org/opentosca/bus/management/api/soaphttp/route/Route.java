@@ -15,6 +15,7 @@ import org.apache.camel.builder.PredicateBuilder;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.cxf.common.message.CxfConstants;
 import org.apache.camel.converter.jaxb.JaxbDataFormat;
+import org.opentosca.bus.management.api.soaphttp.processor.InvokeIAProcessor;
 import org.opentosca.bus.management.api.soaphttp.processor.RequestProcessor;
 import org.opentosca.bus.management.api.soaphttp.processor.ResponseProcessor;
 import org.opentosca.bus.management.service.IManagementBusService;
@@ -123,12 +124,13 @@ public class Route extends RouteBuilder {
 
         final Processor requestProcessor = new RequestProcessor(csarStorageService, containerEngine, managementBusService, choreoHandler);
         final Processor responseProcessor = new ResponseProcessor();
+        final Processor invokeIAProcessor = new InvokeIAProcessor(managementBusService);
 
         this.from(INVOKE_ENDPOINT)
             .unmarshal(requestJaxb)
             .process(requestProcessor)
             .choice().when(IS_INVOKE_IA)
-            .bean(managementBusService, "invokeIA")
+            .process(invokeIAProcessor)
             .when(IS_INVOKE_PLAN)
             .bean(managementBusService, "invokePlan")
             .when(IS_NOTIFY_PARTNER)
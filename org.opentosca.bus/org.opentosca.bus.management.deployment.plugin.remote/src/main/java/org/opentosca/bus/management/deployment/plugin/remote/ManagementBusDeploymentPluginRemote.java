@@ -54,6 +54,10 @@ public class ManagementBusDeploymentPluginRemote implements IManagementBusDeploy
         final CollaborationMessage requestBody = new CollaborationMessage(new KeyValueMap(), null);
         // perform remote deployment
         final Exchange response = requestSender.sendRequestToRemoteContainer(message, RemoteOperations.INVOKE_IA_DEPLOYMENT, requestBody, 0);
+        if (response == null) {
+            LOG.error("Received no response for the remote deployment request.");
+            return exchange;
+        }
 
         // extract the endpoint URI from the response
         final URI endpointURI = response.getIn().getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
@@ -74,6 +78,11 @@ public class ManagementBusDeploymentPluginRemote implements IManagementBusDeploy
         // perform remote undeployment
         final Exchange response = requestSender.sendRequestToRemoteContainer(message, RemoteOperations.INVOKE_IA_UNDEPLOYMENT, requestBody,
             0);
+        if (response == null) {
+            LOG.error("Received no response for the remote undeployment request.");
+            message.setHeader(MBHeader.OPERATIONSTATE_BOOLEAN.toString(), false);
+            return exchange;
+        }
 
         // extract the undeployment state from the response
         final boolean state = response.getIn().getHeader(MBHeader.OPERATIONSTATE_BOOLEAN.toString(), boolean.class);
@@ -5,10 +5,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
@@ -22,6 +21,7 @@ import org.opentosca.bus.management.service.impl.collaboration.model.IAInvocatio
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueMap;
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueType;
 import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -51,6 +51,11 @@ public class ManagementBusInvocationPluginRemote implements IManagementBusInvoca
 
     @Override
     public Exchange invoke(final Exchange exchange) {
+        return invokeAsync(exchange).join();
+    }
+
+    @Override
+    public CompletableFuture<Exchange> invokeAsync(final Exchange exchange) {
 
         LOG.debug("Invoking IA on remote OpenTOSCA Container.");
         final Message message = exchange.getIn();
@@ -64,9 +69,22 @@ public class ManagementBusInvocationPluginRemote implements IManagementBusInvoca
         final CollaborationMessage request = new CollaborationMessage(new KeyValueMap(), requestBody);
 
         // perform remote IA operation
-        final Exchange responseExchange = requestSender.sendRequestToRemoteContainer(message, RemoteOperations.INVOKE_IA_OPERATION, request, 0);
+        return requestSender.sendRequestToRemoteContainerAsync(message, RemoteOperations.INVOKE_IA_OPERATION, request, 0)
+            .handle((responseExchange, e) -> {
+                if (e != null) {
+                    LOG.error("Received no response for the invocation request: {}", e.getMessage());
+                    return exchange;
+                }
+                return processResponse(exchange, responseExchange);
+            });
+    }
 
+    /**
+     * Copies the result of the remote invocation from the response to the given exchange.
+     */
+    private Exchange processResponse(final Exchange exchange, final Exchange responseExchange) {
         LOG.debug("Received a response for the invocation request!");
+        final Message message = exchange.getIn();
 
         if (!(responseExchange.getIn().getBody() instanceof CollaborationMessage)) {
             LOG.error("Received message has invalid class: {}", responseExchange.getIn().getBody().getClass());
@@ -105,9 +123,7 @@ public class ManagementBusInvocationPluginRemote implements IManagementBusInvoca
                 LOG.debug("Response contains output as Document");
 
                 try {
-                    final DocumentBuilderFactory dFact = DocumentBuilderFactory.newInstance();
-                    final DocumentBuilder build = dFact.newDocumentBuilder();
-                    final Document document = build.newDocument();
+                    final Document document = XmlSupport.newDocument();
 
                     final Element element = invocationResponse.getDoc().getAny();
 
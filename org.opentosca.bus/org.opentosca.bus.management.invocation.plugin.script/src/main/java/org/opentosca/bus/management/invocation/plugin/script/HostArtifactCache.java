@@ -0,0 +1,119 @@
+package org.opentosca.bus.management.invocation.plugin.script;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the artifacts that are held by the artifact caches of managed hosts.
+ * <p>
+ * Artifacts are stored on a host under their SHA-256 hash in {@link #HOST_CACHE_DIRECTORY} and copied from there to
+ * the location an operation expects them. An artifact whose hash is known to be held by a host does not need to be
+ * transferred again. Hosts are identified by the id of their OS NodeTemplateInstance, the tracking of a host is dropped
+ * after it was not used for a configurable time. Artifacts are touched whenever they are used, and the host deletes
+ * those that were not used for the same time (see {@link #evictionCommand()}), so its cache does not grow without
+ * bound.
+ * <p>
+ * The tracking is only a hint: if a host lost its cache, the invocation detects the missing artifacts, calls {@link
+ * #forget(Long)} and uploads them again.
+ */
+final class HostArtifactCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostArtifactCache.class);
+
+    static final String HOST_CACHE_DIRECTORY = "~/.opentosca/artifacts";
+
+    private static final long HOST_TTL_HOURS =
+        Long.parseLong(Settings.getSetting("org.opentosca.bus.management.script.artifact.cache.ttl", "24"));
+
+    private final Cache<Long, Set<String>> hashesByHost =
+        CacheBuilder.newBuilder().expireAfterAccess(HOST_TTL_HOURS, TimeUnit.HOURS).build();
+
+    private final Map<Path, HashedFile> hashes = new ConcurrentHashMap<>();
+
+    /**
+     * @return the location of the artifact with the given hash in the cache of a host
+     */
+    static String hostPath(final String hash) {
+        return HOST_CACHE_DIRECTORY + "/" + hash;
+    }
+
+    /**
+     * @return a command that deletes the artifacts, including interrupted uploads, that were not used within the time
+     * a host is tracked
+     */
+    static String evictionCommand() {
+        return "find " + HOST_CACHE_DIRECTORY + " -type f -mmin +" + TimeUnit.HOURS.toMinutes(HOST_TTL_HOURS)
+            + " -delete 2>/dev/null";
+    }
+
+    /**
+     * @return the SHA-256 hash of the given file, or <code>null</code> if it can not be read. Hashes are computed once
+     * per file version.
+     */
+    String hash(final Path file) {
+        try {
+            final long size = Files.size(file);
+            final long lastModified = Files.getLastModifiedTime(file).toMillis();
+            final HashedFile hashed = this.hashes.get(file);
+            if (hashed != null && hashed.size == size && hashed.lastModified == lastModified) {
+                return hashed.hash;
+            }
+            final String hash = com.google.common.io.Files.asByteSource(file.toFile()).hash(Hashing.sha256()).toString();
+            this.hashes.put(file, new HashedFile(size, lastModified, hash));
+            return hash;
+        } catch (final IOException e) {
+            LOG.debug("Unable to hash artifact {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return whether the host is known to hold the artifact with the given hash
+     */
+    boolean isHeld(final Long host, final String hash) {
+        final Set<String> held = this.hashesByHost.getIfPresent(host);
+        return held != null && held.contains(hash);
+    }
+
+    /**
+     * Records that the host holds the artifacts with the given hashes.
+     */
+    void held(final Long host, final Collection<String> hashes) {
+        Objects.requireNonNull(host);
+        this.hashesByHost.asMap().computeIfAbsent(host, h -> ConcurrentHashMap.newKeySet()).addAll(hashes);
+    }
+
+    /**
+     * Drops all tracked artifacts of the host, e.g. because its cache was found to be incomplete.
+     */
+    void forget(final Long host) {
+        this.hashesByHost.invalidate(host);
+    }
+
+    private static final class HashedFile {
+
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+
+        private HashedFile(final long size, final long lastModified, final String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package org.opentosca.bus.management.invocation.plugin.script;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -40,6 +47,7 @@ import org.opentosca.bus.management.invocation.plugin.script.typeshandler.Artifa
 import org.opentosca.bus.management.utils.MBUtils;
 import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.engine.ResolvedArtifacts;
 import org.opentosca.container.core.engine.ResolvedArtifacts.ResolvedDeploymentArtifact;
 import org.opentosca.container.core.engine.ToscaEngine;
@@ -75,6 +83,23 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
     final private static String RUN_SCRIPT_OUTPUT_PARAMETER_NAME = "ScriptResult";
 
+    // separates the outputs of the artifacts executed by one script
+    final private static String ARTIFACT_OUTPUT_SEPARATOR = "#OPENTOSCA_ARTIFACT_FINISHED#";
+
+    // upload and execute all artifacts of an operation with a single script instead of one round-trip per step
+    final private static boolean BATCH_EXECUTION =
+        Boolean.parseBoolean(Settings.getSetting("org.opentosca.bus.management.script.batch", "true"));
+    // maximum size of the Base64 encoded artifacts that are embedded into the batch script instead of being transferred
+    final private static int BATCH_INLINE_MAX_BYTES =
+        Integer.parseInt(Settings.getSetting("org.opentosca.bus.management.script.batch.inline.max", "65536"));
+    // keep transferred artifacts in a cache on the host, so that they are not transferred again by batch invocations;
+    // only used if transferred files are kept at all (OPENTOSCA_ENGINE_IA_KEEPFILES)
+    final private static boolean ARTIFACT_CACHE =
+        Boolean.parseBoolean(Settings.getSetting("org.opentosca.bus.management.script.artifact.cache", "true"));
+
+    // printed by a batch script if artifacts that were expected in the cache of the host are missing
+    final private static String ARTIFACT_CACHE_MISS = "#OPENTOSCA_ARTIFACT_CACHE_MISS#";
+
     final private static Logger LOG = LoggerFactory.getLogger(ManagementBusInvocationPluginScript.class);
 
     private final ArtifactTypesHandler typesHandler;
@@ -83,6 +108,8 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
 
     private final CamelContext camelContext;
 
+    private final HostArtifactCache artifactCache = new HostArtifactCache();
+
     @Inject
     public ManagementBusInvocationPluginScript(ArtifactTypesHandler typesHandler, CsarStorageService storage, ContainerEngine containerEngine, @Named("fallback") CamelContext camelContext) {
         this.typesHandler = typesHandler;
@@ -133,6 +160,8 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
             return exchange;
         }
         LOG.debug("ArtifactType of ArtifactTemplate {} : {}", artifactTemplate.getId(), artifactType.getQName());
+        // the artifacts are part of the invoked CSAR, even if the OS is provided by a replacement instance
+        final Path contentRoot = csar.getSaveLocation();
         final URI serviceInstanceID = message.getHeader(MBHeader.SERVICEINSTANCEID_URI.toString(), URI.class);
         LOG.debug("ServiceInstanceID: {}", serviceInstanceID);
         // search operating system IA to upload files and run scripts on target machine
@@ -145,16 +174,24 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
             return exchange;
         }
 
+        NodeTemplateInstance osInstance = null;
         if (osNodeTemplate.getType().equals(Types.abstractOperatingSystemNodeType)) {
             final NodeTemplateInstance abstractOSInstance = MBUtils.getNodeTemplateInstance(serviceTemplateInstanceId, osNodeTemplate);
             final NodeTemplateInstance replacementInstance = MBUtils.getAbstractOSReplacementInstance(abstractOSInstance);
             if (replacementInstance != null) {
+                osInstance = replacementInstance;
                 // overwrite computed intermediate result based on replacement
                 csar = storage.findById(replacementInstance.getServiceTemplateInstance().getCsarId());
                 serviceTemplate = ToscaEngine.resolveServiceTemplate(csar, replacementInstance.getServiceTemplateInstance().getTemplateId());
                 osNodeTemplate = ToscaEngine.resolveNodeTemplate(serviceTemplate, replacementInstance.getTemplateId());
             }
         }
+        final boolean useArtifactCache = ARTIFACT_CACHE && Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES);
+        if (osInstance == null && useArtifactCache) {
+            osInstance = MBUtils.getNodeTemplateInstance(serviceTemplateInstanceId, osNodeTemplate);
+        }
+        // the host whose artifact cache is used, if any
+        final Long host = useArtifactCache && osInstance != null ? osInstance.getId() : null;
         final TNodeType osNodeType = ToscaEngine.resolveNodeTypeReference(csar, osNodeTemplate.getType());
         LOG.debug("OperatingSystem-NodeType found: {}", osNodeType.getQName());
         final TImplementationArtifact osIA = MBUtils.getOperatingSystemIA(csar, serviceTemplate, osNodeType);
@@ -193,22 +230,17 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         final Map<String, String> resultMap = new HashMap<>();
         final String targetBasePath = "~/" + csarID.csarName();
 
-        // upload and execute all contained artifacts
+        // determine the upload location and the command of all contained artifacts
+        final List<ArtifactUpload> uploads = new ArrayList<>();
+        final List<String> commands = new ArrayList<>();
         for (final TArtifactReference artifactRef : artifactReferences) {
             final String fileSource = Settings.CONTAINER_API + "/csars/" + csarID.csarName() + "/content/" + artifactRef.getReference();
             final String targetFilePath = targetBasePath + "/" + artifactRef.getReference();
             final String targetFileFolderPath = FilenameUtils.getFullPathNoEndSeparator(targetFilePath);
-            final String createDirCommand = "sleep 1 && mkdir -p " + targetFileFolderPath;
+            // references are URL encoded, like the request for the file source
+            final Path localPath = contentRoot.resolve(UriUtil.decodePathSegment(artifactRef.getReference()));
+            uploads.add(new ArtifactUpload(localPath, fileSource, targetFilePath));
 
-            LOG.debug("Uploading file: {}", fileSource);
-            // create directory before uploading file
-            runScript(createDirCommand, headers);
-            // upload file
-            transferFile(fileSource, targetFilePath, headers);
-            LOG.debug("File successfully uploaded.");
-
-            // run script
-            LOG.debug("Running script...");
             final String fileNameWithE = FilenameUtils.getName(targetFilePath);
             final String fileNameWithoutE = FilenameUtils.getBaseName(targetFilePath);
 
@@ -228,21 +260,36 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
                 final String deleteFileCommand = "; rm -f " + targetFilePath;
                 artifactTypeSpecificCommand = artifactTypeSpecificCommand + deleteFileCommand;
             }
-
-            LOG.debug("Final command for the script execution: {}", artifactTypeSpecificCommand);
-            final Object result = runScript(artifactTypeSpecificCommand, headers);
-            LOG.debug("Script execution result: {}", result);
-
-            // check for output parameters in the script result and add them to the
-            // operation result
-            addOutputParametersToResultMap(resultMap, result, operation);
+            commands.add(artifactTypeSpecificCommand);
         }
 
-        if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
-            // remove the created directories
-            LOG.debug("Deleting directories...");
-            final String deleteDirsCommand = "find " + targetBasePath + " -empty -type d -delete";
-            runScript(deleteDirsCommand, headers);
+        // upload and execute all contained artifacts, check for output parameters in the script
+        // results and add them to the operation result
+        if (BATCH_EXECUTION && !commands.isEmpty()) {
+            runBatch(uploads, commands, targetBasePath, host, headers)
+                .forEach(result -> addOutputParametersToResultMap(resultMap, result, operation));
+        } else {
+            for (int i = 0; i < commands.size(); i++) {
+                final ArtifactUpload upload = uploads.get(i);
+                LOG.debug("Uploading file: {}", upload.source);
+                // create directory before uploading file
+                runScript("sleep 1 && mkdir -p " + upload.targetFolder(), headers);
+                transferFile(upload.source, upload.target, headers);
+                LOG.debug("File successfully uploaded.");
+
+                LOG.debug("Running script...");
+                LOG.debug("Final command for the script execution: {}", commands.get(i));
+                final Object result = runScript(commands.get(i), headers);
+                LOG.debug("Script execution result: {}", result);
+                addOutputParametersToResultMap(resultMap, result, operation);
+            }
+
+            if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
+                // remove the created directories
+                LOG.debug("Deleting directories...");
+                final String deleteDirsCommand = "find " + targetBasePath + " -empty -type d -delete";
+                runScript(deleteDirsCommand, headers);
+            }
         }
 
         LOG.debug("All artifacts are executed. Returning result to the Management Bus...");
@@ -256,6 +303,157 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
         return exchange;
     }
 
+    /**
+     * Uploads and executes the given artifacts with a single script. Artifacts that are small enough are embedded into
+     * the script, otherwise they are transferred in advance. Each artifact command runs in its own subshell, so that a
+     * failing artifact does not prevent the execution of the following ones, just like separate invocations.
+     * <p>
+     * If a host is given, artifacts are uploaded to its artifact cache and copied from there, and artifacts that the
+     * host already holds are not uploaded at all. If the cache of the host turns out to be incomplete, the script is
+     * run once more with all artifacts uploaded.
+     *
+     * @param host the id of the OS NodeTemplateInstance whose artifact cache is used, or <code>null</code>
+     * @return the results of the artifact commands in their order, with the output of the respective command as
+     * {@value #RUN_SCRIPT_OUTPUT_PARAMETER_NAME}
+     */
+    private List<Object> runBatch(final List<ArtifactUpload> uploads, final List<String> commands,
+                                  final String targetBasePath, final Long host, final Map<String, Object> headers) {
+        Object result = runBatchScript(uploads, commands, targetBasePath, host, headers);
+        if (host != null && isCacheMiss(result)) {
+            LOG.warn("Artifact cache of host {} is incomplete, uploading all artifacts again.", host);
+            this.artifactCache.forget(host);
+            result = runBatchScript(uploads, commands, targetBasePath, host, headers);
+        }
+        return splitBatchResult(result);
+    }
+
+    private Object runBatchScript(final List<ArtifactUpload> uploads, final List<String> commands,
+                                  final String targetBasePath, final Long host, final Map<String, Object> headers) {
+        // artifacts to upload, either to their target path or to the cache of the host
+        final List<ArtifactUpload> missing = new ArrayList<>();
+        // commands that copy artifacts from the cache of the host to their target path
+        final List<String> copies = new ArrayList<>();
+        final Set<String> hashes = new LinkedHashSet<>();
+        for (final ArtifactUpload upload : uploads) {
+            final String hash = host == null ? null : this.artifactCache.hash(upload.localPath);
+            if (hash == null) {
+                missing.add(upload);
+                continue;
+            }
+            if (hashes.add(hash) && !this.artifactCache.isHeld(host, hash)) {
+                missing.add(new ArtifactUpload(upload.localPath, upload.source, HostArtifactCache.hostPath(hash)));
+            }
+            // touched on use, so that the host can evict the artifacts that were not used for a while
+            copies.add("mkdir -p " + upload.targetFolder() + " && touch -c " + HostArtifactCache.hostPath(hash)
+                + " && cp " + HostArtifactCache.hostPath(hash) + " " + upload.target);
+        }
+        LOG.debug("{} of {} artifacts have to be uploaded.", missing.size(), uploads.size());
+
+        final List<String> preparation = new ArrayList<>();
+        final String inlineUploads = missing.isEmpty() ? null : createInlineUploadCommand(missing);
+        if (inlineUploads != null) {
+            preparation.add(inlineUploads);
+        } else if (!missing.isEmpty()) {
+            LOG.debug("Transferring {} artifacts before running the batch script...", missing.size());
+            final Set<String> folders = missing.stream().map(ArtifactUpload::targetFolder)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+            runScript("mkdir -p " + String.join(" ", folders), headers);
+            // transferred to a temporary file first, so that an interrupted upload does not leave a corrupt cache entry
+            missing.forEach(upload -> {
+                transferFile(upload.source, upload.target + ".part", headers);
+                preparation.add("mv " + upload.target + ".part " + upload.target);
+            });
+        }
+        preparation.addAll(copies);
+
+        final StringBuilder script = new StringBuilder();
+        if (!preparation.isEmpty()) {
+            script.append("if ").append(String.join(" && ", preparation)).append("; then ");
+        }
+        script.append("{ ");
+        for (int i = 0; i < commands.size(); i++) {
+            if (i > 0) {
+                script.append(" echo '").append(ARTIFACT_OUTPUT_SEPARATOR).append("'; ");
+            }
+            script.append("( ").append(commands.get(i)).append(" );");
+        }
+        script.append(" }");
+        if (!preparation.isEmpty()) {
+            script.append("; else echo '").append(ARTIFACT_CACHE_MISS).append("'; fi");
+        }
+        if (!Boolean.valueOf(Settings.OPENTOSCA_ENGINE_IA_KEEPFILES)) {
+            // remove the created directories
+            script.append("; find ").append(targetBasePath).append(" -empty -type d -delete");
+            // the cache is not used without kept files, remove what earlier invocations may have left on the host
+            script.append("; rm -rf ").append(HostArtifactCache.HOST_CACHE_DIRECTORY);
+        } else if (host != null) {
+            script.append("; ").append(HostArtifactCache.evictionCommand());
+        }
+
+        LOG.debug("Running {} artifacts in one script...", commands.size());
+        final Object result = runScript(script.toString(), headers);
+        LOG.debug("Script execution result: {}", result);
+        if (host != null && !isCacheMiss(result)) {
+            this.artifactCache.held(host, hashes);
+        }
+        return result;
+    }
+
+    private static boolean isCacheMiss(final Object result) {
+        if (!(result instanceof HashMap<?, ?>)) {
+            return false;
+        }
+        final Object scriptResult = ((HashMap<?, ?>) result).get(RUN_SCRIPT_OUTPUT_PARAMETER_NAME);
+        return scriptResult != null && scriptResult.toString().contains(ARTIFACT_CACHE_MISS);
+    }
+
+    /**
+     * @return a command that writes the Base64 encoded artifacts to their target paths, or <code>null</code> if they
+     * are too large to be embedded into a script or can not be read
+     */
+    private String createInlineUploadCommand(final List<ArtifactUpload> uploads) {
+        final List<String> commands = new ArrayList<>();
+        long size = 0;
+        for (final ArtifactUpload upload : uploads) {
+            final String content;
+            try {
+                content = Base64.getEncoder().encodeToString(Files.readAllBytes(upload.localPath));
+            } catch (final IOException e) {
+                LOG.debug("Unable to read artifact {} to embed it into the script: {}", upload.localPath, e.getMessage());
+                return null;
+            }
+            size += content.length();
+            if (size > BATCH_INLINE_MAX_BYTES) {
+                LOG.debug("Artifacts exceed {} bytes and are transferred separately.", BATCH_INLINE_MAX_BYTES);
+                return null;
+            }
+            // written to a temporary file first, so that an interrupted upload does not leave a corrupt cache entry
+            commands.add("mkdir -p " + upload.targetFolder() + " && echo '" + content + "' | base64 -d > " + upload.target
+                + ".part && mv " + upload.target + ".part " + upload.target);
+        }
+        return String.join(" && ", commands);
+    }
+
+    /**
+     * Splits the result of a batch script into the results of its artifacts.
+     */
+    private List<Object> splitBatchResult(final Object result) {
+        if (!(result instanceof HashMap<?, ?>)) {
+            return Collections.singletonList(result);
+        }
+        final Object scriptResult = ((HashMap<?, ?>) result).get(RUN_SCRIPT_OUTPUT_PARAMETER_NAME);
+        if (scriptResult == null) {
+            return Collections.singletonList(result);
+        }
+        final List<Object> results = new ArrayList<>();
+        for (final String output : scriptResult.toString().split(Pattern.quote(ARTIFACT_OUTPUT_SEPARATOR))) {
+            final HashMap<String, String> artifactResult = new HashMap<>();
+            artifactResult.put(RUN_SCRIPT_OUTPUT_PARAMETER_NAME, output);
+            results.add(artifactResult);
+        }
+        return results;
+    }
+
     private TNodeTemplate getNodeTemplate(Message message, Csar csar, TRelationshipTemplate relationshipTemplate, TServiceTemplate serviceTemplate, String interfaceName, String operationName) throws NotFoundException {
         String nodeTemplateID = message.getHeader(MBHeader.NODETEMPLATEID_STRING.toString(), String.class);
         LOG.debug("NodeTemplateID: {}", nodeTemplateID);
@@ -548,4 +746,24 @@ public class ManagementBusInvocationPluginScript implements IManagementBusInvoca
     public List<String> getSupportedTypes() {
         return typesHandler.getSupportedTypes().stream().map(QName::toString).collect(Collectors.toList());
     }
+
+    /**
+     * An artifact of the invoked ArtifactTemplate together with its location in the CSAR and on the target machine.
+     */
+    private static final class ArtifactUpload {
+
+        private final Path localPath;
+        private final String source;
+        private final String target;
+
+        private ArtifactUpload(final Path localPath, final String source, final String target) {
+            this.localPath = localPath;
+            this.source = source;
+            this.target = target;
+        }
+
+        private String targetFolder() {
+            return FilenameUtils.getFullPathNoEndSeparator(this.target);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Correlates the callbacks of asynchronous SOAP invocations with the invocations waiting for them.
+ * <p>
+ * Every invocation registers a future under its message ID, which is completed with the body of the callback by the
+ * {@link org.opentosca.bus.management.invocation.plugin.soaphttp.processor.CallbackProcessor}. Futures that are not
+ * completed within their timeout fail with a {@link TimeoutException}, cancelling a future withdraws the registration.
+ * No thread is held while waiting for a callback.
+ */
+public final class CallbackCorrelationRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CallbackCorrelationRegistry.class);
+
+    private static final Map<String, CompletableFuture<Document>> PENDING = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService TIMEOUTS = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("soap-callback-timeouts").setDaemon(true).build());
+
+    private CallbackCorrelationRegistry() {
+    }
+
+    /**
+     * Registers an invocation awaiting a callback.
+     *
+     * @param messageID the message ID the callback refers to
+     * @param timeout   the time to wait for the callback, not limited if not positive
+     * @return a future that completes with the body of the callback
+     */
+    static CompletableFuture<Document> register(final String messageID, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Document> callback = new CompletableFuture<>();
+        if (PENDING.putIfAbsent(messageID, callback) != null) {
+            throw new IllegalStateException("An invocation with message ID " + messageID + " is already awaiting a callback");
+        }
+
+        if (timeout > 0) {
+            final ScheduledFuture<?> expiry = TIMEOUTS.schedule(() -> callback.completeExceptionally(
+                new TimeoutException("No callback for message ID " + messageID + " within " + timeout + " " + unit)),
+                timeout, unit);
+            callback.whenComplete((response, e) -> expiry.cancel(false));
+        }
+        // completion, timeout or cancellation
+        callback.whenComplete((response, e) -> PENDING.remove(messageID, callback));
+        return callback;
+    }
+
+    /**
+     * Completes the invocation awaiting a callback for the given message ID.
+     *
+     * @return <code>true</code> if an invocation was waiting for the callback
+     */
+    public static boolean complete(final String messageID, final Document response) {
+        final CompletableFuture<Document> callback = PENDING.get(messageID);
+        if (callback == null || !callback.complete(response)) {
+            LOG.debug("No invocation awaiting a callback for message ID {}", messageID);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return whether an invocation is awaiting a callback for the given message ID
+     */
+    public static boolean isPending(final String messageID) {
+        return PENDING.containsKey(messageID);
+    }
+
+    /**
+     * @return the message IDs of the invocations awaiting a callback
+     */
+    public static Set<String> getMessageIDs() {
+        return Collections.unmodifiableSet(PENDING.keySet());
+    }
+}
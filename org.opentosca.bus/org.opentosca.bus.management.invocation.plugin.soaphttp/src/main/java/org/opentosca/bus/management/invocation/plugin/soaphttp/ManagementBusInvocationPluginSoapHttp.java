@@ -1,27 +1,20 @@
 package org.opentosca.bus.management.invocation.plugin.soaphttp;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
-import javax.wsdl.Binding;
-import javax.wsdl.BindingOperation;
-import javax.wsdl.Definition;
-import javax.wsdl.Port;
-import javax.wsdl.Service;
-import javax.wsdl.WSDLException;
-import javax.wsdl.factory.WSDLFactory;
-import javax.wsdl.xml.WSDLReader;
 import javax.xml.namespace.QName;
 import javax.xml.xpath.XPathVariableResolver;
 
 import org.apache.camel.CamelContext;
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
@@ -29,7 +22,9 @@ import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.route.AsyncRoute;
 import org.opentosca.bus.management.utils.MBUtils;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -55,23 +50,42 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
     // Supported types defined in messages.properties.
     private static final String TYPES = "SOAP/HTTP";
-    private static Map<String, Exchange> EXCHANGE_MAP = Collections.synchronizedMap(new HashMap<String, Exchange>());
+    private static final long CALLBACK_TIMEOUT_SECONDS =
+        Long.parseLong(Settings.getSetting("org.opentosca.bus.management.soaphttp.callback.timeout", "86400"));
     private final CamelContext camelContext;
+    private final WSDLDefinitionCache wsdlCache = new WSDLDefinitionCache();
 
     @Inject
-    public ManagementBusInvocationPluginSoapHttp(CamelContext camelContext) {
+    public ManagementBusInvocationPluginSoapHttp(CamelContext camelContext, ICoreEndpointService endpointService) {
         this.camelContext = camelContext;
+        endpointService.addWSDLEndpointRemovalListener(endpoint -> this.wsdlCache.invalidate(endpoint.getURI().toString()));
     }
 
     /**
-     * @return the keys of the map containing stored messageIds and exchange objects.
+     * @return the message IDs of the invocations awaiting a callback.
      */
     public static Set<String> getMessageIDs() {
-        return EXCHANGE_MAP.keySet();
+        return CallbackCorrelationRegistry.getMessageIDs();
     }
 
     @Override
     public Exchange invoke(Exchange exchange) {
+        final CompletableFuture<Exchange> response = invokeAsync(exchange);
+        try {
+            return response.get();
+        } catch (final InterruptedException e) {
+            response.cancel(false);
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for the response. Invocation aborted!");
+            return null;
+        } catch (final ExecutionException e) {
+            LOG.error("Invocation failed: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Exchange> invokeAsync(Exchange exchange) {
 
         MessagingPattern messagingPattern = null;
 
@@ -94,20 +108,20 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         headers.put("endpoint", endpoint.replace("?wsdl", ""));
 
         Document document = null;
-        Definition wsdl = pullWsdlDefinitions(endpoint);
-        BindingOperation operation = findOperation(wsdl, operationName);
+        final WSDLDefinitionCache.Operation operation = operationName == null ? null
+            : this.wsdlCache.findOperation(endpoint, operationName);
 
         if (params instanceof HashMap) {
 
             if (operation == null) {
                 LOG.error("Invoked operation was not exposed on the given endpoint. Aborting invocation!");
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
 //      final QName messageType = operation.getOperation().getInput().getMessage().getQName();
-            final QName messagePayloadType = ((javax.wsdl.Part) operation.getOperation().getInput().getMessage().getOrderedParts(null).get(0)).getElementName();
+            final QName messagePayloadType = ((javax.wsdl.Part) operation.getBindingOperation().getOperation().getInput().getMessage().getOrderedParts(null).get(0)).getElementName();
 //      final QName messagePayloadType = operation.getOperation().getInput().getMessage().getPart(messagePayloadPart).getElementName();
             // getting the port name involves this mess
-//      String portName = getPortName(wsdl, operation);
+//      String portName = operation.getPortName();
             headers.put("SOAPEndpoint", endpoint);
 
             // add the operation header for the cxf endpoint explicitly if invoking an IA
@@ -118,7 +132,7 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
             messagingPattern = determineMP(message, operationName, operation, hasOutputParams);
             if (messagingPattern == null) {
                 LOG.error("No invokable operation found. Invocation aborted!");
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
             message.setHeader("ParamsMode", "HashMap");
             @SuppressWarnings("unchecked") final HashMap<String, String> paramsMap = (HashMap<String, String>) params;
@@ -161,59 +175,51 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
         if (messagingPattern == null) {
             LOG.error("Can't determine which kind of invocation is needed. Invocation aborted.");
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
         LOG.debug("Invoking the web service.");
 
         final ProducerTemplate template = camelContext.createProducerTemplate();
-        final ConsumerTemplate consumer = camelContext.createConsumerTemplate();
 
-        Document response = null;
         LOG.debug("Messaging pattern: {}", messagingPattern);
 
         switch (messagingPattern) {
             case REQUEST_RESPONSE:
                 LOG.debug("Sync invocation.");
-                response = template.requestBodyAndHeaders("direct:Sync-WS-Invoke", document, headers, Document.class);
-                break;
+                final Document response = template.requestBodyAndHeaders("direct:Sync-WS-Invoke", document, headers, Document.class);
+                return CompletableFuture.completedFuture(setResponse(exchange, response));
             case REQUEST_ONLY:
                 LOG.debug("Request-only invocation.");
                 template.sendBodyAndHeaders("direct:RequestOnly-WS-Invoke", document, headers);
-                return null;
+                return CompletableFuture.completedFuture(null);
             case CALLBACK:
                 LOG.debug("Async invocation.");
                 final String messageID = message.getMessageId();
-                LOG.debug("Storing exchange message with MessageID: {}", messageID);
-                EXCHANGE_MAP.put(messageID, exchange);
-
-                template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
-                Exchange ex = null;
-                while (response == null) {
-                    try {
-                        consumer.start();
-                        ex = consumer.receive("direct:Async-WS-Callback" + messageID);
-                        consumer.stop();
-                    } catch (final Exception e) {
-                        e.printStackTrace();
-                    }
-
-                    final Message mes = ex.getIn();
-                    LOG.debug("Got Message with ID: {}", messageID);
-                    LOG.debug("Stored MessageIDs: {}", EXCHANGE_MAP.keySet().toString());
-                    if (EXCHANGE_MAP.containsKey(messageID)) {
-                        LOG.debug("MessageID found");
-                        exchange = EXCHANGE_MAP.get(messageID);
-                        response = mes.getBody(Document.class);
-                        EXCHANGE_MAP.remove(messageID);
-                    }
+                LOG.debug("Awaiting callback for MessageID: {}", messageID);
+                // registered before sending, the callback may arrive before the request returns
+                final CompletableFuture<Document> callback =
+                    CallbackCorrelationRegistry.register(messageID, CALLBACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                try {
+                    template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
+                } catch (final RuntimeException e) {
+                    callback.cancel(false);
+                    throw e;
                 }
-                break;
+                final CompletableFuture<Exchange> result = callback.thenApply(body -> {
+                    LOG.debug("Got callback for MessageID: {}", messageID);
+                    return setResponse(exchange, body);
+                });
+                // withdraw the registration if the caller cancels
+                result.whenComplete((response, e) -> callback.cancel(false));
+                return result;
             default:
                 LOG.error("Unhandled messaging pattern \"{}\" in management bus soaphttp invocation plugin!", messagingPattern);
-                return null;
+                return CompletableFuture.completedFuture(null);
         }
+    }
 
+    private Exchange setResponse(final Exchange exchange, final Document response) {
         if (exchange.getIn().getHeader("ParamsMode") != null
             && exchange.getIn().getHeader("ParamsMode").equals("HashMap")) {
             LOG.debug("Transforming Document to HashMap...");
@@ -229,70 +235,14 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         return exchange;
     }
 
-    private String getPortName(Definition wsdl, BindingOperation operation) {
-        Binding binding = null;
-        final Map<QName, ?> bindings = wsdl.getBindings();
-        for (Map.Entry<QName, ?> entry : bindings.entrySet()) {
-            Binding examined = wsdl.getBinding((QName) entry.getKey());
-            if (examined.getBindingOperations().contains(operation)) {
-                binding = examined;
-                break;
-            }
-        }
-        Map<QName, Service> services = wsdl.getServices();
-        for (Service service : services.values()) {
-            Map<QName, Port> ports = service.getPorts();
-            for (Port port : ports.values()) {
-                if (port.getBinding().equals(binding)) {
-                    return port.getName();
-                }
-            }
-        }
-        return "";
-    }
-
-    private Definition pullWsdlDefinitions(String endpoint) {
-        if (!endpoint.endsWith("?wsdl")) {
-            endpoint = endpoint + "?wsdl";
-        }
-        LOG.info("Parsing WSDL at: {}.", endpoint);
-        WSDLFactory wsdlFactory = null;
-        try {
-            wsdlFactory = WSDLFactory.newInstance();
-            WSDLReader wsdlDefinitionReader = wsdlFactory.newWSDLReader();
-            return wsdlDefinitionReader.readWSDL(endpoint);
-        } catch (WSDLException e) {
-            LOG.warn("Could not read WSDL definitions from endpoint {} due to WSDLException", endpoint, e);
-        }
-        return null;
-    }
-
-    private BindingOperation findOperation(final Definition wsdl, final String operationName) {
-        if (wsdl == null) {
-            return null;
-        }
-        Map<QName, ?> bindings = wsdl.getBindings();
-        for (Map.Entry<QName, ?> entry : bindings.entrySet()) {
-            Binding binding = wsdl.getBinding((QName) entry.getKey());
-            List<BindingOperation> definedOperations = binding.getBindingOperations();
-            for (BindingOperation operation : definedOperations) {
-                if (operation.getName().equalsIgnoreCase(operationName)) {
-                    return operation;
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Determine if the specified operation of the specified wsdl defines output parameter.
      *
      * @return <code>true</code> if operation returns output params. Otherwise <code>false</code>.
      * If operation can't be found <code>null</code> is returned.
      */
-    private boolean hasOutputDefined(final BindingOperation operation) {
-        // If wsdl is not accessible, try again (max wait 5 min)
-        return operation.getBindingOutput() != null;
+    private boolean hasOutputDefined(final WSDLDefinitionCache.Operation operation) {
+        return operation.isOutputDefined();
     }
 
     /**
@@ -300,7 +250,7 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
      *
      * @return messagingPattern as String.
      */
-    private MessagingPattern determineMP(final Message message, final String operationName, final BindingOperation operation, final Boolean hasOutputParams) {
+    private MessagingPattern determineMP(final Message message, final String operationName, final WSDLDefinitionCache.Operation operation, final Boolean hasOutputParams) {
 
         // Plan should be invoked
         if (message.getHeader(MBHeader.PLANID_QNAME.toString()) != null) {
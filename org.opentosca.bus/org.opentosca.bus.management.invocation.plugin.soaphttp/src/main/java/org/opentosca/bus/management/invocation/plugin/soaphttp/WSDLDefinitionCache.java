@@ -0,0 +1,140 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.wsdl.Binding;
+import javax.wsdl.BindingOperation;
+import javax.wsdl.Definition;
+import javax.wsdl.Port;
+import javax.wsdl.Service;
+import javax.wsdl.WSDLException;
+import javax.wsdl.factory.WSDLFactory;
+import javax.xml.namespace.QName;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the operations defined by the WSDL of invoked endpoints, so that the WSDL is downloaded and parsed once per
+ * endpoint instead of once per invocation.
+ * <p>
+ * Entries expire after a configurable time. An entry is reloaded if it does not define a requested operation, e.g.
+ * because the service was redeployed, and WSDL documents that could not be read are not cached.
+ */
+final class WSDLDefinitionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WSDLDefinitionCache.class);
+
+    private static final long TTL_SECONDS =
+        Long.parseLong(Settings.getSetting("org.opentosca.bus.management.soaphttp.wsdl.cache.ttl", "600"));
+
+    private final Cache<String, Map<String, Operation>> operations =
+        CacheBuilder.newBuilder().expireAfterWrite(TTL_SECONDS, TimeUnit.SECONDS).build();
+
+    /**
+     * @return the operation with the given name, ignoring case, or <code>null</code> if the WSDL of the endpoint can
+     * not be read or does not define such an operation
+     */
+    Operation findOperation(final String endpoint, final String operationName) {
+        final String location = wsdlLocation(endpoint);
+        final String name = operationName.toLowerCase(Locale.ROOT);
+        final boolean[] loaded = new boolean[1];
+        try {
+            Operation operation = this.operations.get(location, () -> {
+                loaded[0] = true;
+                return readOperations(location);
+            }).get(name);
+            if (operation == null && !loaded[0]) {
+                LOG.debug("Operation {} not found in cached WSDL of {}, reloading it.", operationName, location);
+                this.operations.invalidate(location);
+                operation = this.operations.get(location, () -> readOperations(location)).get(name);
+            }
+            return operation;
+        } catch (final ExecutionException | UncheckedExecutionException e) {
+            LOG.warn("Could not read WSDL definitions from endpoint {}", location, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Drops the cached WSDL of the given endpoint.
+     */
+    void invalidate(final String endpoint) {
+        this.operations.invalidate(wsdlLocation(endpoint));
+    }
+
+    private static String wsdlLocation(final String endpoint) {
+        return endpoint.endsWith("?wsdl") ? endpoint : endpoint + "?wsdl";
+    }
+
+    private static Map<String, Operation> readOperations(final String location) throws WSDLException {
+        LOG.info("Parsing WSDL at: {}.", location);
+        final Definition wsdl = WSDLFactory.newInstance().newWSDLReader().readWSDL(location);
+
+        final Map<String, Operation> operations = new HashMap<>();
+        final Map<QName, ?> bindings = wsdl.getBindings();
+        for (final QName bindingName : bindings.keySet()) {
+            final Binding binding = wsdl.getBinding(bindingName);
+            final String portName = findPortName(wsdl, binding);
+            @SuppressWarnings("unchecked") final List<BindingOperation> definedOperations = binding.getBindingOperations();
+            for (final BindingOperation operation : definedOperations) {
+                operations.putIfAbsent(operation.getName().toLowerCase(Locale.ROOT),
+                    new Operation(operation, portName));
+            }
+        }
+        return operations;
+    }
+
+    private static String findPortName(final Definition wsdl, final Binding binding) {
+        @SuppressWarnings("unchecked") final Map<QName, Service> services = wsdl.getServices();
+        for (final Service service : services.values()) {
+            @SuppressWarnings("unchecked") final Map<QName, Port> ports = service.getPorts();
+            for (final Port port : ports.values()) {
+                if (binding.equals(port.getBinding())) {
+                    return port.getName();
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * An operation of a WSDL binding together with the information needed to invoke it.
+     */
+    static final class Operation {
+
+        private final BindingOperation bindingOperation;
+        private final String portName;
+        private final boolean outputDefined;
+
+        private Operation(final BindingOperation bindingOperation, final String portName) {
+            this.bindingOperation = bindingOperation;
+            this.portName = portName;
+            this.outputDefined = bindingOperation.getBindingOutput() != null;
+        }
+
+        BindingOperation getBindingOperation() {
+            return this.bindingOperation;
+        }
+
+        String getPortName() {
+            return this.portName;
+        }
+
+        /**
+         * @return whether the operation returns output parameters, i.e. is invoked request-response
+         */
+        boolean isOutputDefined() {
+            return this.outputDefined;
+        }
+    }
+}
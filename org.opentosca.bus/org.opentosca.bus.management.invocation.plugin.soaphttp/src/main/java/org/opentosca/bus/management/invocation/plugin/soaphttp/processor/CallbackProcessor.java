@@ -4,7 +4,6 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import javax.xml.soap.MessageFactory;
 import javax.xml.soap.SOAPException;
@@ -14,7 +13,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.headers.Header;
-import org.opentosca.bus.management.invocation.plugin.soaphttp.ManagementBusInvocationPluginSoapHttp;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.CallbackCorrelationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -28,7 +27,8 @@ import org.w3c.dom.Element;
  * Copyright 2013 IAAS University of Stuttgart <br>
  * <br>
  * <p>
- * This processor processes incoming soap messages. It checks if the messages are containing existing messageIDs.
+ * This processor processes incoming soap messages. It checks if the messages are containing existing messageIDs and
+ * hands them to the invocations awaiting them.
  *
  * @author Michael Zimmermann - zimmerml@studi.informatik.uni-stuttgart.de
  */
@@ -39,9 +39,6 @@ public class CallbackProcessor implements Processor {
 
     @Override
     public void process(final Exchange exchange) throws Exception {
-        final Set<String> messageIDs = ManagementBusInvocationPluginSoapHttp.getMessageIDs();
-        LOG.debug("Stored messageIDs: {}", messageIDs.toString());
-
         // copy SOAP headers in camel exchange header
         @SuppressWarnings("unchecked") final List<SoapHeader> soapHeaders = (List<SoapHeader>) exchange.getIn().getHeader(Header.HEADER_LIST);
         Element element;
@@ -56,31 +53,45 @@ public class CallbackProcessor implements Processor {
         final Map<String, Object> headers = exchange.getIn().getHeaders();
 
         LOG.debug("Searching the callback Message for a MessageID matching the stored ones...");
-        for (final String messageID : messageIDs) {
-            // checks if the callback message contains a stored messageID
-            // if (message.matches("(?s).*\\s*[^a-zA-Z0-9-]" + messageID +
-            // "[^a-zA-Z0-9-]\\s*(?s).*") || headers.containsValue(messageID)) {
-            if (message.contains(messageID) || headers.containsValue(messageID)) {
-                LOG.debug("Found MessageID: {}", messageID);
-                final MessageFactory messageFactory = MessageFactory.newInstance();
+        final String messageID = findMessageID(message, headers);
+        if (messageID == null) {
+            LOG.debug("Callback Message does not contain a stored MessageID: {}", CallbackCorrelationRegistry.getMessageIDs());
+            return;
+        }
+        LOG.debug("Found MessageID: {}", messageID);
+        final MessageFactory messageFactory = MessageFactory.newInstance();
 
-                final InputStream inputStream = new ByteArrayInputStream(message.getBytes("UTF-8"));
-                final SOAPMessage soapMessage = messageFactory.createMessage(null, inputStream);
+        final InputStream inputStream = new ByteArrayInputStream(message.getBytes("UTF-8"));
+        final SOAPMessage soapMessage = messageFactory.createMessage(null, inputStream);
 
-                exchange.getIn().setHeader("MessageID", messageID);
-                exchange.getIn().setHeader("AvailableMessageID", "true");
+        exchange.getIn().setHeader("MessageID", messageID);
 
-                Document doc;
-                try {
-                    doc = soapMessage.getSOAPBody().extractContentAsDocument();
-                    exchange.getIn().setBody(doc);
-                } catch (final SOAPException e) {
-                    doc = soapMessage.getSOAPPart().getEnvelope().getOwnerDocument();
-                    LOG.warn("SOAP response body can't be parsed and/or isn't well formatted. Returning alternative response.");
-                    exchange.getIn().setBody(doc);
-                }
-                break;
+        Document doc;
+        try {
+            doc = soapMessage.getSOAPBody().extractContentAsDocument();
+        } catch (final SOAPException e) {
+            doc = soapMessage.getSOAPPart().getEnvelope().getOwnerDocument();
+            LOG.warn("SOAP response body can't be parsed and/or isn't well formatted. Returning alternative response.");
+        }
+        exchange.getIn().setBody(doc);
+        CallbackCorrelationRegistry.complete(messageID, doc);
+    }
+
+    /**
+     * @return the stored messageID a header of the callback message is set to or, failing that, the body contains
+     */
+    private String findMessageID(final String message, final Map<String, Object> headers) {
+        for (final Object value : headers.values()) {
+            if (value instanceof String && CallbackCorrelationRegistry.isPending((String) value)) {
+                return (String) value;
+            }
+        }
+        // checks if the callback message contains a stored messageID
+        for (final String messageID : CallbackCorrelationRegistry.getMessageIDs()) {
+            if (message.contains(messageID)) {
+                return messageID;
             }
         }
+        return null;
     }
 }
@@ -31,8 +31,7 @@ public class AsyncRoute extends RouteBuilder {
         this.from("direct:Async-WS-Invoke").process(headerProcessor).recipientList(this.simple(ENDPOINT)).end();
 
         final Processor callbackProcessor = new CallbackProcessor();
-        this.from("jetty:" + AsyncRoute.CALLBACKADDRESS).to("stream:out").process(callbackProcessor).choice()
-            .when(header("AvailableMessageID").isEqualTo("true"))
-            .recipientList(this.simple("direct:Async-WS-Callback${header.MessageID}")).end();
+        // the processor completes the invocation awaiting the callback
+        this.from("jetty:" + AsyncRoute.CALLBACKADDRESS).to("stream:out").process(callbackProcessor);
     }
 }
@@ -1,6 +1,7 @@
 package org.opentosca.bus.management.invocation.plugin;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.Exchange;
 
@@ -27,6 +28,14 @@ public interface IManagementBusInvocationPluginService {
      */
     Exchange invoke(Exchange exchange);
 
+    /**
+     * Invokes a service like {@link #invoke(Exchange)}, but completes the returned future with the response instead of
+     * blocking the caller. Plug-ins that can await responses without holding a thread override this method.
+     */
+    default CompletableFuture<Exchange> invokeAsync(Exchange exchange) {
+        return CompletableFuture.completedFuture(invoke(exchange));
+    }
+
     /**
      * Returns the supported invocation-types of the plug-in.
      */
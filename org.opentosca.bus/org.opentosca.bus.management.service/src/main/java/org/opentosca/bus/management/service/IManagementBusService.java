@@ -1,5 +1,7 @@
 package org.opentosca.bus.management.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.camel.Exchange;
 
 /**
@@ -26,6 +28,16 @@ public interface IManagementBusService {
      */
     public void invokeIA(Exchange exchange);
 
+    /**
+     * Handles the invoke-request of an implementation artifact like {@link #invokeIA(Exchange)}, without blocking the
+     * calling thread while the invocation waits for other invocations of the same implementation artifact.
+     *
+     * @param exchange contains all needed information like csarID, ServiceTemplateID,... to determine the
+     *                 implementation artifact and the data to be transferred to it.
+     * @return a future that completes when the response was handed to the caller
+     */
+    CompletableFuture<Void> invokeIAAsync(Exchange exchange);
+
     /**
      * Handles the invoke-request of a plan.
      *
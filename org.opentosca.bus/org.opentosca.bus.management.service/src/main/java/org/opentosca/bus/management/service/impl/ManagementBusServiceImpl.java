@@ -7,13 +7,19 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -37,6 +43,10 @@ import org.eclipse.winery.model.tosca.TRequiredContainerFeatures;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 import org.eclipse.winery.model.tosca.TTag;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.Striped;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
@@ -50,6 +60,7 @@ import org.opentosca.bus.management.service.impl.collaboration.DeploymentDistrib
 import org.opentosca.bus.management.service.impl.instance.plan.CorrelationIdAlreadySetException;
 import org.opentosca.bus.management.service.impl.instance.plan.PlanInstanceHandler;
 import org.opentosca.bus.management.service.impl.util.DeploymentPluginCapabilityChecker;
+import org.opentosca.bus.management.service.impl.util.IADeploymentLockManager;
 import org.opentosca.bus.management.service.impl.util.ParameterHandler;
 import org.opentosca.bus.management.service.impl.util.PluginHandler;
 import org.opentosca.bus.management.service.impl.util.Util;
@@ -121,8 +132,15 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
     private final static Logger LOG = LoggerFactory.getLogger(ManagementBusServiceImpl.class);
 
-    private final static Map<String, Object> locks = new HashMap<>();
-    private static ConcurrentHashMap<String, List<String>> activePartners = new ConcurrentHashMap<>();
+    // how long a partner is waited for, and remembered as ready, in a choreography
+    private static final long PARTNER_READINESS_TIMEOUT_MINUTES =
+        Long.parseLong(Settings.getSetting("org.opentosca.container.choreography.partner.timeout.minutes", "60"));
+
+    // readiness of the partners per choreography correlation ID and partner ID
+    private static final Cache<List<String>, CompletableFuture<Void>> readyPartners = CacheBuilder.newBuilder()
+        .expireAfterWrite(PARTNER_READINESS_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+        .build();
+    private final Striped<Lock> planInstanceLocks = Striped.lazyWeakLock(256);
     private final DeploymentDistributionDecisionMaker decisionMaker;
     private final CollaborationContext collaborationContext;
     private final ICoreEndpointService endpointService;
@@ -133,6 +151,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
     private final ContainerEngine containerEngine;
     private final CsarStorageService storage;
     private final ChoreographyHandler choreographyHandler;
+    private final IADeploymentLockManager lockManager;
 
     @Inject
     public ManagementBusServiceImpl(DeploymentDistributionDecisionMaker decisionMaker,
@@ -143,7 +162,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                                     PluginRegistry pluginRegistry,
                                     DeploymentPluginCapabilityChecker capabilityChecker,
                                     ContainerEngine containerEngine, CsarStorageService storage,
-                                    ChoreographyHandler choreographyHandler) {
+                                    ChoreographyHandler choreographyHandler,
+                                    IADeploymentLockManager lockManager) {
         LOG.info("Instantiating ManagementBus Service");
         this.decisionMaker = decisionMaker;
         this.collaborationContext = collaborationContext;
@@ -155,6 +175,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         this.storage = storage;
         this.containerEngine = containerEngine;
         this.choreographyHandler = choreographyHandler;
+        this.lockManager = lockManager;
     }
 
     /**
@@ -180,21 +201,18 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         return String.join("/", triggeringContainer, deploymentLocation, typeImpl.toString(), iaName, serviceInstanceId);
     }
 
-    /**
-     * Returns an Object which can be used to synchronize all actions related to a certain String value.
-     *
-     * @return the object which can be used for synchronization
-     */
-    public static Object getLockForString(final String lockString) {
-        Objects.requireNonNull(lockString);
-
-        synchronized (locks) {
-            return locks.computeIfAbsent(lockString, (i) -> new Object());
+    @Override
+    public void invokeIA(final Exchange exchange) {
+        try {
+            invokeIAAsync(exchange).join();
+        } catch (final CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
         }
     }
 
     @Override
-    public void invokeIA(final Exchange exchange) {
+    public CompletableFuture<Void> invokeIAAsync(final Exchange exchange) {
         final Message message = exchange.getIn();
 
         final URI serviceInstanceID = message.getHeader(MBHeader.SERVICEINSTANCEID_URI.toString(), URI.class);
@@ -220,20 +238,27 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         LOG.debug("Operation: {}", neededOperation);
 
         // log event to monitor the IA execution time
-        final PlanInstanceEvent event;
+        final CompletableFuture<PlanInstanceEvent> invocation;
         // operation invocation is only possible with retrieved ServiceTemplateInstance ID
         if (!serviceTemplateInstanceID.equals(Long.MIN_VALUE)) {
 
             final IAInvocationArguments arguments = new IAInvocationArguments(csarID, serviceInstanceID, serviceTemplateID, serviceTemplateInstanceID,
                 nodeTemplateID, relationship, neededInterface, neededOperation);
-            event = internalInvokeIA(arguments, exchange);
-            LOG.info("IA execution duration: {}", event.getDuration());
+            invocation = internalInvokeIA(arguments, exchange).thenApply(event -> {
+                LOG.info("IA execution duration: {}", event.getDuration());
+                return event;
+            });
         } else {
             LOG.error("Unable to invoke operation without ServiceTemplateInstance ID!");
             handleResponse(exchange);
-            event = new PlanInstanceEvent("WARN", "IA_DURATION_LOG", "Unable to invoke operation without ServiceTemplateInstance ID!");
+            invocation = CompletableFuture.completedFuture(
+                new PlanInstanceEvent("WARN", "IA_DURATION_LOG", "Unable to invoke operation without ServiceTemplateInstance ID!"));
         }
+        return invocation.thenAccept(event -> logIAInvocation(message, event, nodeTemplateID, neededInterface, neededOperation));
+    }
 
+    private void logIAInvocation(final Message message, final PlanInstanceEvent event, final String nodeTemplateID,
+                                 final String neededInterface, final String neededOperation) {
         final String correlationID = message.getHeader(MBHeader.PLANCORRELATIONID_STRING.toString(), String.class);
         LOG.debug("Correlation ID: {}", correlationID);
         if (Objects.nonNull(correlationID)) {
@@ -305,7 +330,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      * @param exchange  exchange containing the header fields which identify the current operation
      * @param arguments a bundle-object containing all relevant invocation arguments
      */
-    private PlanInstanceEvent internalInvokeIA(IAInvocationArguments arguments, Exchange exchange) {
+    private CompletableFuture<PlanInstanceEvent> internalInvokeIA(IAInvocationArguments arguments, Exchange exchange) {
         LOG.debug("Starting Management Bus: InvokeIA");
 
         final Message message = exchange.getIn();
@@ -321,7 +346,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         } catch (NotFoundException e) {
             LOG.error("ServiceTemplate {} does not exist within Csar {}. Aborting IA Invocation", arguments.serviceTemplateId, arguments.csarId.csarName());
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         QName typeID = null;
@@ -341,7 +366,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 arguments.nodeTemplateId, arguments.relationshipTemplateId));
             handleResponse(exchange);
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         // invocation is only possible with retrieved type which contains the operation
@@ -356,7 +381,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 arguments.nodeTemplateId, arguments.relationshipTemplateId);
             handleResponse(exchange);
             event.setEndTimestamp(new Date());
-            return event;
+            return CompletableFuture.completedFuture(event);
         }
 
         // get NodeTemplateInstance object for the deployment distribution decision
@@ -396,7 +421,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 LOG.error("Could not compute replacing type for abstract Operating System Node replacement. Aborting IA invocation.", e);
                 handleResponse(exchange);
                 event.setEndTimestamp(new Date());
-                return event;
+                return CompletableFuture.completedFuture(event);
             }
         }
 
@@ -412,9 +437,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             LOG.warn("There are no input parameters specified.");
         }
 
-        internalInvokeIA(exchange, replacementCsar != null ? replacementCsar : csar, arguments.serviceTemplateInstanceId, type, nodeInstance, arguments.interfaceName, arguments.operationName);
-        event.setEndTimestamp(new Date());
-        return event;
+        return internalInvokeIA(exchange, replacementCsar != null ? replacementCsar : csar, arguments.serviceTemplateInstanceId, type, nodeInstance, arguments.interfaceName, arguments.operationName)
+            .thenApply(invoked -> {
+                event.setEndTimestamp(new Date());
+                return event;
+            });
     }
 
     /**
@@ -427,8 +454,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      * @param nodeTemplateInstance      NodeTemplateInstance for the deployment distribution decision
      * @param neededInterface           the interface of the searched operation
      * @param neededOperation           the searched operation
+     * @return a future that completes when the operation was invoked or no IA was found to invoke it
      */
-    private void internalInvokeIA(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+    private CompletableFuture<Void> internalInvokeIA(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
                                   final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
                                   final String neededInterface, final String neededOperation) {
 
@@ -443,11 +471,11 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             hasOutputParams = operation.getOutputParameters() != null && !operation.getOutputParameters().getOutputParameter().isEmpty();
             if (Boolean.parseBoolean(Settings.OPENTOSCA_BUS_MANAGEMENT_MOCK)) {
                 respondViaMocking(operation.getOutputParameters(), exchange);
-                return;
+                return CompletableFuture.completedFuture(null);
             }
         } catch (NotFoundException notFound) {
             LOG.warn("Tried to invoke an unknown operation on an IA");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         message.setHeader(MBHeader.HASOUTPUTPARAMS_BOOLEAN.toString(), hasOutputParams);
 
@@ -457,8 +485,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
         // Search for an IA that implements the right operation and which is deployable and
         // invokable by available plug-ins
+        final List<Supplier<CompletableFuture<Boolean>>> attempts = new ArrayList<>();
         for (TEntityTypeImplementation implementation : typeImplementations) {
-            message.setHeader(MBHeader.TYPEIMPLEMENTATIONID_QNAME.toString(), implementation.getQName());
             final List<? extends TImplementationArtifact> ias = Optional.ofNullable(implementation.getImplementationArtifacts())
                 .map(TImplementationArtifacts::getImplementationArtifact)
                 .orElse(Collections.emptyList());
@@ -468,16 +496,38 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
             for (final TImplementationArtifact ia : ias) {
                 // try to invoke the operation on the current IA
-                if (invokeIAOperation(exchange, csar, serviceTemplateInstanceID, type, nodeTemplateInstance,
-                    implementation, ia, neededInterface, neededOperation)) {
-                    LOG.info("Successfully invoked Operation {} on IA {}", neededOperation, ia.getName());
-                    return;
-                }
+                attempts.add(() -> {
+                    message.setHeader(MBHeader.TYPEIMPLEMENTATIONID_QNAME.toString(), implementation.getQName());
+                    return invokeIAOperation(exchange, csar, serviceTemplateInstanceID, type, nodeTemplateInstance,
+                        implementation, ia, neededInterface, neededOperation).thenApply(invoked -> {
+                        if (invoked) {
+                            LOG.info("Successfully invoked Operation {} on IA {}", neededOperation, ia.getName());
+                        }
+                        return invoked;
+                    });
+                });
             }
         }
 
-        LOG.warn("No invokable implementation artifact found that provides required interface/operation.");
-        handleResponse(exchange);
+        return invokeFirst(attempts.iterator()).thenAccept(invoked -> {
+            if (!invoked) {
+                LOG.warn("No invokable implementation artifact found that provides required interface/operation.");
+                handleResponse(exchange);
+            }
+        });
+    }
+
+    /**
+     * Makes the given invocation attempts one after the other, until one of them succeeds.
+     *
+     * @return a future of whether an attempt succeeded
+     */
+    private static CompletableFuture<Boolean> invokeFirst(final Iterator<Supplier<CompletableFuture<Boolean>>> attempts) {
+        if (!attempts.hasNext()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return attempts.next().get()
+            .thenCompose(invoked -> invoked ? CompletableFuture.completedFuture(true) : invokeFirst(attempts));
     }
 
     /**
@@ -493,10 +543,10 @@ public class ManagementBusServiceImpl implements IManagementBusService {
      * @param ia                        the Implementation Artifact itself
      * @param neededInterface           the interface of the searched operation
      * @param neededOperation           the searched operation
-     * @return <tt>true</tt> if the IA implements the given operation and it was invoked
+     * @return a future of <tt>true</tt> if the IA implements the given operation and it was invoked
      * successfully, <tt>false</tt> otherwise
      */
-    private boolean invokeIAOperation(Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+    private CompletableFuture<Boolean> invokeIAOperation(final Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
                                       final TEntityType type, final NodeTemplateInstance nodeTemplateInstance,
                                       final TEntityTypeImplementation typeImplementation, final TImplementationArtifact ia,
                                       final String neededInterface, final String neededOperation) {
@@ -510,7 +560,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         // check if requested interface/operation is provided
         if (!iaProvidesRequestedOperation(csar, ia, type, neededInterface, neededOperation)) {
             LOG.debug("Implementation Artifact does not provide the requested operation.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         // get ArtifactTemplate and ArtifactType of the IA
@@ -525,7 +575,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         final String deploymentType = pluginHandler.getSupportedDeploymentType(artifactTypeQName);
         if (Objects.isNull(deploymentType)) {
             LOG.debug("No deployment plug-in found which supports the deployment of ArtifactType {}", artifactTypeQName);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         // retrieve invocation type for the IA
@@ -533,7 +583,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         if (Objects.isNull(invocationType)) {
             LOG.debug("No invocation plug-in found which supports the invocation of ArtifactType {} and ArtifactTemplate {}",
                 artifactTypeQName, artifactTemplate.getId());
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
 
         LOG.debug("Deployment type {} and invocation type {} are supported.", deploymentType, invocationType);
@@ -542,7 +592,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         final QName portType = Util.getPortTypeQName(artifactTemplate);
 
         // retrieve specific content for the IA if defined and add to the headers
-        exchange = addSpecificContent(exchange, ia);
+        final Exchange invocation = addSpecificContent(exchange, ia);
 
         // host name of the container where the IA has to be deployed
         final String deploymentLocation = decisionMaker.getDeploymentLocation(nodeTemplateInstance);
@@ -557,125 +607,161 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         message.setHeader(MBHeader.ARTIFACTTYPEID_STRING.toString(), artifactTypeQName);
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
-        // of an IA after successful checking that an IA is already deployed.
+        // of an IA after successful checking that an IA is already deployed. Waiting for the lock does not block.
         final String identifier = getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName(), serviceTemplateInstanceID.toString());
-        synchronized (getLockForString(identifier)) {
+        return lockManager.acquireAsync(identifier,
+            IADeploymentLockManager.metricsKey(deploymentLocation, typeImplementation.getQName(), ia.getName()))
+            .thenCompose(lock -> {
+                // the lock is held until the response of the IA arrived
+                final CompletableFuture<Boolean> invoked;
+                try {
+                    invoked = lock.callBound(() -> deployAndInvokeIA(invocation, csar, serviceTemplateInstanceID,
+                        nodeTemplateInstance, typeImplementation, ia, artifactTemplate, deploymentType, invocationType,
+                        portType));
+                } catch (final RuntimeException e) {
+                    lock.close();
+                    throw e;
+                }
+                return invoked.whenComplete((result, e) -> lock.close());
+            });
+    }
 
-            LOG.debug("Checking whether IA [{}] was already deployed", ia.getName());
+    /**
+     * Deploys the given IA unless it is already deployed and invokes the operation on it. Must be called while holding
+     * the lock of the IA.
+     *
+     * @return a future of <tt>true</tt> if the IA was invoked, <tt>false</tt> if it could not be deployed
+     */
+    private CompletableFuture<Boolean> deployAndInvokeIA(Exchange exchange, final Csar csar, final Long serviceTemplateInstanceID,
+                                                         final NodeTemplateInstance nodeTemplateInstance,
+                                                         final TEntityTypeImplementation typeImplementation, final TImplementationArtifact ia,
+                                                         final TArtifactTemplate artifactTemplate, final String deploymentType,
+                                                         final String invocationType, final QName portType) {
+        final Message message = exchange.getIn();
+        final String triggeringContainer = message.getHeader(MBHeader.TRIGGERINGCONTAINER_STRING.toString(), String.class);
+        final String deploymentLocation = message.getHeader(MBHeader.DEPLOYMENTLOCATION_STRING.toString(), String.class);
 
-            // check whether there are already stored endpoints for this IA
-            final List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName());
+        LOG.debug("Checking whether IA [{}] was already deployed", ia.getName());
 
-            if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
-                LOG.debug("IA is already deployed.");
+        // check whether there are already stored endpoints for this IA
+        final List<WSDLEndpoint> endpoints = endpointService.getWSDLEndpointsForNTImplAndIAName(triggeringContainer, deploymentLocation, typeImplementation.getQName(), ia.getName());
 
-                URI endpointURI = endpoints.get(0).getURI();
-                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
+        if (Objects.nonNull(endpoints) && !endpoints.isEmpty()) {
+            LOG.debug("IA is already deployed.");
 
-                Optional<WSDLEndpoint> currentEndpoint = endpoints.stream()
-                    .filter(wsdlEndpoint -> wsdlEndpoint.getServiceTemplateInstanceID().equals(serviceTemplateInstanceID))
-                    .findFirst();
+            URI endpointURI = endpoints.get(0).getURI();
+            message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
 
-                if (!currentEndpoint.isPresent()) {
-                    // store new endpoint for the IA
-                    final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType, triggeringContainer,
-                        deploymentLocation, csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
-                    endpointService.storeWSDLEndpoint(endpoint);
-                }
+            Optional<WSDLEndpoint> currentEndpoint = endpoints.stream()
+                .filter(wsdlEndpoint -> wsdlEndpoint.getServiceTemplateInstanceID().equals(serviceTemplateInstanceID))
+                .findFirst();
 
-                // Call IA, send response to caller and terminate bus
-                LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                handleResponse(pluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
-                return true;
+            if (!currentEndpoint.isPresent()) {
+                // store new endpoint for the IA
+                final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType, triggeringContainer,
+                    deploymentLocation, csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
+                endpointService.storeWSDLEndpoint(endpoint);
             }
-            LOG.debug("IA not yet deployed. Trying to deploy...");
-            LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
-
-            final IManagementBusDeploymentPluginService deploymentPlugin = pluginRegistry.getDeploymentPluginServices().get(deploymentType);
-            // retrieve required features for the TypeImplementation
-            final TRequiredContainerFeatures requiredFeatures = typeImplementation.getRequiredContainerFeatures();
 
-            // check whether all features are met and abort deployment otherwise
-            if (!capabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
-                LOG.debug("Required features not completely satisfied by the plug-in.");
-                return false;
-            }
+            // Call IA, send response to caller and terminate bus
+            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
+            return invokeDeployedIA(exchange, invocationType, deploymentLocation);
+        }
+        LOG.debug("IA not yet deployed. Trying to deploy...");
+        LOG.debug("Checking if all required features are met by the deployment plug-in or the environment.");
 
-            // get all artifact references for this ArtifactTemplate
-            final List<TArtifactReference> artifacts = Optional.ofNullable(artifactTemplate.getArtifactReferences())
-                .map(TArtifactTemplate.ArtifactReferences::getArtifactReference)
-                .orElse(Collections.emptyList());
+        final IManagementBusDeploymentPluginService deploymentPlugin = pluginRegistry.getDeploymentPluginServices().get(deploymentType);
+        // retrieve required features for the TypeImplementation
+        final TRequiredContainerFeatures requiredFeatures = typeImplementation.getRequiredContainerFeatures();
 
-            // convert relative references to absolute references to enable access to the IA
-            // files from other OpenTOSCA Container nodes
-            LOG.debug("Searching for artifact references for ArtifactTemplate {}", artifactTemplate.getIdFromIdOrNameField());
-            final List<String> artifactReferences = new ArrayList<>();
-            for (final TArtifactReference artifact : artifacts) {
-                // XML validated to be anyUri, therefore must be parsable as URI
-                URI reference = URI.create(artifact.getReference().trim());
-                if (reference.getScheme() != null) {
-                    LOG.warn("ArtifactReference {} of Csar {} is not supported", artifact.getReference(), csar.id());
-                    continue;
-                }
-                // artifact is exposed via the content endpoint
-                String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API
-                    .replace("{csarid}", csar.id().csarName())
-                    // reference here is relative to CSAR basedirectory, with spaces being URLEncoded
-                    .replace("{artifactreference}", artifact.getReference().trim().replaceAll(" ", "%20"));
-
-                artifactReferences.add(absoluteArtifactReference);
-                LOG.debug("Found reference: {} ", absoluteArtifactReference);
-            }
+        // check whether all features are met and abort deployment otherwise
+        if (!capabilityChecker.capabilitiesAreMet(requiredFeatures, deploymentPlugin)) {
+            LOG.debug("Required features not completely satisfied by the plug-in.");
+            return CompletableFuture.completedFuture(false);
+        }
 
-            if (artifactReferences.isEmpty()) {
-                LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
-                return false;
+        // get all artifact references for this ArtifactTemplate
+        final List<TArtifactReference> artifacts = Optional.ofNullable(artifactTemplate.getArtifactReferences())
+            .map(TArtifactTemplate.ArtifactReferences::getArtifactReference)
+            .orElse(Collections.emptyList());
+
+        // convert relative references to absolute references to enable access to the IA
+        // files from other OpenTOSCA Container nodes
+        LOG.debug("Searching for artifact references for ArtifactTemplate {}", artifactTemplate.getIdFromIdOrNameField());
+        final List<String> artifactReferences = new ArrayList<>();
+        for (final TArtifactReference artifact : artifacts) {
+            // XML validated to be anyUri, therefore must be parsable as URI
+            URI reference = URI.create(artifact.getReference().trim());
+            if (reference.getScheme() != null) {
+                LOG.warn("ArtifactReference {} of Csar {} is not supported", artifact.getReference(), csar.id());
+                continue;
             }
-            // add references list to header to enable access from the deployment plug-ins
-            message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
+            // artifact is exposed via the content endpoint
+            String absoluteArtifactReference = Settings.OPENTOSCA_CONTAINER_CONTENT_API
+                .replace("{csarid}", csar.id().csarName())
+                // reference here is relative to CSAR basedirectory, with spaces being URLEncoded
+                .replace("{artifactreference}", artifact.getReference().trim().replaceAll(" ", "%20"));
+
+            artifactReferences.add(absoluteArtifactReference);
+            LOG.debug("Found reference: {} ", absoluteArtifactReference);
+        }
 
-            // search ServiceEndpoint property for the artifact
-            final String serviceEndpoint = Util.getProperty(artifactTemplate, "ServiceEndpoint");
-            message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
+        if (artifactReferences.isEmpty()) {
+            LOG.debug("No artifact references found. No deployment and invocation possible for this ArtifactTemplate.");
+            return CompletableFuture.completedFuture(false);
+        }
+        // add references list to header to enable access from the deployment plug-ins
+        message.setHeader(MBHeader.ARTIFACTREFERENCES_LISTSTRING.toString(), artifactReferences);
 
-            if (Objects.nonNull(serviceEndpoint)) {
-                LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
-            } else {
-                LOG.debug("No ServiceEndpoint property defined!");
-            }
+        // search ServiceEndpoint property for the artifact
+        final String serviceEndpoint = Util.getProperty(artifactTemplate, "ServiceEndpoint");
+        message.setHeader(MBHeader.ARTIFACTSERVICEENDPOINT_STRING.toString(), serviceEndpoint);
 
-            // invoke deployment
-            exchange = pluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation);
-            URI endpointURI = message.getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
+        if (Objects.nonNull(serviceEndpoint)) {
+            LOG.debug("ServiceEndpoint property: {}", serviceEndpoint);
+        } else {
+            LOG.debug("No ServiceEndpoint property defined!");
+        }
 
-            if (!Objects.nonNull(endpointURI)) {
-                LOG.debug("IA deployment failed.");
-                return false;
-            }
-            if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
-                && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
-
-                // If a placeholder is specified, the service is part of the topology.
-                // We do not store this endpoints as they are not part of the management environment.
-                LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
-                endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
-                message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
-            } else {
-                LOG.debug("IA successfully deployed. Storing endpoint...");
+        // invoke deployment
+        exchange = pluginHandler.callMatchingDeploymentPlugin(exchange, deploymentType, deploymentLocation);
+        URI endpointURI = message.getHeader(MBHeader.ENDPOINT_URI.toString(), URI.class);
 
-                // store new endpoint for the IA
-                final WSDLEndpoint endpoint =
-                    new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation,
-                        csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
-                endpointService.storeWSDLEndpoint(endpoint);
-            }
-            LOG.debug("Endpoint: {}", endpointURI.toString());
+        if (!Objects.nonNull(endpointURI)) {
+            LOG.debug("IA deployment failed.");
+            return CompletableFuture.completedFuture(false);
+        }
+        if (endpointURI.toString().contains(Constants.PLACEHOLDER_START)
+            && endpointURI.toString().contains(Constants.PLACEHOLDER_END)) {
+
+            // If a placeholder is specified, the service is part of the topology.
+            // We do not store this endpoints as they are not part of the management environment.
+            LOG.debug("Received endpoint contains placeholders. Service is part of the topology and called without deployment.");
+            endpointURI = replacePlaceholderWithInstanceData(endpointURI, nodeTemplateInstance);
+            message.setHeader(MBHeader.ENDPOINT_URI.toString(), endpointURI);
+        } else {
+            LOG.debug("IA successfully deployed. Storing endpoint...");
 
-            // Call IA, send response to caller and terminate bus
-            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-            handleResponse(pluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
-            return true;
+            // store new endpoint for the IA
+            final WSDLEndpoint endpoint =
+                new WSDLEndpoint(endpointURI, portType, triggeringContainer, deploymentLocation,
+                    csar.id(), serviceTemplateInstanceID, null, typeImplementation.getQName(), ia.getName(), new HashMap<>());
+            endpointService.storeWSDLEndpoint(endpoint);
         }
+        LOG.debug("Endpoint: {}", endpointURI.toString());
+
+        // Call IA, send response to caller and terminate bus
+        LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
+        return invokeDeployedIA(exchange, invocationType, deploymentLocation);
+    }
+
+    private CompletableFuture<Boolean> invokeDeployedIA(final Exchange exchange, final String invocationType,
+                                                        final String deploymentLocation) {
+        return pluginHandler.callMatchingInvocationPluginAsync(exchange, invocationType, deploymentLocation)
+            .thenApply(response -> {
+                handleResponse(response);
+                return true;
+            });
     }
 
     @Override
@@ -763,13 +849,20 @@ public class ManagementBusServiceImpl implements IManagementBusService {
             receivingPartner, connectingRelationshipTemplate, chorCorrelationID, csarID, serviceTemplateID);
 
         // wait until other partner is ready to receive notify
-        while (!this.isPartnerAvailable(chorCorrelationID, receivingPartner)) {
-            LOG.debug("Waiting for partner: {}", receivingPartner);
-            try {
-                Thread.sleep(10000);
-            } catch (final InterruptedException e) {
-                e.printStackTrace();
-            }
+        LOG.debug("Waiting for partner: {}", receivingPartner);
+        try {
+            partnerReadiness(chorCorrelationID, receivingPartner).get(PARTNER_READINESS_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        } catch (final TimeoutException e) {
+            LOG.error("Partner {} was not ready within {} minutes. Aborting!", receivingPartner,
+                PARTNER_READINESS_TIMEOUT_MINUTES);
+            return;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for partner {}. Aborting!", receivingPartner);
+            return;
+        } catch (final ExecutionException e) {
+            LOG.error("Waiting for partner {} failed. Aborting!", receivingPartner, e);
+            return;
         }
 
         try {
@@ -921,7 +1014,16 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         boolean isReceiveNotify = arguments.operationName.equals("receiveNotify");
 
         PlanInstance plan = null;
-        synchronized (this) {
+        // invocations of the same choreography, or with the same correlation ID, check for and create the plan
+        // instance one after another; all others, including invocations without any ID, proceed concurrently
+        final String planInstanceLockKey = arguments.chorCorrelationId != null
+            ? arguments.chorCorrelationId + "/" + arguments.planId
+            : arguments.correlationId;
+        final Lock planInstanceLock = planInstanceLockKey != null ? planInstanceLocks.get(planInstanceLockKey) : null;
+        if (planInstanceLock != null) {
+            planInstanceLock.lock();
+        }
+        try {
 
             if (!isReceiveNotify && arguments.chorCorrelationId != null && new PlanInstanceRepository().findByChoreographyCorrelationId(arguments.chorCorrelationId, arguments.planId) != null) {
                 LOG.warn("Skipping the plan invocation of choreography build plan with choreography id {}", arguments.chorCorrelationId);
@@ -940,6 +1042,10 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                     return;
                 }
             }
+        } finally {
+            if (planInstanceLock != null) {
+                planInstanceLock.unlock();
+            }
         }
 
         if (plan == null) {
@@ -951,7 +1057,6 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         LOG.debug("Plan language: {}", plan.getLanguage().toString());
 
         LOG.debug("Getting endpoint for the plan...");
-        endpointService.printPlanEndpoints();
         final List<WSDLEndpoint> WSDLendpoints =
             endpointService.getWSDLEndpointsForPlanId(Settings.OPENTOSCA_CONTAINER_HOSTNAME, arguments.csar.id(),
                 plan.getTemplateId());
@@ -1155,7 +1260,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl, iaName, instanceID.toString());
 
             // synchronize deletion to avoid concurrency issues
-            synchronized (getLockForString(identifier)) {
+            try (IADeploymentLockManager.Lock lock = lockManager.acquire(identifier,
+                IADeploymentLockManager.metricsKey(deploymentLocation, typeImpl, iaName))) {
 
                 // get number of endpoints for the same IA
                 final int count = endpointService
@@ -1304,17 +1410,23 @@ public class ManagementBusServiceImpl implements IManagementBusService {
     }
 
     @Override
-    public synchronized void addPartnerToReadyList(final String correlationID, final String partnerID) {
-        activePartners.putIfAbsent(correlationID, new LinkedList<String>());
-        activePartners.get(correlationID).add(partnerID);
+    public void addPartnerToReadyList(final String correlationID, final String partnerID) {
+        partnerReadiness(correlationID, partnerID).complete(null);
     }
 
     @Override
-    public synchronized boolean isPartnerAvailable(final String correlationID, final String partnerID) {
-        if (Objects.nonNull(activePartners.get(correlationID))) {
-            return activePartners.get(correlationID).contains(partnerID);
-        }
-        return false;
+    public boolean isPartnerAvailable(final String correlationID, final String partnerID) {
+        final CompletableFuture<Void> readiness = readyPartners.getIfPresent(Arrays.asList(correlationID, partnerID));
+        return readiness != null && readiness.isDone();
+    }
+
+    /**
+     * @return a future that completes once the given partner is ready to receive notifications for the given
+     * choreography. Entries expire after {@link #PARTNER_READINESS_TIMEOUT_MINUTES}, which bounds the number of
+     * retained choreographies.
+     */
+    private static CompletableFuture<Void> partnerReadiness(final String correlationID, final String partnerID) {
+        return readyPartners.asMap().computeIfAbsent(Arrays.asList(correlationID, partnerID), key -> new CompletableFuture<>());
     }
 
     private static class PlanInvocationArguments {
@@ -27,6 +27,7 @@ import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.repository.NodeTemplateInstancePropertyIndex;
 import org.opentosca.container.core.next.repository.NodeTemplateInstanceRepository;
 import org.opentosca.container.core.tosca.convention.Types;
 import org.slf4j.Logger;
@@ -238,9 +239,14 @@ public class DeploymentDistributionDecisionMaker {
         final Set<Entry<String, String>> infrastructureEntrySet = getEntrySetWithoutState(infrastructureProperties);
 
         // search NodeTemplateInstance with matching NodeType and Properties which is already
-        // provisioned completely
+        // provisioned completely. The index yields the instances with matching instance data,
+        // which are checked against the database as the index may lag behind.
         final NodeTemplateInstance matchingInstance =
-            nodeTemplateInstanceRepository.findByTemplateType(infrastructureNodeType).stream()
+            NodeTemplateInstancePropertyIndex.getInstance().find(infrastructureNodeType, infrastructureProperties)
+                .stream()
+                .map(id -> nodeTemplateInstanceRepository.find(id).orElse(null))
+                .filter(Objects::nonNull)
+                .filter(instance -> instance.getTemplateType().equals(infrastructureNodeType))
                 .filter(instance -> instance.getServiceTemplateInstance().getState()
                     .equals(ServiceTemplateInstanceState.CREATED))
                 .filter(instance -> instance.getState()
@@ -9,8 +9,6 @@ import java.util.Objects;
 
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
@@ -28,10 +26,12 @@ import org.opentosca.bus.management.service.impl.collaboration.model.InstanceDat
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueMap;
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueType;
 import org.opentosca.bus.management.service.impl.collaboration.route.ReceiveRequestRoute;
+import org.opentosca.bus.management.service.impl.util.IADeploymentLockManager;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,16 +55,19 @@ public class RequestReceiver {
     private final DeploymentDistributionDecisionMaker decisionMaker;
     private final ICoreEndpointService endpointService;
     private final PluginRegistry pluginRegistry;
+    private final IADeploymentLockManager lockManager;
 
     @Inject
     public RequestReceiver(CollaborationContext context,
                            DeploymentDistributionDecisionMaker decisionMaker,
                            ICoreEndpointService endpointService,
-                           PluginRegistry pluginRegistry) {
+                           PluginRegistry pluginRegistry,
+                           IADeploymentLockManager lockManager) {
         this.collaborationContext = context;
         this.decisionMaker = decisionMaker;
         this.endpointService = endpointService;
         this.pluginRegistry = pluginRegistry;
+        this.lockManager = lockManager;
     }
 
     /**
@@ -188,7 +191,8 @@ public class RequestReceiver {
         URI endpointURI = null;
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        try (IADeploymentLockManager.Lock lock = lockManager.acquire(identifier,
+            IADeploymentLockManager.metricsKey(deploymentLocation, typeImplementationID, implementationArtifactName))) {
 
             LOG.debug("Got lock for operations on the given IA. Checking if IA is already deployed...");
 
@@ -284,7 +288,8 @@ public class RequestReceiver {
 
         // Prevent two threads from trying to deploy the same IA concurrently and avoid the deletion
         // of an IA after successful checking that an IA is already deployed.
-        synchronized (ManagementBusServiceImpl.getLockForString(identifier)) {
+        try (IADeploymentLockManager.Lock lock = lockManager.acquire(identifier,
+            IADeploymentLockManager.metricsKey(deploymentLocation, typeImplementationID, implementationArtifactName))) {
 
             LOG.debug("Got lock for operations on the given IA. Getting endpoints fot the IA...");
 
@@ -382,9 +387,7 @@ public class RequestReceiver {
                 LOG.debug("Request contains input parameters a Document");
 
                 try {
-                    final DocumentBuilderFactory dFact = DocumentBuilderFactory.newInstance();
-                    final DocumentBuilder build = dFact.newDocumentBuilder();
-                    final Document document = build.newDocument();
+                    final Document document = XmlSupport.newDocument();
 
                     final Element element = request.getDoc().getAny();
 
@@ -4,18 +4,24 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
 
 import javax.inject.Inject;
 
-import org.apache.camel.ConsumerTemplate;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.service.impl.Constants;
 import org.opentosca.bus.management.service.impl.collaboration.model.CollaborationMessage;
 import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -26,6 +32,11 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * Utility class to send collaboration requests over MQTT to other OpenTOSCA Container nodes.<br>
  * <br>
  * <p>
+ * All responses arrive at the single subscription of the {@link org.opentosca.bus.management.service.impl.collaboration.route.ReceiveResponseRoute},
+ * which passes them to {@link #completeRequest(Exchange)}. There, they are correlated with the pending requests by
+ * their correlation ID. The first response to a request wins, later ones are dropped.<br>
+ * <br>
+ * <p>
  * Copyright 2018 IAAS University of Stuttgart
  */
 @Service
@@ -33,7 +44,14 @@ public class RequestSender {
 
     static final private Logger LOG = LoggerFactory.getLogger(RequestSender.class);
 
-    private final static ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    // timeout for requests that do not define one, not limited if not positive
+    private final static long DEFAULT_TIMEOUT =
+        Long.parseLong(Settings.getSetting("org.opentosca.container.collaboration.timeout", "3600000"));
+
+    private final static Map<String, CompletableFuture<Exchange>> pendingRequests = new ConcurrentHashMap<>();
+
+    private final static ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("collaboration-timeouts").setDaemon(true).build());
 
     private final CollaborationContext collaborationContext;
 
@@ -42,6 +60,29 @@ public class RequestSender {
         collaborationContext = context;
     }
 
+    /**
+     * Send an operation request to a remote OpenTOSCA Container node and block until the response arrives. See {@link
+     * #sendRequestToRemoteContainerAsync(Message, RemoteOperations, CollaborationMessage, long)}.
+     *
+     * @return the exchange which is received as response of the request, or <tt>null</tt> if no response arrived
+     * in time
+     */
+    public Exchange sendRequestToRemoteContainer(final Message message, final RemoteOperations operation,
+                                                 final CollaborationMessage requestBody, final long timeout) {
+        final CompletableFuture<Exchange> response =
+            sendRequestToRemoteContainerAsync(message, operation, requestBody, timeout);
+        try {
+            return response.get();
+        } catch (final InterruptedException e) {
+            response.cancel(false);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (final ExecutionException e) {
+            LOG.debug("No response for {} request: {}", operation, e.getCause().getMessage());
+            return null;
+        }
+    }
+
     /**
      * Send an operation request to a remote OpenTOSCA Container node. All information needed for the remote operation
      * that shall be executed has to be defined as header fields of the given message or passed as
@@ -50,11 +91,14 @@ public class RequestSender {
      * @param message     the message containing the headers to send to the remote Container
      * @param operation   the operation to perform on the remote Container
      * @param requestBody the message body of the request
-     * @param timeout     the timeout to wait for a reply in ms. Zero means no timeout at all
-     * @return the exchange which is received as response of the request
+     * @param timeout     the timeout to wait for a reply in ms. Zero means the default timeout
+     * @return a future that completes with the exchange which is received as response of the request, or fails with
+     * a {@link TimeoutException}. Cancelling it withdraws the request, so that a later response is dropped.
      */
-    public Exchange sendRequestToRemoteContainer(final Message message, final RemoteOperations operation,
-                                                 final CollaborationMessage requestBody, final int timeout) {
+    public CompletableFuture<Exchange> sendRequestToRemoteContainerAsync(final Message message,
+                                                                         final RemoteOperations operation,
+                                                                         final CollaborationMessage requestBody,
+                                                                         final long timeout) {
 
         Objects.requireNonNull(message);
 
@@ -77,35 +121,49 @@ public class RequestSender {
         requestHeaders.put(MBHeader.REPLYTOTOPIC_STRING.toString(), Constants.RESPONSE_TOPIC);
         requestHeaders.put(MBHeader.REMOTEOPERATION_STRING.toString(), operation);
 
+        // register before publishing, so that no response can arrive before its request is pending
+        final CompletableFuture<Exchange> response = register(correlationID, timeout == 0 ? DEFAULT_TIMEOUT : timeout);
+
         LOG.debug("Publishing request to MQTT broker at {} with topic {} and correlation ID {}",
             Constants.LOCAL_MQTT_BROKER, Constants.REQUEST_TOPIC, correlationID);
-
-        // publish the exchange over the camel route
-        scheduler.schedule(() -> collaborationContext.getProducer().sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders),
-            300, MILLISECONDS);
-
-        final String callbackEndpoint = "direct:Callback-" + correlationID;
-        LOG.debug("Waiting for response at endpoint: {}", callbackEndpoint);
-
-        // wait for a response at the created callback
-        final ConsumerTemplate consumer = collaborationContext.getCamelContext().createConsumerTemplate();
-
-        Exchange response = null;
-        if (timeout == 0) {
-            // wait without timeout
-            response = consumer.receive(callbackEndpoint);
-        } else {
-            // assess request as failed after timeout and return null
-            response = consumer.receive(callbackEndpoint, timeout);
+        try {
+            collaborationContext.getProducer().sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders);
+        } catch (final RuntimeException e) {
+            response.completeExceptionally(e);
         }
+        return response;
+    }
 
-        // release resources
-        try {
-            consumer.stop();
-        } catch (final Exception e) {
-            LOG.warn("Unable to stop consumer: {}", e.getMessage());
+    /**
+     * Completes the pending request the given response refers to by its correlation ID.
+     *
+     * @param response the exchange received as response
+     * @return <tt>true</tt> if a request was waiting for the response, <tt>false</tt> if it is unknown, timed out or
+     * was answered already
+     */
+    public static boolean completeRequest(final Exchange response) {
+        final String correlationID =
+            response.getIn().getHeader(MBHeader.CORRELATIONID_STRING.toString(), String.class);
+        final CompletableFuture<Exchange> request = correlationID == null ? null : pendingRequests.get(correlationID);
+        if (request == null || !request.complete(response.copy())) {
+            LOG.debug("No pending request for correlation ID {}. The request timed out or was answered already.",
+                correlationID);
+            return false;
         }
+        return true;
+    }
 
-        return response;
+    private static CompletableFuture<Exchange> register(final String correlationID, final long timeout) {
+        final CompletableFuture<Exchange> request = new CompletableFuture<>();
+        pendingRequests.put(correlationID, request);
+        if (timeout > 0) {
+            final ScheduledFuture<?> expiry = timeouts.schedule(() -> request.completeExceptionally(
+                new TimeoutException("No response for correlation ID " + correlationID + " within " + timeout + " ms")),
+                timeout, MILLISECONDS);
+            request.whenComplete((r, e) -> expiry.cancel(false));
+        }
+        // response, timeout or cancellation
+        request.whenComplete((r, e) -> pendingRequests.remove(correlationID, request));
+        return request;
     }
 }
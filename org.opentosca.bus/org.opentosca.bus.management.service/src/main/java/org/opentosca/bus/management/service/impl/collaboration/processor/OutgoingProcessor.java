@@ -1,18 +1,12 @@
 package org.opentosca.bus.management.service.impl.collaboration.processor;
 
 import java.io.ByteArrayOutputStream;
-import java.io.StringWriter;
 import java.util.List;
 import java.util.Map.Entry;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Marshaller;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
@@ -21,6 +15,7 @@ import org.opentosca.bus.management.service.impl.collaboration.model.Collaborati
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueMap;
 import org.opentosca.bus.management.service.impl.collaboration.model.KeyValueType;
 import org.opentosca.bus.management.service.impl.collaboration.model.ObjectFactory;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -118,16 +113,7 @@ public class OutgoingProcessor implements Processor {
      */
     private String toXMLString(final Document doc) {
         try {
-            final StringWriter sw = new StringWriter();
-            final TransformerFactory tf = TransformerFactory.newInstance();
-            final Transformer transformer = tf.newTransformer();
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-            transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-            transformer.setOutputProperty(OutputKeys.INDENT, "no");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-
-            transformer.transform(new DOMSource(doc), new StreamResult(sw));
-            return sw.toString();
+            return XmlSupport.toString(doc, false);
         } catch (final Exception e) {
             LOG.debug("Error converting Document to String: {}", e.getMessage());
             return "";
@@ -5,9 +5,9 @@ import javax.xml.bind.JAXBContext;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.Processor;
 import org.apache.camel.builder.RouteBuilder;
-import org.apache.camel.component.direct.DirectConsumerNotAvailableException;
 import org.apache.camel.converter.jaxb.JaxbDataFormat;
 import org.opentosca.bus.management.header.MBHeader;
+import org.opentosca.bus.management.service.impl.collaboration.RequestSender;
 import org.opentosca.bus.management.service.impl.collaboration.model.ObjectFactory;
 import org.opentosca.bus.management.service.impl.collaboration.processor.IncomingProcessor;
 import org.slf4j.Logger;
@@ -15,7 +15,7 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This route is intended to forward responses to requests made by this OpenTOSCA Container to the corresponding
- * callback methods.<br>
+ * pending requests of the {@link RequestSender}.<br>
  * <br>
  * <p>
  * Copyright 2018 IAAS University of Stuttgart
@@ -56,8 +56,6 @@ public class ReceiveResponseRoute extends RouteBuilder {
         final String consumerEndpoint = "mqtt:response?host=" + this.host + "&userName=" + this.username + "&password="
             + this.password + "&subscribeTopicNames=" + this.topic + "&qualityOfService=ExactlyOnce";
 
-        final String producerEndpoint = "direct:Callback-${header." + correlationHeader + "}";
-
         // JAXB definitions to unmarshal the incoming message body
         final ClassLoader classLoader =
             ObjectFactory.class.getClassLoader();
@@ -71,9 +69,7 @@ public class ReceiveResponseRoute extends RouteBuilder {
         // log messages to increase the readability of the route
         final String messageReceived = "Received response message via MQTT topic. Unmarshaling...";
         final String correlationID = "Message has correlation ID: ${header." + correlationHeader + "}";
-        final String correlationNotNull = "Message will be routed to corresponding callback!";
-        final String noDirectException = "No direct receiver for this correlation ID registered."
-            + "This could be due to a delayed message where the corresponding receiver has already timed out or if multiple receiver answer a request.";
+        final String correlationNotNull = "Message will be passed to the corresponding request!";
         final String noCorrelation = "Correlation ID is null. Ignoring message!";
         final String noMarshalling = "Unable to unmarshal message. Ignoring it!";
 
@@ -87,14 +83,12 @@ public class ReceiveResponseRoute extends RouteBuilder {
             .choice()
             .when(header(correlationHeader).isNotNull())
             .log(LoggingLevel.DEBUG, LOG, correlationNotNull)
-            .recipientList(this.simple(producerEndpoint))
+            .process(RequestSender::completeRequest)
             .endChoice()
             .otherwise()
             .log(LoggingLevel.WARN, LOG, noCorrelation)
             .endChoice()
             .endDoTry()
-            .doCatch(DirectConsumerNotAvailableException.class)
-            .log(LoggingLevel.ERROR, LOG, noDirectException)
             .doCatch(Exception.class)
             .log(LoggingLevel.ERROR, LOG, noMarshalling)
             .end();
@@ -3,9 +3,10 @@ package org.opentosca.bus.management.service.impl.instance.plan;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.persistence.NoResultException;
+import javax.persistence.PersistenceException;
 import javax.xml.namespace.QName;
 
 import org.eclipse.winery.model.tosca.TParameter;
@@ -21,6 +22,7 @@ import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanInstanceInput;
 import org.opentosca.container.core.next.model.PlanInstanceOutput;
@@ -44,6 +46,7 @@ public class PlanInstanceHandler {
 
     private final static ServiceTemplateInstanceRepository stiRepo = new ServiceTemplateInstanceRepository();
     private final static PlanInstanceRepository planRepo = new PlanInstanceRepository();
+    private final static AtomicLong lastCorrelationTimestamp = new AtomicLong();
 
     /**
      * Create a plan instance for the instance API and add the details about name, type, input parameters, etc.
@@ -84,14 +87,6 @@ public class PlanInstanceHandler {
         plan.setState(PlanInstanceState.RUNNING);
         plan.setTemplateId(planId);
 
-        // check if plan instance with that correlation ID is already present
-        final Optional<PlanInstance> planOptional =
-            planRepo.findAll().stream().filter(p -> p.getCorrelationId().equals(correlationId)).findFirst();
-        if (planOptional.isPresent()) {
-            throw new CorrelationIdAlreadySetException(
-                "Plan instance with correlation ID " + correlationId + " is already existing.");
-        }
-
         // cast input parameters for the plan invocation
         Map<String, String> inputMap = new HashMap<>();
         if (input instanceof HashMap) {
@@ -104,14 +99,33 @@ public class PlanInstanceHandler {
                 param.getType()).setPlanInstance(plan);
         }
 
-        // add connection to the service template and update the repository
-        stiRepo.find(serviceTemplateInstanceId)
-            .ifPresent(serviceTemplateInstance -> plan.setServiceTemplateInstance(serviceTemplateInstance));
-        planRepo.add(plan);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // check if plan instance with that correlation ID is already present
+            if (!planRepo.findAllPlansByColumnValue("correlationId", correlationId).isEmpty()) {
+                throw correlationIdAlreadySet(correlationId);
+            }
+
+            // add connection to the service template and update the repository
+            stiRepo.find(serviceTemplateInstanceId)
+                .ifPresent(serviceTemplateInstance -> plan.setServiceTemplateInstance(serviceTemplateInstance));
+            planRepo.add(plan);
+            uow.commit();
+        } catch (final PersistenceException e) {
+            // a concurrent invocation stored the correlation ID first, rejected by its unique constraint
+            if (!planRepo.findAllPlansByColumnValue("correlationId", correlationId).isEmpty()) {
+                throw correlationIdAlreadySet(correlationId);
+            }
+            throw e;
+        }
 
         return plan;
     }
 
+    private static CorrelationIdAlreadySetException correlationIdAlreadySet(final String correlationId) {
+        return new CorrelationIdAlreadySetException(
+            "Plan instance with correlation ID " + correlationId + " is already existing.");
+    }
+
     /**
      * Create a unique correlation ID based on the current time.
      *
@@ -120,7 +134,9 @@ public class PlanInstanceHandler {
     public static String createCorrelationId() {
         // generate CorrelationId for the plan execution
         while (true) {
-            final String correlationId = String.valueOf(System.currentTimeMillis());
+            // strictly increasing, so that concurrent invocations within the same millisecond get distinct IDs
+            final String correlationId = String.valueOf(lastCorrelationTimestamp.accumulateAndGet(System.currentTimeMillis(),
+                (last, now) -> Math.max(last + 1, now)));
 
             try {
                 planRepo.findByCorrelationId(correlationId);
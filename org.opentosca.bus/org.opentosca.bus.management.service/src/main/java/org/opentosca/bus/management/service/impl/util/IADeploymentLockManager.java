@@ -0,0 +1,312 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.xml.namespace.QName;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serializes the deployment, invocation and undeployment of Implementation Artifacts that share a synchronization
+ * identifier (see {@link org.opentosca.bus.management.service.impl.ManagementBusServiceImpl#getUniqueSynchronizationString}).
+ * <p>
+ * Locks are granted asynchronously: {@link #acquireAsync} queues the request and completes the returned future when
+ * the lock is handed over, so waiting invocations don't pin a thread. Locks are reference counted and dropped as soon
+ * as nobody holds or waits for them, so the number of retained locks is bounded by the number of concurrently used
+ * identifiers.
+ * <p>
+ * Like the monitors they replace, locks are reentrant for the thread they are bound to, i.e. the thread that acquired
+ * it with {@link #acquire} or runs {@link Lock#callBound}. Such a thread may acquire the lock again, e.g. for a nested
+ * deployment of the same IA.
+ * <p>
+ * Acquisitions are counted per IA, i.e. per metrics key, to expose contention and wait times.
+ */
+@Service
+public class IADeploymentLockManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IADeploymentLockManager.class);
+
+    private final Map<String, LockState> locks = new ConcurrentHashMap<>();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    // identifiers of the locks bound to the current thread
+    private final ThreadLocal<Set<String>> boundLocks = ThreadLocal.withInitial(HashSet::new);
+    // hands released locks over, so the continuation of the next waiter does not run on the releasing thread
+    private final ExecutorService grantExecutor = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("ia-lock-%d").setDaemon(true).build());
+
+    /**
+     * @return the key under which the acquisitions of locks for the given IA are counted
+     */
+    public static String metricsKey(final String deploymentLocation, final QName typeImplementation,
+                                    final String iaName) {
+        return String.join("/", String.valueOf(deploymentLocation), String.valueOf(typeImplementation), iaName);
+    }
+
+    /**
+     * Requests the lock for the given identifier. The returned future completes once the lock is granted, which
+     * happens immediately if it is free or bound to the current thread. Cancelling the future withdraws the request.
+     */
+    public CompletableFuture<Lock> acquireAsync(final String identifier, final String metricsKey) {
+        Objects.requireNonNull(identifier);
+        final Statistics stats = this.statistics.computeIfAbsent(metricsKey, k -> new Statistics());
+        if (this.boundLocks.get().contains(identifier)) {
+            stats.acquired(0);
+            return CompletableFuture.completedFuture(new Lock(identifier, false));
+        }
+
+        final Waiter waiter = new Waiter(stats);
+        this.locks.compute(identifier, (id, existing) -> {
+            final LockState state = existing == null ? new LockState() : existing;
+            state.references++;
+            if (state.held) {
+                state.waiters.add(waiter);
+            } else {
+                state.held = true;
+                waiter.granted = true;
+            }
+            return state;
+        });
+
+        if (waiter.granted) {
+            stats.acquired(0);
+            waiter.future.complete(new Lock(identifier, true));
+        } else {
+            stats.contended();
+            LOG.debug("Waiting for lock on IA {}", identifier);
+            waiter.future.whenComplete((lock, e) -> {
+                if (waiter.future.isCancelled()) {
+                    withdraw(identifier, waiter);
+                }
+            });
+        }
+        return waiter.future;
+    }
+
+    /**
+     * Blocks until the lock for the given identifier is granted and binds it to the current thread, which must be the
+     * one that closes it.
+     */
+    public Lock acquire(final String identifier, final String metricsKey) {
+        final Lock lock = acquireAsync(identifier, metricsKey).join();
+        lock.bind();
+        return lock;
+    }
+
+    /**
+     * @return a snapshot of the lock statistics per metrics key
+     */
+    public Map<String, LockStatistics> getStatistics() {
+        final Map<String, LockStatistics> snapshot = new HashMap<>();
+        this.statistics.forEach((key, stats) -> snapshot.put(key, stats.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * @return the number of identifiers with a lock that is currently held or waited for
+     */
+    public int getRetainedLockCount() {
+        return this.locks.size();
+    }
+
+    @Override
+    public void close() {
+        this.grantExecutor.shutdown();
+    }
+
+    private void withdraw(final String identifier, final Waiter waiter) {
+        this.locks.computeIfPresent(identifier, (id, state) -> {
+            if (state.waiters.remove(waiter)) {
+                state.references--;
+            }
+            return state.references == 0 ? null : state;
+        });
+    }
+
+    private void release(final String identifier) {
+        final Waiter[] next = new Waiter[1];
+        this.locks.computeIfPresent(identifier, (id, state) -> {
+            next[0] = state.waiters.poll();
+            state.held = next[0] != null;
+            return --state.references == 0 ? null : state;
+        });
+        if (next[0] != null) {
+            try {
+                this.grantExecutor.execute(() -> grant(identifier, next[0]));
+            } catch (final RejectedExecutionException e) {
+                grant(identifier, next[0]);
+            }
+        }
+    }
+
+    private void grant(final String identifier, final Waiter waiter) {
+        waiter.stats.acquired(System.nanoTime() - waiter.requestedAt);
+        if (!waiter.future.complete(new Lock(identifier, true))) {
+            // the request was cancelled meanwhile, so the lock is passed on
+            release(identifier);
+        }
+    }
+
+    /**
+     * A granted lock. Closing it releases the lock, at most once.
+     */
+    public final class Lock implements AutoCloseable {
+
+        private final String identifier;
+        // nested acquisitions by the holder neither own nor release the lock
+        private final boolean owner;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Thread boundThread;
+
+        private Lock(final String identifier, final boolean owner) {
+            this.identifier = identifier;
+            this.owner = owner;
+        }
+
+        /**
+         * Runs the given section with the lock bound to the current thread, so the section may acquire it again.
+         */
+        public <T> T callBound(final Supplier<T> section) {
+            if (!this.owner || !IADeploymentLockManager.this.boundLocks.get().add(this.identifier)) {
+                return section.get();
+            }
+            try {
+                return section.get();
+            } finally {
+                unbind();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.owner && this.released.compareAndSet(false, true)) {
+                if (this.boundThread == Thread.currentThread()) {
+                    unbind();
+                }
+                release(this.identifier);
+            }
+        }
+
+        private void bind() {
+            if (this.owner && IADeploymentLockManager.this.boundLocks.get().add(this.identifier)) {
+                this.boundThread = Thread.currentThread();
+            }
+        }
+
+        private void unbind() {
+            final Set<String> bound = IADeploymentLockManager.this.boundLocks.get();
+            bound.remove(this.identifier);
+            if (bound.isEmpty()) {
+                IADeploymentLockManager.this.boundLocks.remove();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the lock acquisitions of an IA.
+     */
+    public static final class LockStatistics {
+
+        private final long acquisitions;
+        private final long contended;
+        private final long totalWaitMillis;
+        private final long maxWaitMillis;
+
+        private LockStatistics(final long acquisitions, final long contended, final long totalWaitMillis,
+                               final long maxWaitMillis) {
+            this.acquisitions = acquisitions;
+            this.contended = contended;
+            this.totalWaitMillis = totalWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public long getAcquisitions() {
+            return this.acquisitions;
+        }
+
+        /**
+         * @return the number of requests that had to wait for the lock
+         */
+        public long getContended() {
+            return this.contended;
+        }
+
+        public long getTotalWaitMillis() {
+            return this.totalWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return this.maxWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("acquisitions: %d, contended: %d, total wait: %d ms, max wait: %d ms",
+                this.acquisitions, this.contended, this.totalWaitMillis, this.maxWaitMillis);
+        }
+    }
+
+    // guarded by the compute operations of the lock map
+    private static final class LockState {
+
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private boolean held;
+        // the holder and all waiters
+        private int references;
+    }
+
+    private static final class Waiter {
+
+        private final CompletableFuture<Lock> future = new CompletableFuture<>();
+        private final long requestedAt = System.nanoTime();
+        private final Statistics stats;
+        private boolean granted;
+
+        private Waiter(final Statistics stats) {
+            this.stats = stats;
+        }
+    }
+
+    private static final class Statistics {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+        void contended() {
+            this.contended.increment();
+        }
+
+        void acquired(final long waitNanos) {
+            this.acquisitions.increment();
+            this.totalWaitNanos.add(waitNanos);
+            this.maxWaitNanos.accumulate(waitNanos);
+        }
+
+        LockStatistics snapshot() {
+            return new LockStatistics(this.acquisitions.sum(), this.contended.sum(),
+                TimeUnit.NANOSECONDS.toMillis(this.totalWaitNanos.sum()),
+                TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos.get()));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.opentosca.bus.management.service.impl.util;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
 
@@ -49,6 +51,36 @@ public class PluginHandler {
      */
     public Exchange callMatchingInvocationPlugin(Exchange exchange, String invocationType,
                                                  final String deploymentLocation) {
+        final IManagementBusInvocationPluginService invocationPlugin =
+            getMatchingInvocationPlugin(invocationType, deploymentLocation);
+        if (invocationPlugin != null) {
+            exchange = invocationPlugin.invoke(exchange);
+        }
+        return exchange;
+    }
+
+    /**
+     * Calls the invocation plug-in like {@link #callMatchingInvocationPlugin(Exchange, String, String)}, but through
+     * its asynchronous interface, so plug-ins that await the response without a thread don't block the caller.
+     *
+     * @param exchange           the exchange that has to be passed to the plug-in.
+     * @param invocationType     the invocation type for the IA/Plan invocation
+     * @param deploymentLocation the deployment location of the IA/Plan that is invoked
+     * @return a future of the response of the called plug-in.
+     */
+    public CompletableFuture<Exchange> callMatchingInvocationPluginAsync(final Exchange exchange,
+                                                                       final String invocationType,
+                                                                       final String deploymentLocation) {
+        final IManagementBusInvocationPluginService invocationPlugin =
+            getMatchingInvocationPlugin(invocationType, deploymentLocation);
+        if (invocationPlugin != null) {
+            return invocationPlugin.invokeAsync(exchange);
+        }
+        return CompletableFuture.completedFuture(exchange);
+    }
+
+    private IManagementBusInvocationPluginService getMatchingInvocationPlugin(final String invocationType,
+                                                                              final String deploymentLocation) {
         LOG.debug("Searching a matching invocation plug-in for InvocationType {} and deployment location {}",
             invocationType, deploymentLocation);
 
@@ -60,12 +92,10 @@ public class PluginHandler {
                 invocationPlugin = pluginRegistry.getInvocationPluginServices().get(Constants.REMOTE_TYPE);
             }
         }
-        if (invocationPlugin != null) {
-            exchange = invocationPlugin.invoke(exchange);
-        } else {
+        if (invocationPlugin == null) {
             LOG.warn("No matching invocation plug-in found for invocation type {}!", invocationType);
         }
-        return exchange;
+        return invocationPlugin;
     }
 
     /**
@@ -12,9 +12,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.winery.model.tosca.TExportedOperation;
 import org.eclipse.winery.model.tosca.TImplementationArtifact;
@@ -37,6 +34,7 @@ import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.repository.NodeTemplateInstanceRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.opentosca.container.core.tosca.convention.Interfaces;
 import org.opentosca.container.core.tosca.convention.Properties;
 import org.opentosca.container.core.tosca.convention.Types;
@@ -246,7 +244,9 @@ public class MBUtils {
                     continue;
                 }
 
-                nodeTemplateInstance = relation.getTarget();
+                // loaded by id, so the properties are read from the property entries of the target
+                final NodeTemplateInstance target = relation.getTarget();
+                nodeTemplateInstance = nodeTemplateInstanceRepository.find(target.getId()).orElse(target);
                 moreNodeTemplateInstances = true;
                 LOG.debug("Found new NodeTemplate: {}. Continue property search.", nodeTemplateInstance.getTemplateId());
                 // check if new NodeTemplateInstance contains property
@@ -265,7 +265,8 @@ public class MBUtils {
     }
 
     /**
-     * Returns the value of a certain property of a certain NodeTemplateInstance.
+     * Returns the value of a certain property of a certain NodeTemplateInstance. The value is read from the property
+     * entries, which the repositories load with the instance, instead of parsing the XML properties.
      *
      * @param nodeTemplateInstance the NodeTemplateInstance
      * @param property             the name of the property
@@ -436,18 +437,7 @@ public class MBUtils {
     public static Document mapToDoc(final String rootElementNamespaceURI, final String rootElementName,
                                     final HashMap<String, String> paramsMap) {
         LOG.debug("Mapping to doc for element {} and namespace {}.", rootElementName, rootElementNamespaceURI);
-        Document document;
-
-        final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder documentBuilder = null;
-        try {
-            documentBuilder = documentBuilderFactory.newDocumentBuilder();
-        } catch (final ParserConfigurationException e) {
-            LOG.error("Some error occured.");
-            e.printStackTrace();
-        }
-
-        document = documentBuilder.newDocument();
+        final Document document = XmlSupport.newDocument();
 
         final Element rootElement = document.createElementNS(rootElementNamespaceURI, rootElementName);
         document.appendChild(rootElement);
@@ -28,15 +28,19 @@ public class ObjectMapperProvider implements ContextResolver<ObjectMapper> {
 
     private static final Logger LOG = LoggerFactory.getLogger(ObjectMapperProvider.class);
 
-    private ObjectMapper objectMapper;
+    private static final ObjectMapper DEFAULT_MAPPER = createDefaultMapper();
 
     @Override
     public ObjectMapper getContext(final Class<?> type) {
-        if (this.objectMapper == null) {
-            this.objectMapper = createDefaultMapper();
-        }
         LOG.trace("Retrieving Jackson Object Mapper");
-        return this.objectMapper;
+        return DEFAULT_MAPPER;
+    }
+
+    /**
+     * @return the mapper used for JSON entities, for resources writing their JSON representation themselves
+     */
+    public static ObjectMapper getDefaultMapper() {
+        return DEFAULT_MAPPER;
     }
 
     private static ObjectMapper createDefaultMapper() {
@@ -10,6 +10,8 @@ import java.text.MessageFormat;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -32,6 +34,7 @@ import org.eclipse.winery.model.selfservice.Application;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 import org.eclipse.winery.repository.backend.filebased.FileUtils;
 
+import com.google.common.base.Stopwatch;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -53,6 +56,7 @@ import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.backwards.FileSystemDirectory;
 import org.opentosca.container.core.service.CsarStorageService;
+import org.opentosca.container.core.service.IHTTPService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -76,6 +80,9 @@ public class CsarController {
     @Inject
     private OpenToscaControlService controlService;
 
+    @Inject
+    private IHTTPService httpService;
+
     @GET
     @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all CSARs", response = CsarListDTO.class)
@@ -232,36 +239,52 @@ public class CsarController {
             // writing to temporary file failed
             return Response.serverError().build();
         }
-        WineryConnector wc = new WineryConnector();
+        WineryConnector wc = new WineryConnector(this.httpService);
         doApplyEnrichment(wc, tempFile, applyEnrichment);
 
+        // plan the uploaded CSAR before importing it, so that it is imported only once
+        final CsarId candidateId = new CsarId(tempFile.getFileName().toString());
+        if (isStored(candidateId)) {
+            FileUtils.forceDelete(tempFile);
+            return Response.status(Status.CONFLICT)
+                .entity(new UserException("CSAR \"" + candidateId.csarName() + "\" is already stored. Overwriting a CSAR is not allowed."))
+                .build();
+        }
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Optional<Path> plannedFile;
+        try {
+            plannedFile = this.csarService.generatePlans(tempFile);
+        } catch (Exception e) {
+            logger.warn("Planning the CSAR [{}] failed with an exception", candidateId.csarName(), e);
+            FileUtils.forceDelete(tempFile);
+            return Response.serverError().build();
+        }
+        if (!plannedFile.isPresent()) {
+            logger.info("Planning the CSAR [{}] failed", candidateId.csarName());
+            FileUtils.forceDelete(tempFile);
+            return Response.serverError().build();
+        }
+        final long planned = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
         CsarId csarId = null;
         try {
-            csarId = storage.storeCSAR(tempFile);
+            csarId = storage.storeCSAR(plannedFile.get());
         } catch (UserException e) {
             FileUtils.forceDelete(tempFile);
             return Response.status(Status.CONFLICT).entity(e).build();
         } catch (SystemException e) {
             FileUtils.forceDelete(tempFile);
             return Response.serverError().entity(e).build();
+        } finally {
+            if (!plannedFile.get().equals(tempFile)) {
+                // the repackaged CSAR is placed in a directory of its own
+                FileUtils.forceDelete(plannedFile.get().getParent());
+            }
         }
+        logger.info("Importing CSAR [{}] took {} ms (planning {} ms, storing {} ms)", csarId.csarName(),
+            stopwatch.elapsed(TimeUnit.MILLISECONDS), planned, stopwatch.elapsed(TimeUnit.MILLISECONDS) - planned);
 
         Csar storedCsar = storage.findById(csarId);
-        try {
-            if (!this.csarService.generatePlans(storedCsar)) {
-                logger.info("Planning the CSAR failed. Deleting the failed import");
-                this.storage.deleteCSAR(csarId);
-                return Response.serverError().build();
-            }
-        } catch (Exception e) {
-            logger.warn("Planning the CSAR [{}] failed with an exception", csarId.csarName(), e);
-            try {
-                this.storage.deleteCSAR(csarId);
-            } catch (Exception log) {
-                logger.warn("Failed to delete CSAR [{}] with failed plans on import", csarId.csarName());
-            }
-            return Response.serverError().build();
-        }
 
         // FIXME maybe this only makes sense when we have generated plans :/
         this.controlService.declareStored(csarId);
@@ -344,6 +367,15 @@ public class CsarController {
         logger.debug("Enrichment status is null or false. Continue without enrichment.");
     }
 
+    private boolean isStored(CsarId csarId) {
+        try {
+            storage.findById(csarId);
+            return true;
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
     @DELETE
     @javax.ws.rs.Path("/{csar}")
     @ApiOperation(value = "Delete a CSAR")
@@ -1,10 +1,10 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -25,7 +25,9 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.opentosca.container.api.dto.NodeTemplateInstanceDTO;
 import org.opentosca.container.api.dto.NodeTemplateInstanceListDTO;
+import org.opentosca.container.api.dto.request.InstanceListParameters;
 import org.opentosca.container.api.service.InstanceService;
+import org.opentosca.container.api.util.InstanceListing;
 import org.opentosca.container.api.util.ModelUtil;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
@@ -65,49 +67,45 @@ public class NodeTemplateInstanceController {
     }
 
     @GET
-    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all instances of a node template", response = NodeTemplateInstanceListDTO.class)
     public Response getNodeTemplateInstances(@QueryParam(value = "state") final List<NodeTemplateInstanceState> states,
                                              @QueryParam(value = "source") final List<Long> relationIds,
-                                             @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId) {
+                                             @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                             @BeanParam final InstanceListParameters parameters) {
         logger.debug("Invoking getNodeTemplateInstances");
-        final Collection<NodeTemplateInstance> nodeInstances = this.instanceService.getNodeTemplateInstances(nodetemplate);
-        logger.debug("Found <{}> instances of NodeTemplate \"{}\" ", nodeInstances.size(), this.nodetemplate);
+        return Response.ok(listing(states, relationIds, serviceInstanceId, parameters)
+            .stream("node_template_instances", this::toListEntry)).build();
+    }
 
+    @GET
+    @Produces(MediaType.APPLICATION_XML + ";qs=0.5")
+    @ApiOperation(hidden = true, value = "")
+    public Response getNodeTemplateInstancesAsXml(@QueryParam(value = "state") final List<NodeTemplateInstanceState> states,
+                                                  @QueryParam(value = "source") final List<Long> relationIds,
+                                                  @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                                  @BeanParam final InstanceListParameters parameters) {
+        logger.debug("Invoking getNodeTemplateInstancesAsXml");
         final NodeTemplateInstanceListDTO list = new NodeTemplateInstanceListDTO();
-
-        for (final NodeTemplateInstance i : nodeInstances) {
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it does not have the proper state
-                continue;
-            }
-
-            if (!i.getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-
-            if (serviceInstanceId != null && !i.getServiceTemplateInstance().getId().equals(serviceInstanceId)) {
-                continue;
-            }
-
-            if (relationIds != null && !relationIds.isEmpty()) {
-                for (final RelationshipTemplateInstance relInstance : i.getOutgoingRelations()) {
-                    if (!relationIds.contains(relInstance.getId())) {
-                        // skip this node instance, as it is no source of the given relation
-                        continue;
-                    }
-                }
-            }
-
-            final NodeTemplateInstanceDTO dto = NodeTemplateInstanceDTO.Converter.convert(i);
-            dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
-
-            list.add(dto);
+        for (final NodeTemplateInstance i : listing(states, relationIds, serviceInstanceId, parameters).page(list)) {
+            list.add(toListEntry(i));
         }
+        return Response.ok(list).build();
+    }
 
-        list.add(UriUtil.generateSelfLink(this.uriInfo));
+    private InstanceListing<NodeTemplateInstance> listing(final List<NodeTemplateInstanceState> states,
+                                                          final List<Long> relationIds, final Long serviceInstanceId,
+                                                          final InstanceListParameters parameters) {
+        return new InstanceListing<>(this.uriInfo, parameters.toFilter(states),
+            filter -> this.instanceService.getNodeTemplateInstances(this.servicetemplate, this.nodetemplate,
+                serviceInstanceId, relationIds, filter),
+            NodeTemplateInstance::getId);
+    }
 
-        return Response.ok(list).build();
+    private NodeTemplateInstanceDTO toListEntry(final NodeTemplateInstance instance) {
+        final NodeTemplateInstanceDTO dto = NodeTemplateInstanceDTO.Converter.convert(instance);
+        dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
+        return dto;
     }
 
     @POST
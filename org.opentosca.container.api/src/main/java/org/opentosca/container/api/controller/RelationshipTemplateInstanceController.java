@@ -1,9 +1,9 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 
+import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -26,7 +26,9 @@ import io.swagger.annotations.ApiParam;
 import org.opentosca.container.api.dto.RelationshipTemplateInstanceDTO;
 import org.opentosca.container.api.dto.RelationshipTemplateInstanceListDTO;
 import org.opentosca.container.api.dto.request.CreateRelationshipTemplateInstanceRequest;
+import org.opentosca.container.api.dto.request.InstanceListParameters;
 import org.opentosca.container.api.service.InstanceService;
+import org.opentosca.container.api.util.InstanceListing;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
@@ -63,45 +65,45 @@ public class RelationshipTemplateInstanceController {
     }
 
     @GET
-    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all relationship template instances",
         response = RelationshipTemplateInstanceListDTO.class)
     public Response getRelationshipTemplateInstances(@QueryParam(value = "state") final List<RelationshipTemplateInstanceState> states,
                                                      @QueryParam(value = "target") final Long targetNodeInstanceId,
-                                                     @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId) {
-        final Collection<RelationshipTemplateInstance> relationshipInstances =
-            this.instanceService.getRelationshipTemplateInstances(relationshiptemplate);
-        logger.debug("Found <{}> instances of RelationshipTemplate \"{}\" ", relationshipInstances.size(),
-            this.relationshiptemplate);
+                                                     @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                                     @BeanParam final InstanceListParameters parameters) {
+        return Response.ok(listing(states, targetNodeInstanceId, serviceInstanceId, parameters)
+            .stream("relationship_template_instances", this::toListEntry)).build();
+    }
 
+    @GET
+    @Produces(MediaType.APPLICATION_XML + ";qs=0.5")
+    @ApiOperation(hidden = true, value = "")
+    public Response getRelationshipTemplateInstancesAsXml(@QueryParam(value = "state") final List<RelationshipTemplateInstanceState> states,
+                                                          @QueryParam(value = "target") final Long targetNodeInstanceId,
+                                                          @QueryParam(value = "serviceInstanceId") final Long serviceInstanceId,
+                                                          @BeanParam final InstanceListParameters parameters) {
         final RelationshipTemplateInstanceListDTO list = new RelationshipTemplateInstanceListDTO();
-
-        for (final RelationshipTemplateInstance i : relationshipInstances) {
-            if (!i.getTarget().getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it not has the proper state
-                continue;
-            }
-
-            if (serviceInstanceId != null && !i.getServiceTemplateInstance().getId().equals(serviceInstanceId)) {
-                continue;
-            }
-
-            if (targetNodeInstanceId != null && !i.getTarget().getId().equals(targetNodeInstanceId)) {
-                // skip this instance if the target id doesn't match
-                continue;
-            }
-            final RelationshipTemplateInstanceDTO dto = RelationshipTemplateInstanceDTO.Converter.convert(i);
-            dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
-
-            list.add(dto);
+        for (final RelationshipTemplateInstance i : listing(states, targetNodeInstanceId, serviceInstanceId, parameters).page(list)) {
+            list.add(toListEntry(i));
         }
+        return Response.ok(list).build();
+    }
 
-        list.add(UriUtil.generateSelfLink(this.uriInfo));
+    private InstanceListing<RelationshipTemplateInstance> listing(final List<RelationshipTemplateInstanceState> states,
+                                                                  final Long targetNodeInstanceId,
+                                                                  final Long serviceInstanceId,
+                                                                  final InstanceListParameters parameters) {
+        return new InstanceListing<>(this.uriInfo, parameters.toFilter(states),
+            filter -> this.instanceService.getRelationshipTemplateInstances(this.servicetemplate,
+                this.relationshiptemplate, serviceInstanceId, targetNodeInstanceId, filter),
+            RelationshipTemplateInstance::getId);
+    }
 
-        return Response.ok(list).build();
+    private RelationshipTemplateInstanceDTO toListEntry(final RelationshipTemplateInstance instance) {
+        final RelationshipTemplateInstanceDTO dto = RelationshipTemplateInstanceDTO.Converter.convert(instance);
+        dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
+        return dto;
     }
 
     @POST
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -16,6 +17,7 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
@@ -40,10 +42,12 @@ import org.opentosca.container.api.dto.boundarydefinitions.InterfaceListDTO;
 import org.opentosca.container.api.dto.boundarydefinitions.OperationDTO;
 import org.opentosca.container.api.dto.plan.PlanDTO;
 import org.opentosca.container.api.dto.request.CreateServiceTemplateInstanceRequest;
+import org.opentosca.container.api.dto.request.InstanceListParameters;
 import org.opentosca.container.api.dto.situations.SituationsMonitorDTO;
 import org.opentosca.container.api.dto.situations.SituationsMonitorListDTO;
 import org.opentosca.container.api.service.InstanceService;
 import org.opentosca.container.api.service.PlanService;
+import org.opentosca.container.api.util.InstanceListing;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.next.model.DeploymentTest;
@@ -51,6 +55,7 @@ import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.SituationsMonitor;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
@@ -83,27 +88,40 @@ public class ServiceTemplateInstanceController {
     }
 
     @GET
-    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all instances of a service template", response = ServiceTemplateInstanceListDTO.class)
-    public Response getServiceTemplateInstances() {
+    public Response getServiceTemplateInstances(@QueryParam("state") final List<ServiceTemplateInstanceState> states,
+                                                @BeanParam final InstanceListParameters parameters) {
         logger.debug("Invoking getServiceTemplateInstances");
-        final Collection<ServiceTemplateInstance> serviceInstances =
-            this.instanceService.getServiceTemplateInstances(serviceTemplate.getId());
-        logger.debug("Found <{}> instances of ServiceTemplate \"{}\" ", serviceInstances.size(), serviceTemplate.getId());
+        return Response.ok(listing(states, parameters).stream("service_template_instances", this::toListEntry)).build();
+    }
 
+    @GET
+    @Produces(MediaType.APPLICATION_XML + ";qs=0.5")
+    @ApiOperation(hidden = true, value = "")
+    public Response getServiceTemplateInstancesAsXml(@QueryParam("state") final List<ServiceTemplateInstanceState> states,
+                                                     @BeanParam final InstanceListParameters parameters) {
+        logger.debug("Invoking getServiceTemplateInstancesAsXml");
         final ServiceTemplateInstanceListDTO list = new ServiceTemplateInstanceListDTO();
-
-        for (final ServiceTemplateInstance i : serviceInstances) {
-            final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(i);
-            dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
-
-            list.add(dto);
+        for (final ServiceTemplateInstanceSummary i : listing(states, parameters).page(list)) {
+            list.add(toListEntry(i));
         }
-
-        list.add(UriUtil.generateSelfLink(this.uriInfo));
         return Response.ok(list).build();
     }
 
+    private InstanceListing<ServiceTemplateInstanceSummary> listing(final List<ServiceTemplateInstanceState> states,
+                                                                    final InstanceListParameters parameters) {
+        return new InstanceListing<>(this.uriInfo, parameters.toFilter(states),
+            filter -> this.instanceService.getServiceTemplateInstanceSummaries(serviceTemplate.getId(), filter),
+            ServiceTemplateInstanceSummary::getId);
+    }
+
+    private ServiceTemplateInstanceDTO toListEntry(final ServiceTemplateInstanceSummary instance) {
+        final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(instance);
+        dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
+        return dto;
+    }
+
     @POST
     @Produces( {MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN, MediaType.APPLICATION_XML})
     @Consumes( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
@@ -141,7 +159,7 @@ public class ServiceTemplateInstanceController {
     @ApiOperation(value = "Get a service template instance", response = ServiceTemplateInstanceDTO.class)
     public Response getServiceTemplateInstance(@ApiParam("ID of service template instance") @PathParam("id") final Long id) {
         logger.debug("Invoking getServiceTemplateInstance");
-        final ServiceTemplateInstance instance = resolveInstance(id, serviceTemplate.getId());
+        final ServiceTemplateInstanceSummary instance = resolveInstance(id, serviceTemplate.getId());
         final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(instance);
 
         // Build plan: Determine plan instance that created this service template instance
@@ -173,7 +191,7 @@ public class ServiceTemplateInstanceController {
         return Response.ok(dto).build();
     }
 
-    private PlanInstance findPlanInstance(ServiceTemplateInstance instance) {
+    private PlanInstance findPlanInstance(ServiceTemplateInstanceSummary instance) {
         return planService.getPlanInstanceByCorrelationId(instance.getCreationCorrelationId());
     }
 
@@ -190,7 +208,7 @@ public class ServiceTemplateInstanceController {
     @Path("/{id}/managementplans")
     public ManagementPlanController getManagementPlans(@ApiParam("ID of service template instance") @PathParam("id") final Long id) {
         logger.debug("Invoking getManagementPlans");
-        final ServiceTemplateInstance instance = resolveInstance(id, serviceTemplate.getId());
+        resolveInstance(id, serviceTemplate.getId());
         return new ManagementPlanController(csar, serviceTemplate, id, this.planService, PlanType.TERMINATION, PlanType.MANAGEMENT);
     }
 
@@ -301,10 +319,10 @@ public class ServiceTemplateInstanceController {
      *
      * @throws NotFoundException if the instance does not belong to the service template
      */
-    private ServiceTemplateInstance resolveInstance(final Long instanceId, final String templateId) throws NotFoundException {
+    private ServiceTemplateInstanceSummary resolveInstance(final Long instanceId, final String templateId) throws NotFoundException {
         // We only need to check that the instance belongs to the template, the rest is
         // guaranteed while this is a sub-resource
-        final ServiceTemplateInstance instance = this.instanceService.getServiceTemplateInstance(instanceId, false);
+        final ServiceTemplateInstanceSummary instance = this.instanceService.getServiceTemplateInstanceSummary(instanceId);
 
         if (!instance.getTemplateId().equals(templateId)) {
             logger.info("Service template instance <{}> could not be found", instanceId);
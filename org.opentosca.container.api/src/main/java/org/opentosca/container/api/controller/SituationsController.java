@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Set;
 
 import javax.inject.Inject;
+import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
@@ -20,12 +21,14 @@ import javax.ws.rs.core.UriInfo;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import org.opentosca.container.api.dto.request.InstanceListParameters;
 import org.opentosca.container.api.dto.situations.SituationDTO;
 import org.opentosca.container.api.dto.situations.SituationListDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerInstanceDTO;
 import org.opentosca.container.api.dto.situations.SituationTriggerListDTO;
 import org.opentosca.container.api.service.InstanceService;
+import org.opentosca.container.api.util.InstanceListing;
 import org.opentosca.container.core.common.uri.UriUtil;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
@@ -55,14 +58,25 @@ public class SituationsController {
     }
 
     @GET
-    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/situations")
+    public Response getSituations(@BeanParam final InstanceListParameters parameters) {
+        return Response.ok(situations(parameters).stream("situations", SituationDTO.Converter::convert)).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_XML + ";qs=0.5")
     @Path("/situations")
-    public Response getSituations() {
+    public Response getSituationsAsXml(@BeanParam final InstanceListParameters parameters) {
         final SituationListDTO dto = new SituationListDTO();
-        this.instanceService.getSituations().forEach(x -> dto.add(SituationDTO.Converter.convert(x)));
+        situations(parameters).page(dto).forEach(x -> dto.add(SituationDTO.Converter.convert(x)));
         return Response.ok(dto).build();
     }
 
+    private InstanceListing<Situation> situations(final InstanceListParameters parameters) {
+        return new InstanceListing<>(this.uriInfo, parameters.toFilter(), this.instanceService::getSituations, Situation::getId);
+    }
+
     @PUT
     @Consumes( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @Path("/situations/{situation}")
@@ -125,13 +139,21 @@ public class SituationsController {
     }
 
     @GET
-    @Produces( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces(MediaType.APPLICATION_JSON)
     @Path("/triggers")
-    public Response getSituationTriggers() {
+    public Response getSituationTriggers(@BeanParam final InstanceListParameters parameters) {
+        return Response.ok(situationTriggers(parameters).stream("situation_triggers", SituationTriggerDTO.Converter::convert))
+            .build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_XML + ";qs=0.5")
+    @Path("/triggers")
+    public Response getSituationTriggersAsXml(@BeanParam final InstanceListParameters parameters) {
         final SituationTriggerListDTO dto;
         try {
             dto = new SituationTriggerListDTO();
-            this.instanceService.getSituationTriggers().forEach(x -> dto.add(SituationTriggerDTO.Converter.convert(x)));
+            situationTriggers(parameters).page(dto).forEach(x -> dto.add(SituationTriggerDTO.Converter.convert(x)));
         } catch (final Exception e) {
             e.printStackTrace();
             return Response.serverError().build();
@@ -139,6 +161,11 @@ public class SituationsController {
         return Response.ok(dto).build();
     }
 
+    private InstanceListing<SituationTrigger> situationTriggers(final InstanceListParameters parameters) {
+        return new InstanceListing<>(this.uriInfo, parameters.toFilter(), this.instanceService::getSituationTriggers,
+            SituationTrigger::getId);
+    }
+
     @POST
     @Path("/triggers")
     @Consumes( {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
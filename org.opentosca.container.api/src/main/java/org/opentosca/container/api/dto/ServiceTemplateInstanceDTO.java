@@ -10,6 +10,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.annotations.ApiModelProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
 @XmlRootElement(name = "ServiceTemplateInstance")
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -85,5 +86,17 @@ public class ServiceTemplateInstanceDTO extends ResourceSupport {
 
             return dto;
         }
+
+        public static ServiceTemplateInstanceDTO convert(final ServiceTemplateInstanceSummary object) {
+            final ServiceTemplateInstanceDTO dto = new ServiceTemplateInstanceDTO();
+
+            dto.setId(object.getId());
+            dto.setCreatedAt(object.getCreatedAt());
+            dto.setCsarId(object.getCsarId().toString());
+            dto.setServiceTemplateId(object.getTemplateId());
+            dto.setState(object.getState());
+
+            return dto;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package org.opentosca.container.api.dto.request;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.QueryParam;
+
+import io.swagger.annotations.ApiParam;
+import org.opentosca.container.core.next.repository.InstanceFilter;
+
+/**
+ * Query parameters shared by the instance listings, to be used as {@link javax.ws.rs.BeanParam}.
+ */
+public class InstanceListParameters {
+
+    @ApiParam("maximum number of instances to return, at least 1")
+    @QueryParam("limit")
+    private Integer limit;
+
+    @ApiParam("only return instances with an id greater than this one, as given by the next link of a previous page")
+    @QueryParam("after")
+    private Long after;
+
+    @ApiParam("only return instances created at or after this ISO-8601 instant")
+    @QueryParam("createdAfter")
+    private String createdAfter;
+
+    @ApiParam("only return instances created before this ISO-8601 instant")
+    @QueryParam("createdBefore")
+    private String createdBefore;
+
+    @ApiParam("only return instances with the given property value, as name=value, may be repeated")
+    @QueryParam("property")
+    private List<String> properties;
+
+    public InstanceListParameters() {
+    }
+
+    InstanceListParameters(final Integer limit, final Long after, final String createdAfter,
+                           final String createdBefore, final List<String> properties) {
+        this.limit = limit;
+        this.after = after;
+        this.createdAfter = createdAfter;
+        this.createdBefore = createdBefore;
+        this.properties = properties;
+    }
+
+    /**
+     * @return the filter of a listing that does not support filtering by state or property
+     */
+    public InstanceFilter toFilter() {
+        if (this.properties != null && !this.properties.isEmpty()) {
+            throw new BadRequestException("This listing can not be filtered by property");
+        }
+        return toFilter(null);
+    }
+
+    public InstanceFilter toFilter(final Collection<?> states) {
+        // a page needs at least one instance, otherwise it has no cursor for the next link
+        if (this.limit != null && this.limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        return new InstanceFilter(this.after, this.limit, states, parse("createdAfter", this.createdAfter),
+            parse("createdBefore", this.createdBefore), parseProperties(this.properties));
+    }
+
+    private static Map<String, String> parseProperties(final List<String> values) {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        if (values == null) {
+            return properties;
+        }
+        for (final String value : values) {
+            final int separator = value.indexOf('=');
+            if (separator < 1) {
+                throw new BadRequestException("property must be given as name=value");
+            }
+            properties.put(value.substring(0, separator), value.substring(separator + 1));
+        }
+        return properties;
+    }
+
+    private static Date parse(final String name, final String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Date.from(Instant.parse(value));
+        } catch (final DateTimeParseException e) {
+            throw new BadRequestException(name + " must be an ISO-8601 instant, e.g. 2020-01-31T12:00:00Z");
+        }
+    }
+}
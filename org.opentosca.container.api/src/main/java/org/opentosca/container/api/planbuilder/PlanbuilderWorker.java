@@ -6,7 +6,6 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.nio.file.Path;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +21,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.EntityBuilder;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.ContentBody;
@@ -83,57 +83,13 @@ public class PlanbuilderWorker {
         LOG.debug("Downloading CSAR " + state.getCsarUrl());
 
         try {
-            final HttpResponse csarResponse = httpService.Get(state.getCsarUrl().toString(), Collections.singletonMap("Accept", "application/zip"));
-            final InputStream csarInputStream = csarResponse.getEntity().getContent();
-
-            if (csarInputStream == null) {
-                state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
-                state.currentMessage = "Couldn't download CSAR";
-                LOG.error("Couldn't download CSAR");
-                return;
-            }
-
-            String fileName = null;
-            for (final org.apache.http.Header header : csarResponse.getAllHeaders()) {
-                if (!header.getName().contains("Content-Disposition")) {
-                    continue;
-                }
-                for (final HeaderElement elem : header.getElements()) {
-                    if (!elem.getName().equals("attachment")) {
-                        continue;
-                    }
-                    for (final NameValuePair nameValuePair : elem.getParameters()) {
-                        if (nameValuePair.getName().equals("filename")) {
-                            fileName = nameValuePair.getValue();
-                        }
-                    }
-                }
-            }
-
-            if (fileName == null) {
-                // robustness hack (*g*)
-                fileName = state.getCsarUrl().toString().replace("?csar", "");
-                if (fileName.endsWith("/")) {
-                    fileName = fileName.substring(0, fileName.length() - 1);
-                }
-                fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
-            }
-
-            state.currentState = PlanGenerationStates.CSARDOWNLOADED;
-            state.currentMessage = "Downloaded CSAR";
-            LOG.debug("CSAR download finished");
-
-            if (fileName == null) {
-                LOG.debug("CSAR Filename couldn't be determined");
-                state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
-                state.currentMessage = "CSAR Filename couldn't be determined";
+            final HttpGet request = new HttpGet(state.getCsarUrl().toString());
+            request.addHeader("Accept", "application/zip");
+            // the CSAR is streamed into the temporary storage instead of being buffered in memory
+            final Path tempCsarLocation = httpService.execute(request, this::storeCsar);
+            if (tempCsarLocation == null) {
                 return;
             }
-
-            fileName = fileName.replace(".csar", "") + ".planbuilder" + System.currentTimeMillis() + ".csar";
-            // generate plan (assumption: the send csar contains only one topologytemplate => only one buildPlan will be generated)
-            LOG.debug("Storing CSAR");
-            Path tempCsarLocation = csarStorage.storeCSARTemporarily(fileName, csarInputStream);
         } catch (final IOException e) {
             state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
             state.currentMessage = "Couldn't download CSAR";
@@ -319,6 +275,64 @@ public class PlanbuilderWorker {
         forceDelete(csarId);
     }
 
+    /**
+     * Stores the downloaded CSAR temporarily, while its response is still open.
+     *
+     * @return the temporary location of the CSAR, or <code>null</code> if it could not be downloaded
+     */
+    private Path storeCsar(final HttpResponse csarResponse) throws IOException {
+        final InputStream csarInputStream = csarResponse.getEntity().getContent();
+
+        if (csarInputStream == null) {
+            state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
+            state.currentMessage = "Couldn't download CSAR";
+            LOG.error("Couldn't download CSAR");
+            return null;
+        }
+
+        String fileName = null;
+        for (final org.apache.http.Header header : csarResponse.getAllHeaders()) {
+            if (!header.getName().contains("Content-Disposition")) {
+                continue;
+            }
+            for (final HeaderElement elem : header.getElements()) {
+                if (!elem.getName().equals("attachment")) {
+                    continue;
+                }
+                for (final NameValuePair nameValuePair : elem.getParameters()) {
+                    if (nameValuePair.getName().equals("filename")) {
+                        fileName = nameValuePair.getValue();
+                    }
+                }
+            }
+        }
+
+        if (fileName == null) {
+            // robustness hack (*g*)
+            fileName = state.getCsarUrl().toString().replace("?csar", "");
+            if (fileName.endsWith("/")) {
+                fileName = fileName.substring(0, fileName.length() - 1);
+            }
+            fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+        }
+
+        state.currentState = PlanGenerationStates.CSARDOWNLOADED;
+        state.currentMessage = "Downloaded CSAR";
+        LOG.debug("CSAR download finished");
+
+        if (fileName == null) {
+            LOG.debug("CSAR Filename couldn't be determined");
+            state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
+            state.currentMessage = "CSAR Filename couldn't be determined";
+            return null;
+        }
+
+        fileName = fileName.replace(".csar", "") + ".planbuilder" + System.currentTimeMillis() + ".csar";
+        // generate plan (assumption: the send csar contains only one topologytemplate => only one buildPlan will be generated)
+        LOG.debug("Storing CSAR");
+        return csarStorage.storeCSARTemporarily(fileName, csarInputStream);
+    }
+
     private void forceDelete(CsarId csarId) {
         try {
             csarStorage.deleteCSAR(csarId);
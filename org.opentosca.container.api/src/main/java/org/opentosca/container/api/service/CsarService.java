@@ -4,26 +4,28 @@ import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
 
-import org.eclipse.winery.repository.backend.filebased.FileUtils;
-
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
-import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.service.CsarStorageService;
+import org.opentosca.planbuilder.core.bpel.typebasedplanbuilder.BPELBuildProcessBuilder;
 import org.opentosca.planbuilder.core.csarhandler.CSARHandler;
+import org.opentosca.planbuilder.core.plugins.typebased.IPlanBuilderPlugin;
 import org.opentosca.planbuilder.export.Exporter;
 import org.opentosca.planbuilder.export.Exporter.PlanExportResult;
 import org.opentosca.planbuilder.importer.Importer;
 import org.opentosca.planbuilder.model.plan.AbstractPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -47,44 +49,77 @@ public class CsarService {
     // FIXME remove this as soon as planbuilder works off new csar model
     private final CSARHandler planbuilderStorage = new CSARHandler();
 
+    private final PlanGenerationCache planCache;
+
     @Inject
-    public CsarService(CsarStorageService storage, Exporter planBuilderExporter, Importer planBuilderImporter) {
+    public CsarService(CsarStorageService storage, Exporter planBuilderExporter, Importer planBuilderImporter,
+                       @Autowired(required = false) Collection<IPlanBuilderPlugin> planBuilderPlugins) {
         this.storage = storage;
         this.planBuilderExporter = planBuilderExporter;
         this.planBuilderImporter = planBuilderImporter;
+
+        // the generated plans depend on the plan builder and all of its plugins
+        final List<Class<?>> planBuilderClasses = Lists.newArrayList(Importer.class, Exporter.class,
+            CSARHandler.class, AbstractPlan.class, BPELBuildProcessBuilder.class);
+        if (planBuilderPlugins != null) {
+            planBuilderPlugins.forEach(plugin -> planBuilderClasses.add(plugin.getClass()));
+        }
+        this.planCache = new PlanGenerationCache(planBuilderClasses);
     }
 
     /**
-     * Checks whether the plan builder should generate a build plans.
+     * Generates the build plans for an uploaded CSAR before it is imported, so that the CSAR is imported only once
+     * instead of being imported, exported for the plan builder and imported again with the plans. If the same CSAR was
+     * planned before, the cached result is used without generating the plans again.
      *
-     * @param csar the {@link Csar} to generate build plans for
-     * @return true for success or false for failure
+     * @param csarFile the uploaded CSAR, its file name is the name of the CSAR
+     * @return the CSAR to import, i.e. the given file if no plans were generated or a repackaged CSAR with the same
+     * file name containing the plans, empty if planning failed
      */
-    public boolean generatePlans(final Csar csar) throws SystemException, UserException {
-        Optional<Path> zipFile = safeExport(csar);
-        if (!zipFile.isPresent()) {
-            return false;
+    public Optional<Path> generatePlans(final Path csarFile) {
+        final CSARID csarId = new CSARID(csarFile.getFileName().toString());
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Optional<String> fingerprint = planCache.fingerprint(csarFile);
+        final Optional<Path> cached = fingerprint.flatMap(key -> planCache.get(key, csarId.getFileName()));
+        if (cached.isPresent()) {
+            logger.info("Reusing cached plans for CSAR [{}], lookup took {} ms", csarId.getFileName(),
+                stopwatch.elapsed(TimeUnit.MILLISECONDS));
+            return cached;
         }
-
         try {
-            planbuilderStorage.storeCSAR(zipFile.get().toFile());
-            final List<AbstractPlan> buildPlans = planBuilderImporter.generatePlans(csar.id().toOldCsarId());
+            if (planbuilderStorage.storeCSAR(csarFile.toFile()) == null) {
+                return Optional.empty();
+            }
+            final long unpacked = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+            final List<AbstractPlan> buildPlans = planBuilderImporter.generatePlans(csarId);
+            final long planned = stopwatch.elapsed(TimeUnit.MILLISECONDS);
             // no plans, save ourselves some work by returning early
             if (buildPlans.isEmpty()) {
-                return true;
+                logger.info("Planning CSAR [{}] took {} ms (unpacking {} ms), no plans were generated",
+                    csarId.getFileName(), planned, unpacked);
+                return Optional.of(csarFile);
             }
 
-            final Path file = planBuilderExporter.exportToCSAR(buildPlans, csar.id().toOldCsarId()).csarFile;
-            // reimport CSAR after generating plans
-            storage.deleteCSAR(csar.id());
-            storage.storeCSAR(file);
-            return true;
+            final PlanExportResult result = planBuilderExporter.exportToCSAR(buildPlans, csarId);
+            if (result == null) {
+                return Optional.empty();
+            }
+            final long exported = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+            logger.info("Planning CSAR [{}] took {} ms (unpacking {} ms, generating {} plans {} ms, repackaging {} ms)",
+                csarId.getFileName(), exported, unpacked, buildPlans.size(), planned - unpacked, exported - planned);
+            fingerprint.ifPresent(key -> planCache.put(key, result.csarFile));
+            return Optional.of(result.csarFile);
         } catch (UserException | SystemException e) {
-            logger.warn("Reimport of Csar after building plans failed with an exception", e);
+            logger.warn("Generating plans for CSAR [{}] failed with an exception", csarId.getFileName(), e);
+            return Optional.empty();
         } finally {
-            planbuilderStorage.deleteCSAR(csar.id().toOldCsarId());
+            try {
+                planbuilderStorage.deleteCSAR(csarId);
+            } catch (UserException | SystemException e) {
+                logger.warn("Failed to delete CSAR [{}] from the plan builder storage", csarId.getFileName(), e);
+            }
         }
-        return false;
     }
 
     public AdaptationPlanGenerationResult generateAdaptationPlan(final CsarId csarId, QName serviceTemplateId, Collection<String> sourceNodeTemplateIds, Collection<String> sourceRelationshipTemplateIds, Collection<String> targetNodeTemplateId, Collection<String> targetRelationshipTemplateId) {
@@ -132,16 +167,4 @@ public class CsarService {
         }
         return null;
     }
-
-    private Optional<Path> safeExport(Csar csar) {
-        Optional<Path> zipFile = Optional.empty();
-        try {
-            zipFile = Optional.of(storage.exportCSAR(csar.id()));
-        } catch (UserException | SystemException e) {
-            logger.info("Exporting the Csar that is to be planned failed with an exception", e);
-            zipFile.ifPresent(FileUtils::forceDelete);
-            return Optional.empty();
-        }
-        return zipFile;
-    }
 }
@@ -1,6 +1,7 @@
 package org.opentosca.container.api.service;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -9,9 +10,6 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.winery.model.tosca.TNodeTemplate;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
@@ -24,6 +22,7 @@ import org.opentosca.container.core.common.jpa.DocumentConverter;
 import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
@@ -36,11 +35,13 @@ import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTrigger;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
 import org.opentosca.container.core.next.model.SituationTriggerProperty;
 import org.opentosca.container.core.next.model.SituationsMonitor;
+import org.opentosca.container.core.next.repository.InstanceFilter;
 import org.opentosca.container.core.next.repository.NodeTemplateInstanceRepository;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.repository.RelationshipTemplateInstanceRepository;
@@ -49,6 +50,7 @@ import org.opentosca.container.core.next.repository.SituationRepository;
 import org.opentosca.container.core.next.repository.SituationTriggerInstanceRepository;
 import org.opentosca.container.core.next.repository.SituationTriggerRepository;
 import org.opentosca.container.core.next.repository.SituationsMonitorRepository;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,11 +126,29 @@ public class InstanceService {
         return this.serviceTemplateInstanceRepository.findByTemplateId(serviceTemplate);
     }
 
+    public List<ServiceTemplateInstanceSummary> getServiceTemplateInstanceSummaries(final String serviceTemplate,
+                                                                                 final InstanceFilter filter) {
+        logger.debug("Requesting page of instance summaries of ServiceTemplate \"{}\"...", serviceTemplate);
+        return this.serviceTemplateInstanceRepository.findSummaries(serviceTemplate, filter);
+    }
+
+    public ServiceTemplateInstanceSummary getServiceTemplateInstanceSummary(final Long id) {
+        logger.debug("Requesting summary of service template instance <{}>...", id);
+        return this.serviceTemplateInstanceRepository.findSummaryById(id)
+            .orElseThrow(() -> new NotFoundException("Service Template Instance <" + id + "> not found."));
+    }
+
+    /**
+     * Loads a service template instance with its properties, but without its node, relationship and plan instances.
+     */
+    private ServiceTemplateInstance getServiceTemplateInstanceWithProperties(final Long id) {
+        return this.serviceTemplateInstanceRepository.findWithProperties(id)
+            .orElseThrow(() -> new NotFoundException("Service Template Instance <" + id + "> not found."));
+    }
+
     public ServiceTemplateInstance getServiceTemplateInstanceByCorrelationId(String correlationId) {
-        return this.serviceTemplateInstanceRepository.findAll().stream()
-            .filter(s -> s.getPlanInstances().stream()
-                .anyMatch(p -> p.getCorrelationId().equals(correlationId)))
-            .findFirst().get();
+        return this.serviceTemplateInstanceRepository.findByPlanCorrelationId(correlationId)
+            .orElseThrow(() -> new NotFoundException("No Service Template Instance owns a plan instance with correlation id <" + correlationId + ">."));
     }
 
     public ServiceTemplateInstance getServiceTemplateInstance(final Long id, final boolean evaluatePropertyMappings) {
@@ -151,9 +171,8 @@ public class InstanceService {
     }
 
     public ServiceTemplateInstanceState getServiceTemplateInstanceState(final Long id) {
-        final ServiceTemplateInstance service = getServiceTemplateInstance(id, false);
-
-        return service.getState();
+        return this.serviceTemplateInstanceRepository.findStateById(id)
+            .orElseThrow(() -> new NotFoundException("Service Template Instance <" + id + "> not found."));
     }
 
     public void setServiceTemplateInstanceState(final Long id, final String state) throws NotFoundException,
@@ -169,13 +188,16 @@ public class InstanceService {
             throw new IllegalArgumentException(msg, e);
         }
 
-        final ServiceTemplateInstance service = getServiceTemplateInstance(id, false);
-        service.setState(newState);
-        this.serviceTemplateInstanceRepository.update(service);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final ServiceTemplateInstance service = getServiceTemplateInstanceWithProperties(id);
+            service.setState(newState);
+            this.serviceTemplateInstanceRepository.update(service);
+            uow.commit();
+        }
     }
 
     public Document getServiceTemplateInstanceRawProperties(final Long id) throws NotFoundException {
-        final ServiceTemplateInstance service = getServiceTemplateInstance(id, false);
+        final ServiceTemplateInstance service = getServiceTemplateInstanceWithProperties(id);
         final Optional<ServiceTemplateInstanceProperty> firstProp = service.getProperties().stream().findFirst();
 
         if (firstProp.isPresent()) {
@@ -190,13 +212,13 @@ public class InstanceService {
 
     public void setServiceTemplateInstanceProperties(final Long id,
                                                      final Document properties) throws ReflectiveOperationException {
-        final ServiceTemplateInstance service = getServiceTemplateInstance(id, false);
-
-        try {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final ServiceTemplateInstance service = getServiceTemplateInstanceWithProperties(id);
             final ServiceTemplateInstanceProperty property =
                 this.convertDocumentToProperty(properties, ServiceTemplateInstanceProperty.class);
             service.addProperty(property);
             this.serviceTemplateInstanceRepository.update(service);
+            uow.commit();
         } catch (InstantiationException | IllegalAccessException e) { // This is not supposed to happen at all!
             final String msg = String.format("An error occurred while instantiating an instance of the %s class.",
                 ServiceTemplateInstanceProperty.class);
@@ -206,9 +228,12 @@ public class InstanceService {
     }
 
     public void deleteServiceTemplateInstance(final Long instanceId) {
-        // throws exception if not found
-        final ServiceTemplateInstance instance = getServiceTemplateInstance(instanceId, false);
-        this.serviceTemplateInstanceRepository.remove(instance);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // throws exception if not found
+            final ServiceTemplateInstance instance = getServiceTemplateInstance(instanceId, false);
+            this.serviceTemplateInstanceRepository.remove(instance);
+            uow.commit();
+        }
     }
 
     public ServiceTemplateInstance createServiceTemplateInstance(final String csarId, final String serviceTemplateName,
@@ -259,8 +284,11 @@ public class InstanceService {
         instance.addProperty(property);
         instance.addPlanInstance(buildPlanInstance);
         instance.setCreationCorrelationId(buildPlanInstance.getCorrelationId());
-        this.serviceTemplateInstanceRepository.add(instance);
-        new PlanInstanceRepository().update(buildPlanInstance);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            this.serviceTemplateInstanceRepository.add(instance);
+            new PlanInstanceRepository().update(buildPlanInstance);
+            uow.commit();
+        }
 
         return instance;
     }
@@ -277,24 +305,14 @@ public class InstanceService {
 
         logger.debug("No Properties found in BoundaryDefinitions for ST {} thus creating blank ones",
             serviceTemplateId);
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        DocumentBuilder db;
-        try {
-            db = dbf.newDocumentBuilder();
-            final Document doc = db.newDocument();
-            final Element createElementNS =
-                doc.createElementNS("http://docs.oasis-open.org/tosca/ns/2011/12", "Properties");
-            createElementNS.setAttribute("xmlns:tosca", "http://docs.oasis-open.org/tosca/ns/2011/12");
-            createElementNS.setPrefix("tosca");
-            doc.appendChild(createElementNS);
-
-            return doc;
-        } catch (final ParserConfigurationException e) {
-            logger.info("Cannot create a new DocumentBuilder: {}", e.getMessage());
-        }
+        final Document doc = XmlSupport.newDocument();
+        final Element createElementNS =
+            doc.createElementNS("http://docs.oasis-open.org/tosca/ns/2011/12", "Properties");
+        createElementNS.setAttribute("xmlns:tosca", "http://docs.oasis-open.org/tosca/ns/2011/12");
+        createElementNS.setPrefix("tosca");
+        doc.appendChild(createElementNS);
 
-        return null; // this should never happen
+        return doc;
     }
 
     /* Node Template Instances */
@@ -303,6 +321,15 @@ public class InstanceService {
         return this.nodeTemplateInstanceRepository.findByTemplateId(nodeTemplateName);
     }
 
+    public List<NodeTemplateInstance> getNodeTemplateInstances(final String serviceTemplate, final String nodeTemplate,
+                                                               final Long serviceInstanceId,
+                                                               final Collection<Long> outgoingRelationIds,
+                                                               final InstanceFilter filter) {
+        logger.debug("Requesting page of instances of NodeTemplate \"{}\"...", nodeTemplate);
+        return this.nodeTemplateInstanceRepository.findPage(serviceTemplate, nodeTemplate, serviceInstanceId,
+            outgoingRelationIds, filter);
+    }
+
     public Collection<NodeTemplateInstance> getAllNodeTemplateInstances() {
         logger.debug("Requesting all NodeTemplate instances");
         return this.nodeTemplateInstanceRepository.findAll();
@@ -354,9 +381,12 @@ public class InstanceService {
             throw new IllegalArgumentException(msg, e);
         }
 
-        final NodeTemplateInstance node = resolveNodeTemplateInstance(serviceTemplateName, nodeTemplateId, id);
-        node.setState(newState);
-        this.nodeTemplateInstanceRepository.update(node);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final NodeTemplateInstance node = resolveNodeTemplateInstance(serviceTemplateName, nodeTemplateId, id);
+            node.setState(newState);
+            this.nodeTemplateInstanceRepository.update(node);
+            uow.commit();
+        }
     }
 
     public Document getNodeTemplateInstanceProperties(final String serviceTemplateQName, final String nodeTemplateId,
@@ -376,13 +406,13 @@ public class InstanceService {
     public void setNodeTemplateInstanceProperties(final String serviceTemplateQName, final String nodeTemplateId,
                                                   final Long id,
                                                   final Document properties) throws ReflectiveOperationException {
-        final NodeTemplateInstance node = resolveNodeTemplateInstance(serviceTemplateQName, nodeTemplateId, id);
-
-        try {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final NodeTemplateInstance node = resolveNodeTemplateInstance(serviceTemplateQName, nodeTemplateId, id);
             final NodeTemplateInstanceProperty property =
                 this.convertDocumentToProperty(properties, NodeTemplateInstanceProperty.class);
             node.addProperty(property);
             this.nodeTemplateInstanceRepository.update(node);
+            uow.commit();
         } catch (InstantiationException | IllegalAccessException e) { // This is not supposed to happen at all!
             final String msg = String.format("An error occurred while instantiating an instance of the %s class.",
                 NodeTemplateInstanceProperty.class);
@@ -423,30 +453,36 @@ public class InstanceService {
         newInstance.setTemplateId(nodeTemplate.getIdFromIdOrNameField());
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getNodeType()));
-        // ServiceTemplateInstance
-        final ServiceTemplateInstance serviceTemplateInstance = getServiceTemplateInstance(serviceTemplateInstanceId, false);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // ServiceTemplateInstance
+            final ServiceTemplateInstance serviceTemplateInstance = getServiceTemplateInstance(serviceTemplateInstanceId, false);
+
+            // only compare the local Id, because ServiceTemplateInstance does not keep the
+            // fully namespaced QName as the parent Id (which sucks, but it is what it is for now)
+            if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplate.getIdFromIdOrNameField())) {
+                final String msg =
+                    String.format("Service template instance id <%s> does not belong to service template: %s",
+                        serviceTemplateInstanceId, serviceTemplate.getName());
+                logger.debug(msg);
+                throw new IllegalArgumentException(msg);
+            }
+            newInstance.setServiceTemplateInstance(serviceTemplateInstance);
 
-        // only compare the local Id, because ServiceTemplateInstance does not keep the
-        // fully namespaced QName as the parent Id (which sucks, but it is what it is for now)
-        if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplate.getIdFromIdOrNameField())) {
-            final String msg =
-                String.format("Service template instance id <%s> does not belong to service template: %s",
-                    serviceTemplateInstanceId, serviceTemplate.getName());
-            logger.debug(msg);
-            throw new IllegalArgumentException(msg);
+            this.nodeTemplateInstanceRepository.add(newInstance);
+            uow.commit();
         }
-        newInstance.setServiceTemplateInstance(serviceTemplateInstance);
-
-        this.nodeTemplateInstanceRepository.add(newInstance);
 
         return newInstance;
     }
 
     public void deleteNodeTemplateInstance(final String serviceTemplateQName, final String nodeTemplateId,
                                            final Long id) {
-        // throws exception if not found
-        final NodeTemplateInstance instance = resolveNodeTemplateInstance(serviceTemplateQName, nodeTemplateId, id);
-        this.nodeTemplateInstanceRepository.remove(instance);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // throws exception if not found
+            final NodeTemplateInstance instance = resolveNodeTemplateInstance(serviceTemplateQName, nodeTemplateId, id);
+            this.nodeTemplateInstanceRepository.remove(instance);
+            uow.commit();
+        }
     }
 
     /* Relationship Template Instances */
@@ -455,6 +491,16 @@ public class InstanceService {
         return this.relationshipTemplateInstanceRepository.findByTemplateId(relationshipTemplateQName);
     }
 
+    public List<RelationshipTemplateInstance> getRelationshipTemplateInstances(final String serviceTemplate,
+                                                                               final String relationshipTemplate,
+                                                                               final Long serviceInstanceId,
+                                                                               final Long targetId,
+                                                                               final InstanceFilter filter) {
+        logger.debug("Requesting page of instances of RelationshipTemplate \"{}\"...", relationshipTemplate);
+        return this.relationshipTemplateInstanceRepository.findPage(serviceTemplate, relationshipTemplate,
+            serviceInstanceId, targetId, filter);
+    }
+
     /**
      * Gets a reference to the relationship template instance. Ensures that the instance actually belongs to the
      * relationship template.
@@ -512,10 +558,13 @@ public class InstanceService {
             throw new IllegalArgumentException(msg, e);
         }
 
-        final RelationshipTemplateInstance relationship =
-            resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, id);
-        relationship.setState(newState);
-        this.relationshipTemplateInstanceRepository.update(relationship);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final RelationshipTemplateInstance relationship =
+                resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, id);
+            relationship.setState(newState);
+            this.relationshipTemplateInstanceRepository.update(relationship);
+            uow.commit();
+        }
     }
 
     public Document getRelationshipTemplateInstanceProperties(final String serviceTemplateQName,
@@ -539,14 +588,14 @@ public class InstanceService {
     public void setRelationshipTemplateInstanceProperties(final String serviceTemplateQName,
                                                           final String relationshipTemplateId, final Long id,
                                                           final Document properties) throws ReflectiveOperationException {
-        final RelationshipTemplateInstance relationship =
-            resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, id);
-
-        try {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final RelationshipTemplateInstance relationship =
+                resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, id);
             final RelationshipTemplateInstanceProperty property =
                 this.convertDocumentToProperty(properties, RelationshipTemplateInstanceProperty.class);
             relationship.addProperty(property);
             this.relationshipTemplateInstanceRepository.update(relationship);
+            uow.commit();
         } catch (InstantiationException | IllegalAccessException e) { // This is not supposed to happen at all!
             final String msg = String.format("An error occurred while instantiating an instance of the %s class.",
                 RelationshipTemplateInstanceProperty.class);
@@ -591,23 +640,29 @@ public class InstanceService {
         newInstance.setTemplateId(relationshipTemplateId);
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getRelationshipType()));
-        // Source node instance
-        newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
-        // Target node instance
-        newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
-        newInstance.setServiceTemplateInstance(serviceTemplateInstanceRepository.find(request.getServiceInstanceId()).get());
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // Source node instance
+            newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
+            // Target node instance
+            newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
+            newInstance.setServiceTemplateInstance(serviceTemplateInstanceRepository.find(request.getServiceInstanceId()).get());
 
-        this.relationshipTemplateInstanceRepository.add(newInstance);
+            this.relationshipTemplateInstanceRepository.add(newInstance);
+            uow.commit();
+        }
 
         return newInstance;
     }
 
     public void deleteRelationshipTemplateInstance(final String serviceTemplateQName,
                                                    final String relationshipTemplateId, final Long instanceId) {
-        // throws exception if not found
-        final RelationshipTemplateInstance instance =
-            resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, instanceId);
-        this.relationshipTemplateInstanceRepository.remove(instance);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // throws exception if not found
+            final RelationshipTemplateInstance instance =
+                resolveRelationshipTemplateInstance(serviceTemplateQName, relationshipTemplateId, instanceId);
+            this.relationshipTemplateInstanceRepository.remove(instance);
+            uow.commit();
+        }
     }
 
     /* Situations */
@@ -638,6 +693,10 @@ public class InstanceService {
         return this.sitRepo.findAll();
     }
 
+    public List<Situation> getSituations(final InstanceFilter filter) {
+        return this.sitRepo.findPage(filter);
+    }
+
     public boolean removeSituation(final Long situationId) {
         if (this.sitTrig.findSituationTriggersBySituationId(situationId).isEmpty()) {
             this.sitRepo.find(situationId).ifPresent(x -> this.sitRepo.remove(x));
@@ -650,6 +709,10 @@ public class InstanceService {
         return this.sitTrig.findAll();
     }
 
+    public List<SituationTrigger> getSituationTriggers(final InstanceFilter filter) {
+        return this.sitTrig.findPage(filter);
+    }
+
     public Collection<SituationTrigger> getSituationTriggers(final Situation situation) {
         return this.sitTrig.findSituationTriggersBySituationId(situation.getId());
     }
@@ -0,0 +1,223 @@
+package org.opentosca.container.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.impl.service.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of CSARs that were repackaged with their generated plans, keyed by a fingerprint of the uploaded CSAR.
+ * <p>
+ * The fingerprint covers the names and contents of all files in the CSAR, but no zip metadata, so a CSAR that is zipped
+ * again and uploaded, e.g. after it was deleted, hits the cache. As the generated plans contain the name of the CSAR and
+ * the endpoints of the container, both are part of the fingerprint. The cache keeps a configurable number of entries
+ * and drops the least recently used ones first.
+ * <p>
+ * The plans generated for a CSAR change with the plan builder, so the fingerprint also covers a build identifier
+ * derived from the contents of the jars the plan builder and its plugins are loaded from. Entries of other builds are
+ * never hit and age out of the cache. If the build identifier can not be determined, the cache is disabled.
+ * <p>
+ * Serving the plans of a CSAR that was uploaded under another file name is out of scope: the plans would have to be
+ * rewritten to the new name, so such a CSAR is a cache miss and its plans are generated again.
+ */
+final class PlanGenerationCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlanGenerationCache.class);
+
+    private static final Path CACHE_DIRECTORY =
+        Paths.get(Settings.getSetting("org.opentosca.container.planbuilder.cache.directory",
+            Paths.get(System.getProperty("java.io.tmpdir"), "opentosca", "container", "plan-cache").toString()));
+    private static final int CACHE_SIZE =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.planbuilder.cache.size", "32"));
+
+    private static final String ENTRY_SUFFIX = ".csar";
+    private static final String PARTIAL_SUFFIX = ".partial";
+
+    private final Path directory;
+    private final int size;
+    private final String buildIdentifier;
+
+    /**
+     * @param planBuilderClasses classes of the plan builder and its plugins, whose jars identify the build
+     */
+    PlanGenerationCache(final Collection<Class<?>> planBuilderClasses) {
+        this(CACHE_DIRECTORY, CACHE_SIZE, codeLocations(planBuilderClasses).flatMap(PlanGenerationCache::buildIdentifier).orElse(null));
+        if (this.buildIdentifier == null && this.size > 0) {
+            LOG.warn("Unable to identify the build of the plan builder, generated plans are not cached");
+        }
+    }
+
+    PlanGenerationCache(final Path directory, final int size, final String buildIdentifier) {
+        this.directory = directory;
+        this.size = size;
+        this.buildIdentifier = buildIdentifier;
+    }
+
+    /**
+     * @return the fingerprint of the given CSAR, empty if the cache is disabled or the CSAR can not be read
+     */
+    Optional<String> fingerprint(final Path csarFile) {
+        if (this.size < 1 || this.buildIdentifier == null) {
+            return Optional.empty();
+        }
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(this.buildIdentifier, StandardCharsets.UTF_8);
+        hasher.putString(csarFile.getFileName().toString(), StandardCharsets.UTF_8);
+        hasher.putString(Settings.CONTAINER_API, StandardCharsets.UTF_8);
+        try (ZipFile zip = new ZipFile(csarFile.toFile())) {
+            final List<? extends ZipEntry> entries = Collections.list(zip.entries()).stream()
+                .filter(entry -> !entry.isDirectory())
+                .sorted(Comparator.comparing(ZipEntry::getName))
+                .collect(Collectors.toList());
+            for (final ZipEntry entry : entries) {
+                hasher.putString(entry.getName(), StandardCharsets.UTF_8);
+                try (InputStream content = zip.getInputStream(entry)) {
+                    hasher.putLong(ByteStreams.copy(content, Funnels.asOutputStream(hasher)));
+                }
+            }
+        } catch (final IOException e) {
+            LOG.debug("Unable to fingerprint CSAR {}: {}", csarFile, e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(hasher.hash().toString());
+    }
+
+    /**
+     * @return a copy of the cached CSAR with the given fingerprint, named as given and placed in a new temporary
+     * directory, empty if there is none
+     */
+    synchronized Optional<Path> get(final String fingerprint, final String csarName) {
+        final Path entry = entry(fingerprint);
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+        final Path copy = FileSystem.getTemporaryFolder().resolve(csarName);
+        try {
+            Files.copy(entry, copy);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(copy);
+        } catch (final IOException e) {
+            LOG.warn("Unable to read cached plans of CSAR [{}]", csarName, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a copy of the given CSAR with generated plans under the given fingerprint.
+     */
+    synchronized void put(final String fingerprint, final Path plannedCsar) {
+        final Path entry = entry(fingerprint);
+        try {
+            Files.createDirectories(this.directory);
+            final Path partial = this.directory.resolve(fingerprint + PARTIAL_SUFFIX);
+            Files.copy(plannedCsar, partial, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(partial, entry, StandardCopyOption.REPLACE_EXISTING);
+            evict();
+        } catch (final IOException e) {
+            LOG.warn("Unable to cache plans of CSAR [{}]", plannedCsar.getFileName(), e);
+        }
+    }
+
+    /**
+     * @return the jars or class directories the given classes are loaded from, empty if any of them is unknown
+     */
+    static Optional<SortedSet<Path>> codeLocations(final Collection<Class<?>> classes) {
+        final SortedSet<Path> locations = new TreeSet<>();
+        for (final Class<?> type : classes) {
+            final CodeSource source = type.getProtectionDomain().getCodeSource();
+            if (source == null || source.getLocation() == null) {
+                return Optional.empty();
+            }
+            try {
+                locations.add(Paths.get(source.getLocation().toURI()));
+            } catch (final URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+                LOG.debug("Unable to locate the code of {}: {}", type.getName(), e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(locations);
+    }
+
+    /**
+     * @return a hash of the contents of the given jars or class directories, but not of their paths, so the same build
+     * deployed elsewhere has the same identifier. Empty if no locations are given or they can not be read.
+     */
+    static Optional<String> buildIdentifier(final SortedSet<Path> locations) {
+        if (locations.isEmpty()) {
+            return Optional.empty();
+        }
+        final Hasher hasher = Hashing.sha256().newHasher();
+        try {
+            for (final Path location : locations) {
+                if (Files.isDirectory(location)) {
+                    final List<Path> files;
+                    try (Stream<Path> walk = Files.walk(location)) {
+                        files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                    }
+                    for (final Path file : files) {
+                        hasher.putString(location.relativize(file).toString(), StandardCharsets.UTF_8);
+                        hasher.putLong(Files.copy(file, Funnels.asOutputStream(hasher)));
+                    }
+                } else {
+                    hasher.putLong(Files.copy(location, Funnels.asOutputStream(hasher)));
+                }
+            }
+        } catch (final IOException e) {
+            LOG.debug("Unable to read the plan builder code: {}", e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.of(hasher.hash().toString());
+    }
+
+    private Path entry(final String fingerprint) {
+        return this.directory.resolve(fingerprint + ENTRY_SUFFIX);
+    }
+
+    private void evict() throws IOException {
+        final List<Path> entries;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                .sorted(Comparator.comparingLong(PlanGenerationCache::lastModified).reversed())
+                .collect(Collectors.toList());
+        }
+        for (final Path evicted : entries.subList(Math.min(this.size, entries.size()), entries.size())) {
+            LOG.debug("Evicting cached plans {}", evicted.getFileName());
+            Files.deleteIfExists(evicted);
+        }
+    }
+
+    private static long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            return 0;
+        }
+    }
+}
@@ -8,10 +8,8 @@ import java.util.Objects;
 import java.util.Optional;
 
 import javax.ws.rs.NotFoundException;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.winery.model.tosca.TBoundaryDefinitions;
 import org.eclipse.winery.model.tosca.TNodeTemplate;
@@ -24,6 +22,7 @@ import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -137,8 +136,7 @@ public class PropertyMappingsHelper {
     private List<Element> queryElementList(final Element node, final String xpathQuery) {
         final List<Element> elements = new ArrayList<>();
         try {
-            final XPath xPath = XPathFactory.newInstance().newXPath();
-            final NodeList nodes = (NodeList) xPath.evaluate(xpathQuery, node, XPathConstants.NODESET);
+            final NodeList nodes = (NodeList) XmlSupport.evaluate(xpathQuery, node, XPathConstants.NODESET);
             for (int index = 0; index < nodes.getLength(); index++) {
                 if (nodes.item(index).getNodeType() == Node.ELEMENT_NODE) {
                     elements.add((Element) nodes.item(index));
@@ -0,0 +1,116 @@
+package org.opentosca.container.api.util;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.opentosca.container.api.config.ObjectMapperProvider;
+import org.opentosca.container.api.dto.ResourceSupport;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.uri.UriUtil;
+import org.opentosca.container.core.next.repository.InstanceFilter;
+
+/**
+ * Reads an instance listing in keyset pages.
+ * <p>
+ * A listing is either returned as a single page ({@link #page(ResourceSupport)}) or written as JSON while it is read
+ * from the database ({@link #stream(String, Function)}), so that large listings never have to be held in memory at
+ * once. If the filter sets a limit and more instances are available, a {@code next} link with the cursor of the
+ * following page is added.
+ */
+public class InstanceListing<T> {
+
+    private static final int CHUNK_SIZE =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.api.listing.chunk.size", "500"));
+
+    private final UriInfo uriInfo;
+    private final InstanceFilter filter;
+    private final Function<InstanceFilter, List<T>> pageLoader;
+    private final Function<T, Long> idOf;
+
+    /**
+     * @param pageLoader loads the instances matching the given filter, ordered by id
+     * @param idOf       the id of an instance, used as cursor
+     */
+    public InstanceListing(final UriInfo uriInfo, final InstanceFilter filter,
+                           final Function<InstanceFilter, List<T>> pageLoader, final Function<T, Long> idOf) {
+        this.uriInfo = uriInfo;
+        this.filter = filter;
+        this.pageLoader = pageLoader;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Loads the page selected by the filter and adds the self and next links to the given list resource.
+     */
+    public List<T> page(final ResourceSupport list) {
+        final Integer limit = this.filter.getLimit();
+        List<T> page = this.pageLoader.apply(limit == null ? this.filter : this.filter.page(this.filter.getAfter(), limit + 1));
+        if (limit != null && page.size() > limit) {
+            page = page.subList(0, limit);
+            list.add(nextLink(this.idOf.apply(page.get(page.size() - 1))));
+        }
+        list.add(UriUtil.generateSelfLink(this.uriInfo));
+        return page;
+    }
+
+    /**
+     * Writes the listing as JSON object with the converted instances in an array named {@code field}, followed by
+     * the self and next links, reading the instances in chunks.
+     */
+    public StreamingOutput stream(final String field, final Function<T, ? extends ResourceSupport> converter) {
+        return output -> {
+            final JsonGenerator json = ObjectMapperProvider.getDefaultMapper().getFactory().createGenerator(output);
+            json.writeStartObject();
+            json.writeArrayFieldStart(field);
+
+            final Integer limit = this.filter.getLimit();
+            Long cursor = this.filter.getAfter();
+            long written = 0;
+            boolean more = false;
+            while (!more) {
+                // when limited, read one instance more than required to know whether a next page exists
+                final int chunkSize = limit == null ? CHUNK_SIZE : (int) Math.min(CHUNK_SIZE, limit - written + 1);
+                final List<T> chunk = this.pageLoader.apply(this.filter.page(cursor, chunkSize));
+                for (final T instance : chunk) {
+                    if (limit != null && written == limit) {
+                        more = true;
+                        break;
+                    }
+                    json.writeObject(converter.apply(instance));
+                    cursor = this.idOf.apply(instance);
+                    written++;
+                }
+                json.flush();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            json.writeEndArray();
+
+            json.writeObjectFieldStart("_links");
+            writeLink(json, UriUtil.generateSelfLink(this.uriInfo));
+            if (more) {
+                writeLink(json, nextLink(cursor));
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+            json.flush();
+        };
+    }
+
+    private Link nextLink(final Long cursor) {
+        final URI next = this.uriInfo.getRequestUriBuilder().replaceQueryParam("after", cursor).build();
+        return Link.fromUri(UriUtil.encode(next)).rel("next").build();
+    }
+
+    private static void writeLink(final JsonGenerator json, final Link link) throws IOException {
+        new ResourceSupport.LinkSerializer().serialize(link, json, null);
+    }
+}
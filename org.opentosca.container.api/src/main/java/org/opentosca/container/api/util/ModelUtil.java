@@ -2,9 +2,6 @@ package org.opentosca.container.api.util;
 
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
 import org.eclipse.winery.model.tosca.RelationshipSourceOrTarget;
 import org.eclipse.winery.model.tosca.TNodeTemplate;
 import org.eclipse.winery.model.tosca.TRelationshipTemplate;
@@ -13,6 +10,7 @@ import org.eclipse.winery.model.tosca.TServiceTemplate;
 import org.eclipse.winery.model.tosca.TTopologyTemplate;
 
 import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -60,17 +58,9 @@ public abstract class ModelUtil {
     }
 
     public static Document createDocumentFromElement(final Element element) {
-        try {
-            final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(true);
-            dbf.setIgnoringComments(true);
-            final Document doc = dbf.newDocumentBuilder().newDocument();
-            final Node importedNode = doc.importNode(element, true);
-            doc.appendChild(importedNode);
-            return doc;
-        } catch (final ParserConfigurationException e) {
-            e.printStackTrace();
-            return null;
-        }
+        final Document doc = XmlSupport.newDocument();
+        final Node importedNode = doc.importNode(element, true);
+        doc.appendChild(importedNode);
+        return doc;
     }
 }
@@ -16,6 +16,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
 import javax.xml.rpc.ServiceException;
@@ -61,8 +64,22 @@ public class OdeConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(OdeConnector.class);
 
+    // ODE usually deploys a process within a few hundred milliseconds, so polling starts with short delays
+    private final static long POLL_INITIAL_DELAY = 100;
+    private final static long POLL_MAX_DELAY = 2000;
+    private final static long DEPLOYMENT_TIMEOUT =
+        Long.getLong("org.opentosca.container.connector.ode.deployment.timeout", 100000);
+
+    // the clients are thread-safe and costly to create, so all connectors share one client per ODE
+    private final static Map<String, ProcessManagementPortType> processManagementClients = new ConcurrentHashMap<>();
+    private final static Map<String, DeploymentPortType> deploymentClients = new ConcurrentHashMap<>();
+
     private String address;
 
+    // the PID and process info of the last deployed process, the info already contains its endpoints
+    private String deployedPid;
+    private TProcessInfo deployedProcess;
+
     /**
      * Sets the endpoint of this connector
      *
@@ -93,44 +110,38 @@ public class OdeConnector {
             final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
             OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
             final String packageId = deployFile(process, fileName, fileType);
-            List<QName> pidsOfPackage = new ArrayList<>();
-            // this is a "brutal" hack <=> pulling from server until a pid is
-            // set
-            int pullCount = 0;
-            while (pidsOfPackage.isEmpty() & pullCount < 50) {
-                OdeConnector.LOG.debug("Polling for pid with packageId " + packageId);
-                pidsOfPackage = getPIDsForPackageId(packageId, uri);
-                if (pidsOfPackage.isEmpty()) {
-                    // as we don't want ODE to be overworked we wait here
-                    try {
-                        Thread.sleep(2000);
-                    } catch (final InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // for safety
-                pullCount++;
-            }
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEPLOYMENT_TIMEOUT);
 
-            pid = calcHighestPid(pidsOfPackage, packageId);
+            OdeConnector.LOG.debug("Polling for pid with packageId " + packageId);
+            final List<QName> pidsOfPackage = poll(() -> {
+                final List<QName> pids = getPIDsForPackageId(packageId, uri);
+                return pids.isEmpty() ? null : pids;
+            }, deadline);
+
+            pid = pidsOfPackage == null ? null : calcHighestPid(pidsOfPackage, packageId);
 
             if (pid == null || pid.isEmpty()) {
+                // do not leave the package behind, a retry would deploy another copy of it
+                undeployPackage(packageId);
                 throw new Exception("Couldn't deploy plan " + fileName);
             }
 
             final ProcessManagementPortType client = getProcessManagementServiceClient();
 
-            // request process info for pid
-            final QName processId = QName.valueOf(pid);
-            TProcessInfo info = client.getProcessInfo(processId);
-            OdeConnector.LOG.debug("Checking packageName for Pid: " + pid);
-            OdeConnector.LOG.debug("Package name of PID is: " + info.getDeploymentInfo().get_package());
-
             // check deployment state until its active
-            while (!info.getStatus().equals(TProcessStatus.ACTIVE)) {
-                info = client.getProcessInfo(processId);
-                Thread.sleep(500);
+            final QName processId = QName.valueOf(pid);
+            final TProcessInfo info = poll(() -> {
+                final TProcessInfo current = client.getProcessInfo(processId);
+                return TProcessStatus.ACTIVE.equals(current.getStatus()) ? current : null;
+            }, deadline);
+            if (info == null) {
+                OdeConnector.LOG.error("Process {} did not become active within {} ms", pid, DEPLOYMENT_TIMEOUT);
+                undeployPackage(packageId);
+                return null;
             }
+            OdeConnector.LOG.debug("Package name of PID {} is: {}", pid, info.getDeploymentInfo().get_package());
+            this.deployedPid = pid;
+            this.deployedProcess = info;
         } catch (final ManagementFault e) {
             OdeConnector.LOG.error("The Process isn't valid", e);
             return null;
@@ -142,11 +153,49 @@ public class OdeConnector {
             return null;
         } catch (final InterruptedException e) {
             OdeConnector.LOG.error("InterruptedException: ", e);
+            Thread.currentThread().interrupt();
             return null;
         }
         return pid;
     }
 
+    /**
+     * Undeploys the package with the given name from the current endpoint, logging failures only.
+     */
+    private void undeployPackage(final String packageId) {
+        try {
+            if (!getDeploymentServiceClient().undeploy(QName.valueOf(packageId))) {
+                OdeConnector.LOG.warn("Package {} could not be undeployed", packageId);
+            }
+        } catch (final RemoteException e) {
+            OdeConnector.LOG.warn("Undeploying package {} caused an exception", packageId, e);
+        }
+    }
+
+    /**
+     * Calls the given condition with exponentially growing delays until it returns a result or the given deadline
+     * passes.
+     *
+     * @param deadline the deadline in terms of {@link System#nanoTime()}
+     * @return the first result of the condition, or null if there was none until the deadline
+     */
+    private static <T> T poll(final Callable<T> condition, final long deadline) throws Exception {
+        long delay = POLL_INITIAL_DELAY;
+        while (true) {
+            final T result = condition.call();
+            if (result != null) {
+                return result;
+            }
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return null;
+            }
+            // as we don't want ODE to be overworked we wait here
+            Thread.sleep(Math.min(delay, remaining));
+            delay = Math.min(delay * 2, POLL_MAX_DELAY);
+        }
+    }
+
     private String calcHighestPidForStrings(final List<String> pids, final String packageId) {
         final List<QName> qnamedPids = new ArrayList<>();
 
@@ -394,10 +443,13 @@ public class OdeConnector {
         // Update the service endpoint
         setEndpoint(uri);
 
-        final ProcessManagementPortType client = getProcessManagementServiceClient();
-
         try {
-            final TProcessInfo info = client.getProcessInfo(QName.valueOf(pid));
+            final TProcessInfo info;
+            if (pid.equals(this.deployedPid)) {
+                info = this.deployedProcess;
+            } else {
+                info = getProcessManagementServiceClient().getProcessInfo(QName.valueOf(pid));
+            }
 
             OdeConnector.LOG.debug("Looking for endpoint for process " + info.getDefinitionInfo().getProcessName());
 
@@ -527,11 +579,16 @@ public class OdeConnector {
      * @return a ProcessManagementService client
      */
     private ProcessManagementPortType getProcessManagementServiceClient() {
-        ProcessManagementPortType client = null;
         final String serviceLocation = this.address + "/processes/ProcessManagement";
+        ProcessManagementPortType client = processManagementClients.get(serviceLocation);
+        if (client != null) {
+            return client;
+        }
         try {
             final URL url = new URL(serviceLocation);
             client = new ProcessManagementServiceLocator().getProcessManagementPort(url);
+            final ProcessManagementPortType cached = processManagementClients.putIfAbsent(serviceLocation, client);
+            return cached == null ? client : cached;
         } catch (final MalformedURLException e) {
             OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
         } catch (final ServiceException e) {
@@ -546,11 +603,16 @@ public class OdeConnector {
      * @return a DeploymentService client
      */
     private DeploymentPortType getDeploymentServiceClient() {
-        DeploymentPortType client = null;
         final String serviceLocation = this.address + "/processes/DeploymentService";
+        DeploymentPortType client = deploymentClients.get(serviceLocation);
+        if (client != null) {
+            return client;
+        }
         try {
             final URL url = new URL(serviceLocation);
             client = new DeploymentServiceLocator().getDeploymentPort(url);
+            final DeploymentPortType cached = deploymentClients.putIfAbsent(serviceLocation, client);
+            return cached == null ? client : cached;
         } catch (final MalformedURLException e) {
             OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
         } catch (final ServiceException e) {
@@ -10,6 +10,7 @@ import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -19,10 +20,6 @@ import javax.xml.namespace.QName;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.FormBodyPart;
@@ -31,10 +28,9 @@ import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.ContentBody;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.StringBody;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.service.IHTTPService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,8 +46,10 @@ public class WineryConnector {
     private static final String FEATURE_ENRICHMENT_SUFFIX = "/topologytemplate/availablefeatures";
 
     private final String wineryPath;
+    private final IHTTPService httpService;
 
-    public WineryConnector() {
+    public WineryConnector(final IHTTPService httpService) {
+        this.httpService = httpService;
         String configurationValue = Settings.getSetting("org.opentosca.container.connector.winery.url");
         if (!configurationValue.endsWith("/")) {
             configurationValue = configurationValue + "/";
@@ -66,15 +64,12 @@ public class WineryConnector {
     }
 
     public boolean isWineryRepositoryAvailable() {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        try {
             final URI serviceTemplatesUri = new URI(this.wineryPath + "servicetemplates");
             LOG.debug("Checking if winery is available at " + serviceTemplatesUri.toString());
 
-            final HttpGet get = new HttpGet();
-            get.setHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
-            get.setURI(serviceTemplatesUri);
-            final CloseableHttpResponse resp = httpClient.execute(get);
-            resp.close();
+            final HttpResponse resp = this.httpService.Get(serviceTemplatesUri.toString(),
+                Collections.singletonMap(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()));
 
             return resp.getStatusLine().getStatusCode() < 400;
         } catch (URISyntaxException | IOException e) {
@@ -116,15 +111,9 @@ public class WineryConnector {
 
         final HttpEntity entity = builder.build();
 
-        final HttpPost wineryPost = new HttpPost();
-
-        wineryPost.setURI(new URI(this.wineryPath));
-        wineryPost.setEntity(entity);
-
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            final CloseableHttpResponse wineryResp = httpClient.execute(wineryPost);
+        try {
+            final HttpResponse wineryResp = this.httpService.Post(new URI(this.wineryPath).toString(), entity);
             String location = getHeaderValue(wineryResp, HttpHeaders.LOCATION);
-            wineryResp.close();
 
             if (Objects.nonNull(location) && location.endsWith("/")) {
                 location = location.substring(0, location.length() - 1);
@@ -204,13 +193,10 @@ public class WineryConnector {
             builder.addPart(tagsPart);
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        try {
             // POST to XaaSPackager
-            final HttpPost xaasPOST = new HttpPost();
-            xaasPOST.setURI(new URI(this.wineryPath + "servicetemplates/"));
-            xaasPOST.setEntity(builder.build());
-            final CloseableHttpResponse xaasResp = httpClient.execute(xaasPOST);
-            xaasResp.close();
+            final HttpResponse xaasResp =
+                this.httpService.Post(new URI(this.wineryPath + "servicetemplates/").toString(), builder.build());
 
             // create QName of the created serviceTemplate resource
             String location = getHeaderValue(xaasResp, HttpHeaders.LOCATION);
@@ -257,7 +243,7 @@ public class WineryConnector {
             return;
         }
         LOG.debug("Container Repository is available. Uploading file {} to repo...", file.getName());
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+        try {
             // upload CSAR to enable enrichment in Winery
             final String location = uploadCSARToWinery(file, false);
 
@@ -269,23 +255,16 @@ public class WineryConnector {
             LOG.debug("Stored CSAR at location: {}", location.toString());
 
             // get all available features for the given CSAR
-            final HttpGet get = new HttpGet();
-            get.setHeader(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
-            get.setURI(new URI(location + FEATURE_ENRICHMENT_SUFFIX));
-            CloseableHttpResponse resp = httpClient.execute(get);
+            final String featuresUri = new URI(location + FEATURE_ENRICHMENT_SUFFIX).toString();
+            HttpResponse resp = this.httpService.Get(featuresUri,
+                Collections.singletonMap(HttpHeaders.ACCEPT, ContentType.APPLICATION_JSON.getMimeType()));
             final String jsonResponse = EntityUtils.toString(resp.getEntity());
-            resp.close();
 
             LOG.debug("Container Repository returned the following features:", jsonResponse);
 
             // apply the found features to the CSAR
-            final HttpPut put = new HttpPut();
-            put.setHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
-            put.setURI(new URI(location + FEATURE_ENRICHMENT_SUFFIX));
-            final StringEntity stringEntity = new StringEntity(jsonResponse);
-            put.setEntity(stringEntity);
-            resp = httpClient.execute(put);
-            resp.close();
+            final StringEntity stringEntity = new StringEntity(jsonResponse, ContentType.APPLICATION_JSON);
+            resp = this.httpService.Put(featuresUri, stringEntity);
 
             LOG.debug("Feature enrichment returned status line: {}", resp.getStatusLine());
 
@@ -6,6 +6,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -16,12 +23,16 @@ import org.eclipse.winery.model.tosca.TPlan;
 import org.eclipse.winery.model.tosca.TPlans;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opentosca.container.control.OpenToscaControlService;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentInfo;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessOperation;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessState;
 import org.opentosca.container.core.service.CsarStorageService;
@@ -41,10 +52,21 @@ import static org.opentosca.container.core.model.deployment.process.DeploymentPr
 
 @Service
 @NonNullByDefault
-public class OpenToscaControlServiceImpl implements OpenToscaControlService {
+public class OpenToscaControlServiceImpl implements OpenToscaControlService, AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenToscaControlServiceImpl.class);
 
+    private static final int DEPLOYMENT_THREADS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.plan.deployment.threads", "4"));
+
+    // covers all plans of a CSAR, so it has to exceed the time a single plan engine deployment may take
+    private static final long DEPLOYMENT_TIMEOUT_SECONDS =
+        Long.parseLong(Settings.getSetting("org.opentosca.container.plan.deployment.timeout.seconds", "300"));
+
+    // shared by all CSARs, so that deploying many CSARs at once does not overload the plan engines
+    private final ExecutorService deploymentPool = Executors.newFixedThreadPool(DEPLOYMENT_THREADS,
+        new ThreadFactoryBuilder().setNameFormat("plan-deployment-%d").setDaemon(true).build());
+
     private final DeploymentTracker deploymentTracker;
     private final IPlanEngineService planEngine;
     private final IPlanInvocationEngine planInvocationEngine;
@@ -89,14 +111,7 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
             // Plans has no targetNamespace, fallback to ServiceTemplate namespace
             namespace = serviceTemplate.getQName().getNamespaceURI();
         }
-        List<TPlan> undeployed = new ArrayList<>();
-        for (final TPlan plan : plans.getPlan()) {
-            if (!planEngine.deployPlan(plan, namespace, csarId)) {
-                undeployed.add(plan);
-            }
-        }
-
-        if (!undeployed.isEmpty()) {
+        if (!deployPlans(csarId, plans.getPlan(), namespace)) {
             LOGGER.error("Plan deployment failed");
             deploymentTracker.storeDeploymentState(csarId, TOSCA_PROCESSED);
             return false;
@@ -207,7 +222,6 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
     @Override
     public boolean invokePlanDeployment(CsarId csar, TServiceTemplate serviceTemplate) {
         deploymentTracker.storeDeploymentState(csar, PLAN_DEPLOYMENT_ACTIVE);
-        final List<TPlan> undeployedPlans = new ArrayList<>();
         LOGGER.trace("Invoking PlanEngine to process Plans");
         if (planEngine == null) {
             LOGGER.error("PlanEngine is not alive!");
@@ -232,13 +246,7 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
             ? serviceTemplate.getTargetNamespace()
             : plans.getTargetNamespace();
 
-        for (final TPlan plan : plans.getPlan()) {
-            if (!planEngine.deployPlan(plan, namespace, csar)) {
-                undeployedPlans.add(plan);
-            }
-        }
-
-        if (!undeployedPlans.isEmpty()) {
+        if (!deployPlans(csar, plans.getPlan(), namespace)) {
             LOGGER.warn("Plan deployment failed!");
             deploymentTracker.storeDeploymentState(csar, TOSCA_PROCESSED);
             return false;
@@ -249,6 +257,116 @@ public class OpenToscaControlServiceImpl implements OpenToscaControlService {
         return true;
     }
 
+    /**
+     * Deploys the given plans in parallel and tracks the deployment state of each of them. Once the deployment of a
+     * plan fails, the deployment of all plans takes too long or the calling thread is interrupted, the plans that are
+     * not being deployed yet are skipped and the deployed plans are undeployed again.
+     *
+     * @return true, if all plans were deployed, false otherwise
+     */
+    boolean deployPlans(CsarId csarId, List<TPlan> plans, String namespace) {
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<CompletableFuture<Boolean>> deployments = plans.stream()
+            .map(plan -> CompletableFuture.supplyAsync(() -> deployPlan(csarId, plan, namespace, failed), deploymentPool))
+            .collect(Collectors.toList());
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DEPLOYMENT_TIMEOUT_SECONDS);
+        boolean deployed = true;
+        for (final CompletableFuture<Boolean> deployment : deployments) {
+            try {
+                deployed &= deployment.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.error("Deployment of the Plans of CSAR [{}] did not finish within {} s", csarId.csarName(), DEPLOYMENT_TIMEOUT_SECONDS);
+                deployed = false;
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deployed = false;
+                break;
+            } catch (ExecutionException e) {
+                LOGGER.error("Deployment of a Plan of CSAR [{}] failed", csarId.csarName(), e.getCause());
+                deployed = false;
+            }
+        }
+        if (!deployed) {
+            failed.set(true);
+            for (int i = 0; i < plans.size(); i++) {
+                final TPlan plan = plans.get(i);
+                // deployments running against the plan engine can not be interrupted, so they are undeployed once
+                // done. The undeployment runs on the pool, as the calling thread may be interrupted.
+                deployments.get(i).whenCompleteAsync((planDeployed, e) -> {
+                    if (Boolean.TRUE.equals(planDeployed)) {
+                        undeployDeployedPlan(csarId, plan, namespace);
+                    }
+                }, deploymentPool);
+            }
+        }
+        return deployed;
+    }
+
+    private boolean deployPlan(CsarId csarId, TPlan plan, String namespace, AtomicBoolean failed) {
+        if (failed.get()) {
+            LOGGER.debug("Skipping deployment of Plan [{}] of CSAR [{}] as another Plan failed", plan.getId(), csarId.csarName());
+            return false;
+        }
+        final String planRelPath = planRelPath(plan);
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, planRelPath, PlanDeploymentState.PLAN_DEPLOYING));
+        boolean deployed;
+        try {
+            deployed = planEngine.deployPlan(plan, namespace, csarId);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Deployment of Plan [{}] of CSAR [{}] failed", plan.getId(), csarId.csarName(), e);
+            deployed = false;
+        }
+        if (!deployed) {
+            failed.set(true);
+        }
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, planRelPath,
+            deployed ? PlanDeploymentState.PLAN_DEPLOYED : PlanDeploymentState.PLAN_DEPLOYMENT_FAILED));
+        return deployed;
+    }
+
+    /**
+     * Undeploys the given plan of a failed plan deployment, if the deployment tracker records it as deployed.
+     */
+    private void undeployDeployedPlan(CsarId csarId, TPlan plan, String namespace) {
+        final String planRelPath = planRelPath(plan);
+        final PlanDeploymentInfo info = deploymentTracker.getPlanDeploymentInfo(csarId, planRelPath);
+        if (info == null || info.getDeploymentState() != PlanDeploymentState.PLAN_DEPLOYED) {
+            return;
+        }
+        LOGGER.info("Undeploying Plan [{}] of CSAR [{}] as the deployment of its Plans failed", plan.getId(), csarId.csarName());
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, planRelPath, PlanDeploymentState.PLAN_UNDEPLOYING));
+        boolean undeployed;
+        try {
+            undeployed = planEngine.undeployPlan(plan, namespace, csarId);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Undeployment of Plan [{}] of CSAR [{}] failed", plan.getId(), csarId.csarName(), e);
+            undeployed = false;
+        }
+        deploymentTracker.storePlanDeploymentInfo(new PlanDeploymentInfo(csarId, planRelPath,
+            undeployed ? PlanDeploymentState.PLAN_UNDEPLOYED : PlanDeploymentState.PLAN_UNDEPLOYMENT_FAILED));
+    }
+
+    private static String planRelPath(TPlan plan) {
+        return plan.getPlanModelReference() == null
+            ? plan.getId()
+            : plan.getPlanModelReference().getReference();
+    }
+
+    @Override
+    public void close() {
+        deploymentPool.shutdown();
+        try {
+            if (!deploymentPool.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Plan deployments were still running on shutdown");
+                deploymentPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            deploymentPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Deprecated
     @Override
     public String invokePlanInvocation(CsarId csarId, QName qname, int instanceId, TPlanDTO plan) throws UnsupportedEncodingException {
@@ -1,26 +1,14 @@
 package org.opentosca.container.core.common.jpa;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
+import org.opentosca.container.core.next.xml.XmlSupport;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 @Converter
@@ -37,19 +25,11 @@ public class DocumentConverter implements AttributeConverter<Document, String> {
         if (documentString.isEmpty()) {
             return emptyDocument();
         }
-        // start conversion
-        final InputSource iSource = new InputSource(new StringReader(documentString));
         Document doc = null;
         try {
-            final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(true);
-            dbf.setIgnoringComments(true);
-            final DocumentBuilder db = dbf.newDocumentBuilder();
-
-            // parse
-            doc = db.parse(iSource);
+            doc = XmlSupport.parseIgnoringComments(documentString);
             doc.getDocumentElement().normalize();
-        } catch (final ParserConfigurationException | SAXException | IOException e) {
+        } catch (final SAXException | IOException e) {
             e.printStackTrace();
         }
         return doc;
@@ -61,17 +41,7 @@ public class DocumentConverter implements AttributeConverter<Document, String> {
      * @return empty document
      */
     public static Document emptyDocument() {
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-
-        try {
-            final DocumentBuilder db = dbf.newDocumentBuilder();
-            final Document doc = db.newDocument();
-            return doc;
-        } catch (final ParserConfigurationException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return XmlSupport.newDocument();
     }
 
     /**
@@ -83,16 +53,8 @@ public class DocumentConverter implements AttributeConverter<Document, String> {
         String result = null;
         if (node != null) {
             try {
-                // prepare
-                final Source source = new DOMSource(node);
-                final StringWriter stringWriter = new StringWriter();
-                final Result streamResult = new StreamResult(stringWriter);
-                final TransformerFactory factory = TransformerFactory.newInstance();
-                final Transformer transformer = factory.newTransformer();
-                // serialize
-                transformer.transform(source, streamResult);
-                result = stringWriter.getBuffer().toString();
-            } catch (final TransformerFactoryConfigurationError | TransformerException e) {
+                result = XmlSupport.toString(node, false);
+            } catch (final TransformerException e) {
                 e.printStackTrace();
             }
         }
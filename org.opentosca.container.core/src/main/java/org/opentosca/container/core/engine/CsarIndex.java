@@ -0,0 +1,119 @@
+package org.opentosca.container.core.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.winery.common.ids.definitions.NodeTypeId;
+import org.eclipse.winery.model.tosca.TNodeType;
+import org.eclipse.winery.model.tosca.TNodeTypeImplementation;
+import org.eclipse.winery.model.tosca.TPlan;
+import org.eclipse.winery.model.tosca.TPlans;
+import org.eclipse.winery.model.tosca.TRelationshipTypeImplementation;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.opentosca.container.core.model.csar.Csar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Precomputed lookup tables for the type level of a single {@link Csar}. Instances are built once per Csar instance by
+ * the {@link ToscaEngine} and are never modified afterwards.
+ * <p>
+ * Lookups return <code>null</code> if the index does not know the requested element, in which case callers are
+ * expected to fall back to resolving it from the Csar directly.
+ */
+final class CsarIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CsarIndex.class);
+
+    private final Map<QName, List<TNodeType>> nodeTypeHierarchies = new HashMap<>();
+    private final Map<QName, List<TNodeTypeImplementation>> nodeTypeImplementations = new HashMap<>();
+    private final Map<QName, List<TRelationshipTypeImplementation>> relationshipTypeImplementations = new HashMap<>();
+    private final Map<String, TPlan> plansById = new HashMap<>();
+    private final Map<TPlan, TServiceTemplate> serviceTemplatesByPlan = new IdentityHashMap<>();
+
+    CsarIndex(Csar csar) {
+        final long start = System.currentTimeMillis();
+        for (TNodeType nodeType : csar.nodeTypes()) {
+            final List<TNodeType> hierarchy = flattenHierarchy(csar, nodeType);
+            if (hierarchy != null) {
+                nodeTypeHierarchies.put(nodeType.getQName(), Collections.unmodifiableList(hierarchy));
+            }
+        }
+        // implementations of a NodeType include the implementations of all its supertypes
+        for (Map.Entry<QName, List<TNodeType>> entry : nodeTypeHierarchies.entrySet()) {
+            final Set<QName> hierarchy = entry.getValue().stream().map(TNodeType::getQName).collect(Collectors.toSet());
+            nodeTypeImplementations.put(entry.getKey(), Collections.unmodifiableList(csar.nodeTypeImplementations().stream()
+                .filter(impl -> hierarchy.contains(impl.getNodeType()))
+                .collect(Collectors.toList())));
+        }
+        for (TRelationshipTypeImplementation impl : csar.relationshipTypeImplementations()) {
+            relationshipTypeImplementations.computeIfAbsent(impl.getRelationshipType(), k -> new ArrayList<>()).add(impl);
+        }
+        for (TServiceTemplate serviceTemplate : csar.serviceTemplates()) {
+            final TPlans plans = serviceTemplate.getPlans();
+            if (plans == null) {
+                continue;
+            }
+            for (TPlan plan : plans.getPlan()) {
+                plansById.putIfAbsent(plan.getId(), plan);
+                serviceTemplatesByPlan.putIfAbsent(plan, serviceTemplate);
+            }
+        }
+        LOG.debug("Indexed Csar [{}] in {} ms", csar.id(), System.currentTimeMillis() - start);
+    }
+
+    @Nullable
+    private static List<TNodeType> flattenHierarchy(Csar csar, TNodeType nodeType) {
+        final List<TNodeType> hierarchy = new ArrayList<>();
+        final Set<QName> visited = new HashSet<>();
+        TNodeType current = nodeType;
+        while (current != null) {
+            if (!visited.add(current.getQName())) {
+                LOG.warn("Cyclic type hierarchy detected for NodeType [{}]", nodeType.getQName());
+                return null;
+            }
+            hierarchy.add(current);
+            if (current.getDerivedFrom() == null) {
+                return hierarchy;
+            }
+            current = (TNodeType) csar.queryRepository(new NodeTypeId(current.getDerivedFrom().getTypeRef()));
+        }
+        // a supertype is missing, leave reporting that to the non-indexed resolution
+        return null;
+    }
+
+    @Nullable
+    List<TNodeType> nodeTypeHierarchy(QName nodeType) {
+        return nodeTypeHierarchies.get(nodeType);
+    }
+
+    @Nullable
+    List<TNodeTypeImplementation> nodeTypeImplementations(QName nodeType) {
+        return nodeTypeImplementations.get(nodeType);
+    }
+
+    List<TRelationshipTypeImplementation> relationshipTypeImplementations(QName relationshipType) {
+        return relationshipTypeImplementations.getOrDefault(relationshipType, Collections.emptyList());
+    }
+
+    @Nullable
+    TPlan plan(String localId) {
+        return plansById.get(localId);
+    }
+
+    @Nullable
+    TServiceTemplate containingServiceTemplate(TPlan plan) {
+        return serviceTemplatesByPlan.get(plan);
+    }
+}
@@ -0,0 +1,60 @@
+package org.opentosca.container.core.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.winery.model.tosca.TEntityTemplate;
+import org.eclipse.winery.model.tosca.TNodeTemplate;
+import org.eclipse.winery.model.tosca.TRelationshipTemplate;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+import org.eclipse.winery.model.tosca.TTopologyTemplate;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Precomputed lookup tables for the topology of a single {@link TServiceTemplate}: templates by their id and the
+ * outgoing relationships of every NodeTemplate. Instances are built once per service template instance by the {@link
+ * ToscaEngine} and are never modified afterwards.
+ */
+final class TopologyIndex {
+
+    private final Map<String, TNodeTemplate> nodeTemplates = new HashMap<>();
+    private final Map<String, TRelationshipTemplate> relationshipTemplates = new HashMap<>();
+    private final Map<String, List<TRelationshipTemplate>> outgoingRelations = new HashMap<>();
+
+    TopologyIndex(TServiceTemplate serviceTemplate) {
+        final TTopologyTemplate topology = serviceTemplate.getTopologyTemplate();
+        if (topology == null) {
+            return;
+        }
+        for (TEntityTemplate template : topology.getNodeTemplateOrRelationshipTemplate()) {
+            if (template instanceof TNodeTemplate) {
+                nodeTemplates.putIfAbsent(template.getId(), (TNodeTemplate) template);
+            } else if (template instanceof TRelationshipTemplate) {
+                final TRelationshipTemplate relation = (TRelationshipTemplate) template;
+                relationshipTemplates.putIfAbsent(relation.getId(), relation);
+                final Object source = relation.getSourceElement().getRef();
+                if (source instanceof TNodeTemplate) {
+                    outgoingRelations.computeIfAbsent(((TNodeTemplate) source).getId(), k -> new ArrayList<>()).add(relation);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    TNodeTemplate nodeTemplate(String id) {
+        return nodeTemplates.get(id);
+    }
+
+    @Nullable
+    TRelationshipTemplate relationshipTemplate(String id) {
+        return relationshipTemplates.get(id);
+    }
+
+    List<TRelationshipTemplate> outgoingRelations(TNodeTemplate source) {
+        return outgoingRelations.getOrDefault(source.getId(), Collections.emptyList());
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,6 +43,8 @@ import org.eclipse.winery.model.tosca.TRelationshipType;
 import org.eclipse.winery.model.tosca.TRelationshipTypeImplementation;
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.common.NotFoundException;
@@ -66,6 +69,11 @@ import org.w3c.dom.Element;
  * </p><p>
  * Methods that return some kind of {@link Collection} will return an empty collection as the default. They may throw
  * {@link NotFoundException} if a component prerequisite is not met.
+ * </p><p>
+ * Frequently used lookups are answered from a {@link CsarIndex} or {@link TopologyIndex} that is built once per Csar
+ * (respectively service template) instance. Since the {@link org.opentosca.container.core.service.CsarStorageService}
+ * hands out cached Csar instances, these indices live as long as the Csar stays cached. The storage service drops the
+ * indices of a Csar through {@link #invalidate(Csar)} whenever it is stored again or deleted.
  * </p>
  */
 //@NonNullByDefault
@@ -73,6 +81,35 @@ public final class ToscaEngine {
 
     private static final Logger LOG = LoggerFactory.getLogger(ToscaEngine.class);
 
+    // weak keys compare by identity, so an index is dropped as soon as its Csar is no longer referenced
+    private static final Cache<Csar, CsarIndex> CSAR_INDICES = CacheBuilder.newBuilder().weakKeys().build();
+    private static final Cache<TServiceTemplate, TopologyIndex> TOPOLOGY_INDICES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static CsarIndex index(Csar csar) {
+        try {
+            return CSAR_INDICES.get(csar, () -> new CsarIndex(csar));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not index Csar " + csar.id(), e.getCause());
+        }
+    }
+
+    /**
+     * Drops the indices of the given Csar, e.g. because it was stored again or deleted.
+     */
+    public static void invalidate(Csar csar) {
+        CSAR_INDICES.invalidate(csar);
+        // service templates do not know their Csar, rebuilding the topology indices of the other Csars is cheap
+        TOPOLOGY_INDICES.invalidateAll();
+    }
+
+    private static TopologyIndex index(TServiceTemplate serviceTemplate) {
+        try {
+            return TOPOLOGY_INDICES.get(serviceTemplate, () -> new TopologyIndex(serviceTemplate));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not index ServiceTemplate " + serviceTemplate.getId(), e.getCause());
+        }
+    }
+
     /**
      * Gets a serviceTemplate from a csar by it's QName.
      *
@@ -134,8 +171,7 @@ public final class ToscaEngine {
     }
 
     public static Optional<TNodeTemplate> getNodeTemplate(TServiceTemplate serviceTemplate, String nodeTemplate) {
-        return Optional.ofNullable(serviceTemplate.getTopologyTemplate())
-            .map(tt -> tt.getNodeTemplate(nodeTemplate));
+        return Optional.ofNullable(index(serviceTemplate).nodeTemplate(nodeTemplate));
     }
 
     public static boolean isOperationBoundToSourceNode(final TRelationshipType relationshipType, final String interfaceName, final String operationName) {
@@ -154,14 +190,8 @@ public final class ToscaEngine {
     }
 
     public static Stream<TNodeTemplate> getRelatedNodeTemplates(TServiceTemplate serviceTemplate, TNodeTemplate template, QName... relationshipType) {
-        return serviceTemplate.getTopologyTemplate().getNodeTemplateOrRelationshipTemplate().stream()
-            .filter(candidate -> candidate instanceof TRelationshipTemplate)
-            .map(relation -> (TRelationshipTemplate) relation)
+        return index(serviceTemplate).outgoingRelations(template).stream()
             .filter(relation -> Arrays.stream(relationshipType).anyMatch(Predicate.isEqual(relation.getType())))
-            .filter(relation -> {
-                final Object source = relation.getSourceElement().getRef();
-                return source instanceof TNodeTemplate && source.equals(template);
-            })
             .map(relation -> relation.getTargetElement().getRef())
             .filter((target) -> target instanceof TNodeTemplate)
             .map(TNodeTemplate.class::cast);
@@ -217,6 +247,10 @@ public final class ToscaEngine {
     }
 
     public static List<TNodeType> resolveNodeTypeHierarchy(Csar csar, TNodeType target) throws NotFoundException {
+        List<TNodeType> indexed = index(csar).nodeTypeHierarchy(target.getQName());
+        if (indexed != null) {
+            return indexed;
+        }
         List<TNodeType> typeRefs = new ArrayList<>();
         typeRefs.add(target);
         while (target.getDerivedFrom() != null) {
@@ -294,9 +328,9 @@ public final class ToscaEngine {
     }
 
     public static Optional<TRelationshipTemplate> getRelationshipTemplate(TServiceTemplate serviceTemplate, String localTemplateId) {
-        return Objects.isNull(localTemplateId) || Objects.isNull(serviceTemplate) || Objects.isNull(serviceTemplate.getTopologyTemplate())
+        return Objects.isNull(localTemplateId) || Objects.isNull(serviceTemplate)
             ? Optional.empty()
-            : Optional.ofNullable(serviceTemplate.getTopologyTemplate().getRelationshipTemplate(localTemplateId));
+            : Optional.ofNullable(index(serviceTemplate).relationshipTemplate(localTemplateId));
     }
 
     public static List<? extends TEntityTypeImplementation> getTypeImplementations(Csar csar, TEntityType type) {
@@ -311,12 +345,14 @@ public final class ToscaEngine {
     }
 
     public static List<TRelationshipTypeImplementation> getRelationshipTypeImplementations(Csar csar, TRelationshipType type) {
-        return csar.relationshipTypeImplementations().stream()
-            .filter(impl -> impl.getRelationshipType().equals(type.getQName()))
-            .collect(Collectors.toList());
+        return index(csar).relationshipTypeImplementations(type.getQName());
     }
 
     public static List<TNodeTypeImplementation> getNodeTypeImplementations(Csar csar, TNodeType type) {
+        final List<TNodeTypeImplementation> indexed = index(csar).nodeTypeImplementations(type.getQName());
+        if (indexed != null) {
+            return indexed;
+        }
         final List<TNodeType> hierarchy;
         try {
             hierarchy = resolveNodeTypeHierarchy(csar, type);
@@ -361,6 +397,10 @@ public final class ToscaEngine {
     @NonNull
     public static TPlan resolvePlanReference(Csar csar, QName planId) throws NotFoundException {
         // can't reformulate using queryRepository because PlanId requires a PlansId as parent for resolution
+        TPlan indexed = index(csar).plan(planId.getLocalPart());
+        if (indexed != null) {
+            return indexed;
+        }
         TPlan plan = csar.serviceTemplates().stream()
             .flatMap(st -> {
                 TPlans plans = st.getPlans();
@@ -391,6 +431,10 @@ public final class ToscaEngine {
 
     @Nullable
     public static TServiceTemplate getContainingServiceTemplate(Csar csar, TPlan toscaPlan) {
+        TServiceTemplate indexed = index(csar).containingServiceTemplate(toscaPlan);
+        if (indexed != null) {
+            return indexed;
+        }
         // can't obtain serviceTemplateId from the plan, therefore iterate all service templates
         return csar.serviceTemplates().stream()
             .filter(st -> {
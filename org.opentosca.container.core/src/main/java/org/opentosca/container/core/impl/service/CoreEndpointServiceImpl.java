@@ -2,19 +2,29 @@ package org.opentosca.container.core.impl.service;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
-import javax.persistence.NonUniqueResultException;
-import javax.persistence.Query;
+import javax.persistence.EntityTransaction;
 import javax.persistence.TypedQuery;
 import javax.xml.namespace.QName;
 
+import org.hibernate.Hibernate;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint.restMethod;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.service.ICoreEndpointService;
 import org.slf4j.Logger;
@@ -22,7 +32,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 /**
- * This Class stores and retrieves Endpoint-Objects in the Database, using Eclipse-JPA.
+ * This Class stores and retrieves Endpoint-Objects in the Database, using JPA.
+ * <p>
+ * WSDL endpoints are loaded into a {@link WSDLEndpointRegistry} on startup and answered from memory. Changes are
+ * applied to the registry immediately and written to the database asynchronously, in batches of up to
+ * {@code org.opentosca.container.endpoint.write.batch.size} changes per transaction. If a batch fails, its changes are
+ * written again one by one. An endpoint that cannot be written is removed from the registry again, so the registry
+ * never holds endpoints that would be lost on restart.
  * <p>
  * For the JPA-Queries refer to: {@link RESTEndpoint}, {@link WSDLEndpoint}
  */
@@ -30,10 +46,26 @@ import org.springframework.stereotype.Service;
 public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoCloseable {
     private final static Logger LOG = LoggerFactory.getLogger(CoreEndpointServiceImpl.class);
 
-    private EntityManager em;
+    private static final int WRITE_BATCH_SIZE =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.endpoint.write.batch.size", "100"));
+
+    private final WSDLEndpointRegistry wsdlEndpoints = new WSDLEndpointRegistry();
+    private final List<Consumer<WSDLEndpoint>> removalListeners = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "endpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public CoreEndpointServiceImpl() {
-        em = EntityManagerProvider.createEntityManager();
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            for (final WSDLEndpoint endpoint : em.createQuery("SELECT e FROM WSDLEndpoint e", WSDLEndpoint.class).getResultList()) {
+                Hibernate.initialize(endpoint.getMetadata());
+                this.wsdlEndpoints.add(endpoint);
+            }
+        }
+        LOG.debug("Loaded {} stored WSDL endpoints", this.wsdlEndpoints.size());
     }
 
     @Override
@@ -42,33 +74,19 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      */
     public List<WSDLEndpoint> getWSDLEndpoints(final QName portType, final String triggeringContainer,
                                                final CsarId csarId) {
-        final ArrayList<WSDLEndpoint> results = new ArrayList<>();
-
-        final TypedQuery<WSDLEndpoint> getWSDLEndpointsQuery = em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PortType = :portType",
-            WSDLEndpoint.class);
-
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getWSDLEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        final List<WSDLEndpoint> queryResults = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            results.add(endpoint);
+        final List<WSDLEndpoint> results = new ArrayList<>();
+        for (final WSDLEndpoint endpoint : this.wsdlEndpoints.findByCsar(triggeringContainer, csarId)) {
+            if (portType.equals(endpoint.getPortType())) {
+                results.add(endpoint);
+            }
         }
 
         // Hack, to get endpoints stored from the container e.g. the SI-Invoker
         // endpoint.
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("csarId", new CsarId(""));
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        final List<WSDLEndpoint> queryResults2 = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults2) {
-            results.add(endpoint);
+        for (final WSDLEndpoint endpoint : this.wsdlEndpoints.findByCsar(triggeringContainer, new CsarId(""))) {
+            if (portType.equals(endpoint.getPortType())) {
+                results.add(endpoint);
+            }
         }
 
         return results;
@@ -82,44 +100,25 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
 
         // TODO this check is a hack because of the problem with deploying of multiple
         // deployment artifacts
-        if (!existsWSDLEndpoint(endpoint)) {
-            if (!this.em.getTransaction().isActive()) {
-                this.em.getTransaction().begin();
+        synchronized (this.wsdlEndpoints) {
+            if (this.wsdlEndpoints.contains(endpoint)) {
+                LOG.debug("The endpoint for \"{}\" is stored already.", endpoint.getPortType());
+                return;
             }
             LOG.debug("The endpoint for \"{}\" is not stored. Thus store it.", endpoint.getPortType());
-            this.em.persist(endpoint);
-            this.em.getTransaction().commit();
-        } else {
-            LOG.debug("The endpoint for \"{}\" is stored already.", endpoint.getPortType());
-        }
-    }
-
-    /**
-     * Helper method to check if a given WSDLEndpoint is already stored in the database
-     *
-     * @param endpoint to look for
-     * @return true, if the Endpoint already exists.
-     */
-    private boolean existsWSDLEndpoint(final WSDLEndpoint endpoint) {
-        TypedQuery<WSDLEndpoint> findQuery = em.createQuery(
-            "SELECT e from WSDLEndpoint e where e.PortType = :portType "
-                + "and e.csarId = :csarId and e.managingContainer = :managingContainer "
-                + "and e.serviceTemplateInstanceID = :serviceTemplateInstanceID and e.PlanId = :planId",
-            WSDLEndpoint.class);
-        findQuery.setParameter("portType", endpoint.getPortType());
-        findQuery.setParameter("csarId", endpoint.getCsarId());
-        findQuery.setParameter("managingContainer", endpoint.getManagingContainer());
-        findQuery.setParameter("serviceTemplateInstanceID", endpoint.getServiceTemplateInstanceID());
-        findQuery.setParameter("planId", endpoint.getPlanId());
-
-        try {
-            @SuppressWarnings("unused")
-            WSDLEndpoint dbResult = findQuery.getSingleResult();
-            return true;
-        } catch (NoResultException | NonUniqueResultException umm) {
-            // maybe return true if result is not unique?
-            return false;
+            this.wsdlEndpoints.add(endpoint);
         }
+        // the registry hands the endpoint out to readers, so the writer thread works on a copy of it
+        writeBehind(em -> {
+            final WSDLEndpoint copy = copyOf(endpoint);
+            em.persist(copy);
+            endpoint.setId(copy.getId());
+        }, e -> {
+            LOG.error("Failed to store the endpoint for \"{}\", discarding it", endpoint.getPortType(), e);
+            if (this.wsdlEndpoints.remove(endpoint)) {
+                this.removalListeners.forEach(listener -> listener.accept(endpoint));
+            }
+        });
     }
 
     @Override
@@ -134,20 +133,17 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
          *
          * @see RESTEndpoint#getEndpointForPath
          **/
-        final TypedQuery<RESTEndpoint> getRestEndpointsQuery = this.em.createNamedQuery(RESTEndpoint.getEndpointForPath,
-            RESTEndpoint.class);
-
-        // Set Parameters
-        getRestEndpointsQuery.setParameter("path", anyURI.getPath());
-        getRestEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getRestEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results and add them to the result list
-        final
-        // Result can only be a RESTEndpoint
-            List<RESTEndpoint> queryResults = getRestEndpointsQuery.getResultList();
-        for (final RESTEndpoint endpoint : queryResults) {
-            results.add(endpoint);
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final TypedQuery<RESTEndpoint> getRestEndpointsQuery = em.createNamedQuery(RESTEndpoint.getEndpointForPath,
+                RESTEndpoint.class);
+
+            // Set Parameters
+            getRestEndpointsQuery.setParameter("path", anyURI.getPath());
+            getRestEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
+            getRestEndpointsQuery.setParameter("csarId", csarId);
+
+            // Get Query-Results and add them to the result list
+            results.addAll(getRestEndpointsQuery.getResultList());
         }
         return results;
     }
@@ -163,18 +159,20 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
          *
          * @see RESTEndpoint#getEndpointForPathAndMethod
          */
-        final TypedQuery<RESTEndpoint> getRestEndpointQuery = this.em
-            .createNamedQuery(RESTEndpoint.getEndpointForPathAndMethod, RESTEndpoint.class);
-
-        // Set parameters
-        getRestEndpointQuery.setParameter("path", anyURI.getPath());
-        getRestEndpointQuery.setParameter("triggeringContainer", triggeringContainer);
-        getRestEndpointQuery.setParameter("method", method);
-        getRestEndpointQuery.setParameter("csarId", csarId);
-
-        // As a RESTEndpoint identified by URI, RestMethod and thorID
-        // is unique, we only return one result (there cannot be more)
-        return getRestEndpointQuery.getSingleResult();
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final TypedQuery<RESTEndpoint> getRestEndpointQuery =
+                em.createNamedQuery(RESTEndpoint.getEndpointForPathAndMethod, RESTEndpoint.class);
+
+            // Set parameters
+            getRestEndpointQuery.setParameter("path", anyURI.getPath());
+            getRestEndpointQuery.setParameter("triggeringContainer", triggeringContainer);
+            getRestEndpointQuery.setParameter("method", method);
+            getRestEndpointQuery.setParameter("csarId", csarId);
+
+            // As a RESTEndpoint identified by URI, RestMethod and thorID
+            // is unique, we only return one result (there cannot be more)
+            return getRestEndpointQuery.getSingleResult();
+        }
     }
 
     @Override
@@ -183,106 +181,54 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
      */
     public void storeRESTEndpoint(final RESTEndpoint endpoint) {
         LOG.debug("Storing REST Endpoint with Path : \"{}\", STID: \"{}\"", endpoint.getPath(), endpoint.getCsarId());
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(endpoint);
+            em.getTransaction().commit();
         }
-        this.em.persist(endpoint);
-        this.em.getTransaction().commit();
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForPlanId(String triggeringContainer, final CsarId csarId, final QName planId) {
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId= :csarId and e.PlanId = :planId");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("planId", planId);
-
-        return queryWSDLEndpoint.getResultList();
+        return this.wsdlEndpoints.findByPlan(triggeringContainer, csarId, planId);
     }
 
     @Override
     public WSDLEndpoint getWSDLEndpointForIa(final CsarId csarId, final QName nodeTypeImpl, final String iaName) {
-        WSDLEndpoint endpoint = null;
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.csarId= :csarId and e.IaName = :IaName and e.TypeImplementation = :nodeTypeImpl",
-            WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("nodeTypeImpl", nodeTypeImpl);
-
-        try {
-            endpoint = (WSDLEndpoint) queryWSDLEndpoint.getSingleResult();
-        } catch (final NoResultException e) {
+        final List<WSDLEndpoint> endpoints = this.wsdlEndpoints.findByIa(csarId, nodeTypeImpl, iaName);
+        if (endpoints.isEmpty()) {
             LOG.info("No endpoint stored for requested IA.");
+            return null;
         }
-        return endpoint;
+        return endpoints.get(0);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForCsarId(String triggeringContainer, final CsarId csarId) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.csarId= :csarId and e.triggeringContainer = :triggeringContainer",
-            WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.findByCsar(triggeringContainer, csarId);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForNTImplAndIAName(String triggeringContainer, String managingContainer,
                                                                  final QName nodeTypeImpl, final String iaName) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.IaName = :IaName and e.TypeImplementation = :nodeTypeImpl and e.triggeringContainer = :triggeringContainer and e.managingContainer = :managingContainer",
-            WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("nodeTypeImpl", nodeTypeImpl);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("managingContainer", managingContainer);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.findByIa(triggeringContainer, managingContainer, nodeTypeImpl, iaName);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpoints() {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e",
-            WSDLEndpoint.class);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.findAll(e -> true);
     }
 
     @Override
     public void printPlanEndpoints() {
-        List<WSDLEndpoint> endpoints = null;
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e",
-            WSDLEndpoint.class);
-
-        endpoints = queryWSDLEndpoint.getResultList();
-
+        if (!LOG.isDebugEnabled()) {
+            return;
+        }
         final StringBuilder builder = new StringBuilder();
         final String ls = System.getProperty("line.separator");
         builder.append(
             "debug output for stored endpoints of management plans, flags: csarid, planid, ianame, porttype " + ls);
-        for (final WSDLEndpoint endpoint : endpoints) {
+        for (final WSDLEndpoint endpoint : getWSDLEndpoints()) {
             builder.append("endpoint: " + endpoint.getCsarId() + " " + endpoint.getPlanId() + " " + endpoint.getIaName()
                 + " " + endpoint.getPortType() + ls);
         }
@@ -291,33 +237,109 @@ public class CoreEndpointServiceImpl implements ICoreEndpointService, AutoClosea
 
     @Override
     public boolean removeWSDLEndpoint(final WSDLEndpoint endpoint) {
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
+        if (!this.wsdlEndpoints.remove(endpoint)) {
+            return false;
         }
-        this.em.remove(endpoint);
-        this.em.getTransaction().commit();
+        this.removalListeners.forEach(listener -> listener.accept(endpoint));
+        writeBehind(em -> {
+            if (endpoint.getId() == null) {
+                // never persisted
+                return;
+            }
+            final WSDLEndpoint stored = em.find(WSDLEndpoint.class, endpoint.getId());
+            if (stored != null) {
+                em.remove(stored);
+            }
+        }, e -> LOG.error("Failed to remove the endpoint for \"{}\" from the database", endpoint.getPortType(), e));
         return true;
     }
 
+    @Override
+    public void addWSDLEndpointRemovalListener(final Consumer<WSDLEndpoint> listener) {
+        this.removalListeners.add(listener);
+    }
+
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForSTID(String triggeringContainer, Long serviceTemplateInstanceID) {
-        final List<WSDLEndpoint> endpoints = new ArrayList<>();
-        final TypedQuery<WSDLEndpoint> queryWSDLEndpoint = this.em.createQuery(
-            "SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.serviceTemplateInstanceID= :serviceTemplateInstanceID",
-            WSDLEndpoint.class);
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("serviceTemplateInstanceID", serviceTemplateInstanceID);
-
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
+        return this.wsdlEndpoints.findByServiceTemplateInstance(triggeringContainer, serviceTemplateInstanceID);
+    }
+
+    /**
+     * Queues the given change to be written to the database by the writer thread.
+     *
+     * @param onFailure called on the writer thread if the change could not be written
+     */
+    void writeBehind(final Consumer<EntityManager> change, final Consumer<RuntimeException> onFailure) {
+        this.pendingWrites.add(new PendingWrite(change, onFailure));
+        this.writer.execute(this::writePendingChanges);
+    }
+
+    /**
+     * Writes up to one batch of queued changes in a single transaction. Changes queued while a batch is written are
+     * picked up by the tasks scheduled for them. If the batch fails, its changes are written one by one, so a failing
+     * change neither discards the others nor goes unreported.
+     */
+    private void writePendingChanges() {
+        final List<PendingWrite> batch = new ArrayList<>();
+        this.pendingWrites.drainTo(batch, WRITE_BATCH_SIZE);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (final RuntimeException e) {
+            LOG.debug("Failed to write {} endpoint changes at once, writing them one by one", batch.size(), e);
+            for (final PendingWrite pending : batch) {
+                try {
+                    write(Collections.singletonList(pending));
+                } catch (final RuntimeException failure) {
+                    pending.onFailure.accept(failure);
+                }
+            }
+        }
+    }
+
+    private static void write(final List<PendingWrite> changes) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                changes.forEach(pending -> pending.change.accept(em));
+                tx.commit();
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            }
         }
+    }
 
-        return endpoints;
+    private static WSDLEndpoint copyOf(final WSDLEndpoint endpoint) {
+        return new WSDLEndpoint(endpoint.getURI(), endpoint.getPortType(),
+            endpoint.getTriggeringContainer(), endpoint.getManagingContainer(), endpoint.getCsarId(),
+            endpoint.getServiceTemplateInstanceID(), endpoint.getPlanId(), endpoint.getTypeImplementation(),
+            endpoint.getIaName(), endpoint.getMetadata() == null ? null : new HashMap<>(endpoint.getMetadata()));
     }
 
     @Override
     public void close() {
-        em.close();
+        this.writer.shutdown();
+        try {
+            if (!this.writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Endpoint changes were not written to the database completely before shutdown");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Consumer<EntityManager> change;
+        private final Consumer<RuntimeException> onFailure;
+
+        private PendingWrite(final Consumer<EntityManager> change, final Consumer<RuntimeException> onFailure) {
+            this.change = change;
+            this.onFailure = onFailure;
+        }
     }
 }
@@ -24,12 +24,17 @@ import org.eclipse.winery.repository.importing.CsarImportOptions;
 import org.eclipse.winery.repository.importing.CsarImporter;
 import org.eclipse.winery.repository.importing.ImportMetaInformation;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.engine.ToscaEngine;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.model.csar.CsarImpl;
@@ -46,8 +51,25 @@ public class CsarStorageServiceImpl implements CsarStorageService {
 
     private static final Object repositoryFactoryConfigurationMutex = new Object();
 
+    private static final long CSAR_CACHE_SIZE = Long.parseLong(Settings.getSetting("org.opentosca.container.csar.cache.size", "64"));
+
     private final Path basePath;
 
+    /**
+     * Parsed Csars by their id. Entries must be invalidated whenever the backing repository location changes, which
+     * also drops the lookup indices the {@link ToscaEngine} keeps for them.
+     */
+    private final Cache<CsarId, Csar> csarCache = CacheBuilder.newBuilder()
+        .maximumSize(CSAR_CACHE_SIZE)
+        .recordStats()
+        .removalListener((RemovalNotification<CsarId, Csar> removal) -> {
+            // evicted Csars did not change, their indices go away together with the last reference to them
+            if (!removal.wasEvicted()) {
+                ToscaEngine.invalidate(removal.getValue());
+            }
+        })
+        .build();
+
     public CsarStorageServiceImpl() {
         try {
             Files.createDirectories(Settings.CONTAINER_STORAGE_BASEPATH);
@@ -75,7 +97,7 @@ public class CsarStorageServiceImpl implements CsarStorageService {
         try {
             for (@NonNull Path csarId : Files.newDirectoryStream(basePath, Files::isDirectory)) {
                 // FIXME make CsarId a name and put the path somewhere else
-                csars.add(new CsarImpl(new CsarId(csarId.getFileName().toString()), csarId));
+                csars.add(loadCached(new CsarId(csarId.getFileName().toString()), csarId));
             }
         } catch (IOException e) {
             LOGGER.error("Error when traversing '{}' for CSARs", basePath);
@@ -86,14 +108,27 @@ public class CsarStorageServiceImpl implements CsarStorageService {
 
     @Override
     public Csar findById(CsarId id) throws NoSuchElementException {
+        Csar cached = csarCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
         Path predictedSaveLocation = basePath.resolve(id.csarName());
         if (Files.exists(predictedSaveLocation)) {
-            return new CsarImpl(id, predictedSaveLocation);
+            return loadCached(id, predictedSaveLocation);
         }
         LOGGER.info("CSAR '{}' could not be found", id.csarName());
         throw new NoSuchElementException();
     }
 
+    private Csar loadCached(CsarId id, Path location) {
+        Csar cached = csarCache.getIfPresent(id);
+        if (cached == null) {
+            cached = new CsarImpl(id, location);
+            csarCache.put(id, cached);
+        }
+        return cached;
+    }
+
     @Override
     @Nullable
     public Path storeCSARTemporarily(String filename, InputStream is) {
@@ -114,6 +149,7 @@ public class CsarStorageServiceImpl implements CsarStorageService {
     @Override
     public CsarId storeCSAR(Path csarLocation) throws UserException, SystemException {
         LOGGER.debug("Given file to store: {}", csarLocation);
+        csarCache.invalidate(new CsarId(csarLocation.getFileName().toString()));
         if (!Files.isRegularFile(csarLocation)) {
             throw new UserException(
                 "\"" + csarLocation.toString() + "\" to store is not an absolute path to an existing file.");
@@ -183,6 +219,8 @@ public class CsarStorageServiceImpl implements CsarStorageService {
             LOGGER.warn("Could not save EntryServiceTemplate for Csar [{}] due to {}", candidateId.csarName(), e);
             throw new UserException("CSAR \"" + candidateId.csarName() + "\" could not be imported.");
         }
+        // drop anything that was read while the import was still running
+        csarCache.invalidate(candidateId);
         LOGGER.info("Successfully stored Csar as {}", candidateId.csarName());
         return candidateId;
     }
@@ -190,12 +228,14 @@ public class CsarStorageServiceImpl implements CsarStorageService {
     @Override
     public void deleteCSAR(CsarId csarId) throws SystemException, UserException {
         LOGGER.debug("Deleting CSAR \"{}\"...", csarId.csarName());
+        csarCache.invalidate(csarId);
         FileUtils.forceDelete(basePath.resolve(csarId.csarName()));
     }
 
     @Override
     public void purgeCsars() throws SystemException {
         LOGGER.debug("Deleting all CSARs...");
+        csarCache.invalidateAll();
         try {
             for (Path csarRepoContent : Files.newDirectoryStream(basePath)) {
                 LOGGER.debug("Deleting CSAR at [{}]", csarRepoContent);
@@ -233,4 +273,13 @@ public class CsarStorageServiceImpl implements CsarStorageService {
             throw new SystemException("An IO Exception occured.", e);
         }
     }
+
+    /**
+     * Exposes hit, miss and eviction counters of the parsed Csar cache backing {@link #findById(CsarId)}.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats getCacheStats() {
+        return csarCache.stats();
+    }
 }
@@ -164,4 +164,20 @@ public class FileSystem {
             }
         });
     }
+
+    /**
+     * Moves the given directory to the target location, which must not exist yet. Falls back to copying the directory
+     * if it can not be moved, e.g. because the target is on a different file store, in which case the source is left
+     * in place.
+     */
+    public static void moveDirectory(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException e) {
+            LOG.debug("Moving {} to {} failed, copying it instead", source, target, e);
+            copyDirectory(source, target);
+        }
+    }
 }
@@ -1,14 +1,24 @@
 package org.opentosca.container.core.impl.service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
@@ -16,181 +26,236 @@ import org.apache.http.client.methods.HttpOptions;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpTrace;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.cookie.Cookie;
-import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.service.IHTTPService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 /**
- * This is an implementation of the {@link IHTTPService} interface. A lot of methods currently offer only very basic
- * functionality which could be extended in the future if the need arises. All methods make use of the Apache
- * HttpComponents.
+ * This is an implementation of the {@link IHTTPService} interface. All requests are executed by a single pooled
+ * Apache HttpClient, so that connections to the same host are kept alive and reused.
+ * <p>
+ * Responses returned by the HTTP verb methods are buffered in memory, which releases their connection immediately and
+ * does not require callers to consume them. Large responses should be read with {@link #execute(HttpUriRequest,
+ * ResponseHandler)} instead, which streams the response to the handler.
  */
 @Service
-public class HttpServiceImpl implements IHTTPService {
+public class HttpServiceImpl implements IHTTPService, AutoCloseable {
 
-    @Override
-    public HttpResponse Get(final String uri, final List<Cookie> cookies) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpGet get = new HttpGet(uri);
+    private static final Logger LOG = LoggerFactory.getLogger(HttpServiceImpl.class);
 
-        if (cookies != null) {
-            for (final Cookie c : cookies) {
-                client.getCookieStore().addCookie(c);
-            }
-        }
+    private static final int MAX_CONNECTIONS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.pool.max", "200"));
+    private static final int MAX_CONNECTIONS_PER_ROUTE =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.pool.max.route", "20"));
+    private static final int IDLE_TIMEOUT_SECONDS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.pool.idle.timeout", "60"));
+    private static final int CONNECT_TIMEOUT_MILLIS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.timeout.connect", "30000"));
+    private static final int CONNECTION_REQUEST_TIMEOUT_MILLIS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.timeout.pool", "60000"));
+    // generous, as deployments on the engines may take long, but bounded so a stalled peer cannot pin a pooled
+    // connection forever
+    private static final int SOCKET_TIMEOUT_MILLIS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.timeout.socket", "600000"));
+    private static final int ASYNC_THREADS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.http.async.threads", "8"));
 
-        final HttpResponse response = client.execute(get);
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+    private final ExecutorService asyncExecutor = Executors.newFixedThreadPool(ASYNC_THREADS,
+        new ThreadFactoryBuilder().setNameFormat("http-client-%d").setDaemon(true).build());
 
-        return response;
-        // TODO Return something useful maybe... like an InputStream
+    public HttpServiceImpl() {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        this.connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        this.connectionManager.setValidateAfterInactivity(2000);
+
+        this.client = HttpClients.custom()
+            .setConnectionManager(this.connectionManager)
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .evictIdleConnections(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .evictExpiredConnections()
+            .setRedirectStrategy(new LaxRedirectStrategy())
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT_MILLIS)
+                .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MILLIS)
+                .setSocketTimeout(SOCKET_TIMEOUT_MILLIS)
+                .build())
+            .build();
+    }
+
+    @Override
+    public HttpResponse Get(final String uri, final List<Cookie> cookies) throws IOException {
+        return executeBuffered(new HttpGet(uri), withCookies(cookies));
     }
 
     @Override
     public HttpResponse Get(final String uri, final Map<String, String> headers) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpGet get = new HttpGet(uri);
-
         for (final String header : headers.keySet()) {
             get.addHeader(header, headers.get(header));
         }
-
-        final HttpResponse response = client.execute(get);
-
-        return response;
-        // TODO Return something useful maybe... like an InputStream
+        return executeBuffered(get, newContext());
     }
 
     @Override
     public HttpResponse Get(final String uri) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpGet get = new HttpGet(uri);
-        final HttpResponse response = client.execute(get);
-
-        return response;
-        // TODO Return something useful maybe... like an InputStream
+        return executeBuffered(new HttpGet(uri), newContext());
     }
 
     @Override
     public HttpResponse Get(final String uri, final String username, final String password) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.getCredentialsProvider().setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpGet get = new HttpGet(uri);
-        final HttpResponse response = client.execute(get);
-
-        return response;
-        // TODO Return something useful maybe... like an InputStream
+        return executeBuffered(new HttpGet(uri), withCredentials(username, password));
     }
 
     @Override
     public HttpResponse Head(final String uri) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpHead head = new HttpHead(uri);
-        final HttpResponse response = client.execute(head);
-        return response;
+        return executeBuffered(new HttpHead(uri), newContext());
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        final HttpResponse response = client.execute(post);
-        return response;
+        return executeBuffered(post, newContext());
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity, final Header... header) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
         post.setHeaders(header);
-        final HttpResponse response = client.execute(post);
-        return response;
+        return executeBuffered(post, newContext());
     }
 
     @Override
     public HttpResponse Post(final String uri, final HttpEntity httpEntity,
                              final List<Cookie> cookies) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        if (cookies != null) {
-            for (final Cookie c : cookies) {
-                client.getCookieStore().addCookie(c);
-            }
-        }
-        final HttpResponse response = client.execute(post);
-        return response;
+        return executeBuffered(post, withCookies(cookies));
     }
 
     @Override
     public List<Cookie> PostCookies(final String uri, final HttpEntity httpEntity) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPost post = new HttpPost(uri);
         post.setEntity(httpEntity);
-        client.execute(post);
-        final List<Cookie> cookies = client.getCookieStore().getCookies();
-        // client.getConnectionManager().shutdown();
-        return cookies;
+        final HttpClientContext context = withCookies(null);
+        executeBuffered(post, context);
+        return context.getCookieStore().getCookies();
     }
 
     @Override
     public HttpResponse Put(final String uri, final HttpEntity httpEntity) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
         final HttpPut put = new HttpPut(uri);
         put.setEntity(httpEntity);
-        final HttpResponse response = client.execute(put);
-        return response;
+        return executeBuffered(put, newContext());
     }
 
     @Override
     public HttpResponse Put(final String uri, final HttpEntity httpEntity, final String username,
                             final String password) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        client.getCredentialsProvider().setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
         final HttpPut put = new HttpPut(uri);
         put.setEntity(httpEntity);
-        final HttpResponse response = client.execute(put);
-        return response;
+        return executeBuffered(put, withCredentials(username, password));
     }
 
     @Override
     public HttpResponse Delete(final String uri) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpDelete del = new HttpDelete(uri);
-        final HttpResponse response = client.execute(del);
-        return response;
+        return executeBuffered(new HttpDelete(uri), newContext());
     }
 
     @Override
     public HttpResponse Trace(final String uri) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpTrace trace = new HttpTrace(uri);
-        final HttpResponse response = client.execute(trace);
-        return response;
+        return executeBuffered(new HttpTrace(uri), newContext());
     }
 
     @Override
     public HttpResponse Options(final String uri) throws IOException {
-        DefaultHttpClient client = new DefaultHttpClient();
-        client.setRedirectStrategy(new LaxRedirectStrategy());
-        final HttpOptions options = new HttpOptions(uri);
-        final HttpResponse response = client.execute(options);
-        return response;
+        return executeBuffered(new HttpOptions(uri), newContext());
+    }
+
+    @Override
+    public <T> T execute(final HttpUriRequest request, final ResponseHandler<? extends T> handler) throws IOException {
+        return this.client.execute(request, handler, newContext());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> executeAsync(final HttpUriRequest request,
+                                                 final ResponseHandler<? extends T> handler) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute(request, handler);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.asyncExecutor);
+    }
+
+    @Override
+    public PoolStats getPoolStats() {
+        return this.connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() throws IOException {
+        LOG.debug("Closing HTTP client, pool: {}", getPoolStats());
+        this.asyncExecutor.shutdownNow();
+        this.client.close();
+    }
+
+    /**
+     * Executes the request and buffers the response entity, so that the connection is returned to the pool.
+     */
+    private HttpResponse executeBuffered(final HttpUriRequest request, final HttpClientContext context) throws IOException {
+        try (CloseableHttpResponse response = this.client.execute(request, context)) {
+            final HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                response.setEntity(new BufferedHttpEntity(entity));
+                EntityUtils.consume(entity);
+            }
+            return response;
+        }
+    }
+
+    /**
+     * @return a context with its own cookie store, so that cookies are not shared between requests
+     */
+    private static HttpClientContext newContext() {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setCookieStore(new BasicCookieStore());
+        return context;
+    }
+
+    private static HttpClientContext withCookies(final List<Cookie> cookies) {
+        final HttpClientContext context = newContext();
+        if (cookies != null) {
+            cookies.forEach(context.getCookieStore()::addCookie);
+        }
+        return context;
+    }
+
+    private static HttpClientContext withCredentials(final String username, final String password) {
+        final CredentialsProvider credentials = new BasicCredentialsProvider();
+        credentials.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
+        final HttpClientContext context = newContext();
+        context.setCredentialsProvider(credentials);
+        return context;
     }
 }
@@ -0,0 +1,174 @@
+package org.opentosca.container.core.impl.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+
+/**
+ * Thread-safe in-memory index of the stored {@link WSDLEndpoint}s.
+ * <p>
+ * Endpoints are indexed by IA (triggering container, managing container, type implementation, IA name), by plan, by
+ * CSAR, by service template instance and by the attributes identifying a stored endpoint. Endpoints are compared by
+ * identity, because {@link WSDLEndpoint#equals(Object)} does not distinguish endpoints that are not persisted yet.
+ * <p>
+ * Like the database query it replaces, the identity of an endpoint only matches if its port type, CSAR, managing
+ * container, service template instance and plan are all set, so endpoints with one of them missing are never treated
+ * as duplicates.
+ */
+final class WSDLEndpointRegistry {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<WSDLEndpoint> endpoints = new ArrayList<>();
+    private final ListMultimap<List<Object>, WSDLEndpoint> byIa = ArrayListMultimap.create();
+    private final ListMultimap<List<Object>, WSDLEndpoint> byPlan = ArrayListMultimap.create();
+    private final ListMultimap<List<Object>, WSDLEndpoint> byCsar = ArrayListMultimap.create();
+    private final ListMultimap<List<Object>, WSDLEndpoint> byServiceTemplateInstance = ArrayListMultimap.create();
+    private final ListMultimap<List<Object>, WSDLEndpoint> byIdentity = ArrayListMultimap.create();
+
+    void add(final WSDLEndpoint endpoint) {
+        this.lock.writeLock().lock();
+        try {
+            this.endpoints.add(endpoint);
+            this.byIa.put(iaKey(endpoint), endpoint);
+            this.byPlan.put(planKey(endpoint), endpoint);
+            this.byCsar.put(csarKey(endpoint.getTriggeringContainer(), endpoint.getCsarId()), endpoint);
+            this.byServiceTemplateInstance.put(serviceTemplateInstanceKey(endpoint), endpoint);
+            final List<Object> identityKey = identityKey(endpoint);
+            if (identityKey != null) {
+                this.byIdentity.put(identityKey, endpoint);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the endpoint was registered
+     */
+    boolean remove(final WSDLEndpoint endpoint) {
+        this.lock.writeLock().lock();
+        try {
+            final Predicate<WSDLEndpoint> same = e -> e == endpoint;
+            this.byIa.get(iaKey(endpoint)).removeIf(same);
+            this.byPlan.get(planKey(endpoint)).removeIf(same);
+            this.byCsar.get(csarKey(endpoint.getTriggeringContainer(), endpoint.getCsarId())).removeIf(same);
+            this.byServiceTemplateInstance.get(serviceTemplateInstanceKey(endpoint)).removeIf(same);
+            final List<Object> identityKey = identityKey(endpoint);
+            if (identityKey != null) {
+                this.byIdentity.get(identityKey).removeIf(same);
+            }
+            return this.endpoints.removeIf(same);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether an endpoint with the same port type, CSAR, managing container, service template instance, plan,
+     * type implementation and IA name is registered
+     */
+    boolean contains(final WSDLEndpoint endpoint) {
+        final List<Object> identityKey = identityKey(endpoint);
+        return identityKey != null && !get(this.byIdentity, identityKey).isEmpty();
+    }
+
+    List<WSDLEndpoint> findByIa(final String triggeringContainer, final String managingContainer,
+                                final QName typeImplementation, final String iaName) {
+        return get(this.byIa, key(triggeringContainer, managingContainer, typeImplementation, iaName));
+    }
+
+    List<WSDLEndpoint> findByIa(final CsarId csarId, final QName typeImplementation, final String iaName) {
+        return findAll(e -> Objects.equals(e.getCsarId(), csarId)
+            && Objects.equals(e.getTypeImplementation(), typeImplementation)
+            && Objects.equals(e.getIaName(), iaName));
+    }
+
+    List<WSDLEndpoint> findByPlan(final String triggeringContainer, final CsarId csarId, final QName planId) {
+        return get(this.byPlan, key(triggeringContainer, csarId, planId));
+    }
+
+    List<WSDLEndpoint> findByCsar(final String triggeringContainer, final CsarId csarId) {
+        return get(this.byCsar, csarKey(triggeringContainer, csarId));
+    }
+
+    List<WSDLEndpoint> findByServiceTemplateInstance(final String triggeringContainer,
+                                                     final Long serviceTemplateInstanceId) {
+        return get(this.byServiceTemplateInstance, key(triggeringContainer, serviceTemplateInstanceId));
+    }
+
+    List<WSDLEndpoint> findAll(final Predicate<WSDLEndpoint> filter) {
+        this.lock.readLock().lock();
+        try {
+            return this.endpoints.stream().filter(filter).collect(Collectors.toList());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.endpoints.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private List<WSDLEndpoint> get(final ListMultimap<List<Object>, WSDLEndpoint> index, final List<Object> key) {
+        this.lock.readLock().lock();
+        try {
+            return new ArrayList<>(index.get(key));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private static List<Object> iaKey(final WSDLEndpoint endpoint) {
+        return key(endpoint.getTriggeringContainer(), endpoint.getManagingContainer(),
+            endpoint.getTypeImplementation(), endpoint.getIaName());
+    }
+
+    private static List<Object> planKey(final WSDLEndpoint endpoint) {
+        return key(endpoint.getTriggeringContainer(), endpoint.getCsarId(), endpoint.getPlanId());
+    }
+
+    private static List<Object> csarKey(final String triggeringContainer, final CsarId csarId) {
+        return key(triggeringContainer, csarId);
+    }
+
+    private static List<Object> serviceTemplateInstanceKey(final WSDLEndpoint endpoint) {
+        return key(endpoint.getTriggeringContainer(), endpoint.getServiceTemplateInstanceID());
+    }
+
+    /**
+     * @return the identity of the endpoint, or <code>null</code> if one of the attributes compared by the database
+     * query is missing
+     */
+    private static List<Object> identityKey(final WSDLEndpoint endpoint) {
+        final List<Object> required = key(endpoint.getPortType(), endpoint.getCsarId(),
+            endpoint.getManagingContainer(), endpoint.getServiceTemplateInstanceID(), endpoint.getPlanId());
+        if (required.contains(null)) {
+            return null;
+        }
+        return key(endpoint.getPortType(), endpoint.getCsarId(), endpoint.getManagingContainer(),
+            endpoint.getServiceTemplateInstanceID(), endpoint.getPlanId(), endpoint.getTypeImplementation(),
+            endpoint.getIaName());
+    }
+
+    private static List<Object> key(final Object... parts) {
+        return Arrays.asList(parts);
+    }
+}
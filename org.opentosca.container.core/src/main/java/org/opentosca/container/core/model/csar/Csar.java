@@ -22,6 +22,14 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.model.AbstractFile;
 import org.opentosca.container.core.model.csar.backwards.ToscaMetaFileReplacement;
 
+/**
+ * A stored CSAR and the TOSCA definitions it contains.
+ * <p>
+ * Instances are cached by the {@link org.opentosca.container.core.service.CsarStorageService}, so all callers share the
+ * same instance and the same definition objects. The returned lists are unmodifiable and neither they nor the
+ * definitions they contain must be modified; changes to a CSAR go through the storage service, which discards the
+ * cached instance.
+ */
 @NonNullByDefault
 public interface Csar {
 
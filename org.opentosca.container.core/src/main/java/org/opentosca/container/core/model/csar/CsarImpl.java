@@ -13,7 +13,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -47,6 +49,7 @@ import org.eclipse.winery.repository.datatypes.ids.elements.SelfServiceMetaDataI
 import org.eclipse.winery.repository.exceptions.RepositoryCorruptException;
 import org.eclipse.winery.repository.export.CsarExporter;
 
+import com.google.common.base.Suppliers;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opentosca.container.core.model.AbstractFile;
@@ -55,6 +58,14 @@ import org.opentosca.container.core.model.csar.backwards.ToscaMetaFileReplacemen
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Csar backed by an unpacked winery repository.
+ * <p>
+ * Definitions are unmarshalled lazily on first access and kept for the lifetime of the instance, so repeated accessor
+ * calls don't hit the repository again. The returned lists are unmodifiable. Instances are cached by the {@link
+ * org.opentosca.container.core.service.CsarStorageService}, which is responsible for discarding them once the
+ * underlying repository changes.
+ */
 public class CsarImpl implements Csar {
 
     public static final String ENTRY_SERVICE_TEMPLATE_LOCATION = "EntryServiceTemplate";
@@ -66,6 +77,15 @@ public class CsarImpl implements Csar {
     // TODO evaluate putting the savelocation into an additional field here!
     private final IRepository wineryRepo;
 
+    private final Supplier<List<TArtifactTemplate>> artifactTemplates;
+    private final Supplier<List<TServiceTemplate>> serviceTemplates;
+    private final Supplier<List<TPolicyTemplate>> policyTemplates;
+    private final Supplier<List<TNodeType>> nodeTypes;
+    private final Supplier<List<TNodeTypeImplementation>> nodeTypeImplementations;
+    private final Supplier<List<TRelationshipTypeImplementation>> relationshipTypeImplementations;
+    private final Supplier<List<TDefinitions>> definitions;
+    private final Map<DefinitionsChildId, TExtensibleElements> elements = new ConcurrentHashMap<>();
+
     // this is just for bridging purposes
     @Deprecated
     private @NonNull Path saveLocation;
@@ -75,6 +95,23 @@ public class CsarImpl implements Csar {
         this.saveLocation = location;
         wineryRepo = RepositoryFactory.getRepository(location);
         entryServiceTemplate = readEntryServiceTemplate(location);
+
+        artifactTemplates = memoizedElements(ArtifactTemplateId.class);
+        serviceTemplates = memoizedElements(ServiceTemplateId.class);
+        policyTemplates = memoizedElements(PolicyTemplateId.class);
+        nodeTypes = memoizedElements(NodeTypeId.class);
+        nodeTypeImplementations = memoizedElements(NodeTypeImplementationId.class);
+        relationshipTypeImplementations = memoizedElements(RelationshipTypeImplementationId.class);
+        definitions = Suppliers.memoize(() -> Collections.unmodifiableList(wineryRepo.getAllDefinitionsChildIds().stream()
+            .map(wineryRepo::getDefinitions)
+            .collect(Collectors.toList())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TExtensibleElements> Supplier<List<T>> memoizedElements(Class<? extends DefinitionsChildId> idClass) {
+        return Suppliers.memoize(() -> Collections.unmodifiableList(wineryRepo.getAllDefinitionsChildIds(idClass).stream()
+            .map(id -> (T) queryRepository(id))
+            .collect(Collectors.toList())));
     }
 
     private Optional<ServiceTemplateId> readEntryServiceTemplate(Path csarLocation) {
@@ -95,39 +132,31 @@ public class CsarImpl implements Csar {
 
     @Override
     public List<TArtifactTemplate> artifactTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(ArtifactTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return artifactTemplates.get();
     }
 
     @Override
     public List<TServiceTemplate> serviceTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(ServiceTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return serviceTemplates.get();
     }
 
     @Override
     public List<TPolicyTemplate> policyTemplates() {
-        return wineryRepo.getAllDefinitionsChildIds(PolicyTemplateId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return policyTemplates.get();
     }
 
     @Override
     public TServiceTemplate entryServiceTemplate() {
         // FIXME stop mapping between Optional and nullable.
         if (entryServiceTemplate.isPresent()) {
-            return wineryRepo.getElement(entryServiceTemplate.get());
+            return (TServiceTemplate) queryRepository(entryServiceTemplate.get());
         }
         return null;
     }
 
     @Override
     public List<TDefinitions> definitions() {
-        return wineryRepo.getAllDefinitionsChildIds().stream()
-            .map(wineryRepo::getDefinitions)
-            .collect(Collectors.toList());
+        return definitions.get();
     }
 
     @Override
@@ -165,28 +194,22 @@ public class CsarImpl implements Csar {
 
     @Override
     public List<TNodeType> nodeTypes() {
-        return wineryRepo.getAllDefinitionsChildIds(NodeTypeId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return nodeTypes.get();
     }
 
     @Override
     public List<TNodeTypeImplementation> nodeTypeImplementations() {
-        return wineryRepo.getAllDefinitionsChildIds(NodeTypeImplementationId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return nodeTypeImplementations.get();
     }
 
     @Override
     public List<TRelationshipTypeImplementation> relationshipTypeImplementations() {
-        return wineryRepo.getAllDefinitionsChildIds(RelationshipTypeImplementationId.class).stream()
-            .map(wineryRepo::getElement)
-            .collect(Collectors.toList());
+        return relationshipTypeImplementations.get();
     }
 
     @Override
     public TExtensibleElements queryRepository(DefinitionsChildId id) {
-        return wineryRepo.getElement(id);
+        return elements.computeIfAbsent(id, wineryRepo::getElement);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package org.opentosca.container.core.next.jpa;
 
-import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +25,7 @@ public final class EntityManagerProvider {
         // Therefore, we set the "javax.persistence.jdbc.url" property via code.
         cfg.put("javax.persistence.jdbc.url", JDBC_URL);
         emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, cfg);
+        PropertyEntryMigration.run();
     }
 
     public static AutoCloseableEntityManager createEntityManager() {
@@ -33,14 +33,22 @@ public final class EntityManagerProvider {
     }
 
     public static AutoCloseableEntityManager createEntityManager(final EntityManager em) {
-        return proxyOf(em);
+        return new DelegatingEntityManager(em, true);
     }
 
-    private static AutoCloseableEntityManager proxyOf(final EntityManager em) {
-        return (AutoCloseableEntityManager) Proxy.newProxyInstance(EntityManagerProvider.class.getClassLoader(),
-            new Class[] {AutoCloseableEntityManager.class},
-            (proxy, method, args) -> {
-                return method.invoke(em, args);
-            });
+    /**
+     * Returns the EntityManager of the {@link UnitOfWork} running on the current thread, or a new one if there is
+     * none. Closing the returned EntityManager only has an effect in the latter case.
+     */
+    public static AutoCloseableEntityManager joinOrCreateEntityManager() {
+        final EntityManager current = UnitOfWork.currentEntityManager();
+        if (current != null) {
+            return new DelegatingEntityManager(current, false);
+        }
+        return createEntityManager();
+    }
+
+    static EntityManager createRawEntityManager() {
+        return emf.createEntityManager();
     }
 }
@@ -0,0 +1,72 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityTransaction;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.PersistenceObject;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Derives the property entries of the instances stored before property entries were introduced, as filtering by
+ * property only considers the entries.
+ * <p>
+ * Runs when the {@link EntityManagerProvider} is initialized. Instances get their entries whenever their properties are
+ * set, so only the first run after an upgrade finds instances to migrate.
+ */
+final class PropertyEntryMigration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PropertyEntryMigration.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private PropertyEntryMigration() {
+    }
+
+    static void run() {
+        migrate(NodeTemplateInstance.class, NodeTemplateInstance::migratePropertyEntries);
+        migrate(RelationshipTemplateInstance.class, RelationshipTemplateInstance::migratePropertyEntries);
+        migrate(ServiceTemplateInstance.class, ServiceTemplateInstance::migratePropertyEntries);
+    }
+
+    private static <T extends PersistenceObject> void migrate(final Class<T> type, final Consumer<T> migration) {
+        // instances without XML property, or with one that has no properties, keep having no entries
+        final String query = "SELECT e FROM " + type.getSimpleName() + " e WHERE e.id > :after "
+            + "AND e.properties IS NOT EMPTY AND e.propertyEntries IS EMPTY ORDER BY e.id";
+        long after = 0;
+        int migrated = 0;
+        List<T> batch;
+        do {
+            try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+                final EntityTransaction tx = em.getTransaction();
+                tx.begin();
+                try {
+                    batch = em.createQuery(query, type)
+                        .setParameter("after", after)
+                        .setMaxResults(BATCH_SIZE)
+                        .getResultList();
+                    batch.forEach(migration);
+                    tx.commit();
+                } catch (final RuntimeException e) {
+                    if (tx.isActive()) {
+                        tx.rollback();
+                    }
+                    LOG.warn("Could not derive the property entries of stored {}s", type.getSimpleName(), e);
+                    return;
+                }
+            }
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).getId();
+                migrated += batch.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        if (migrated > 0) {
+            LOG.info("Migrated {} stored {}s to property entries", migrated, type.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+/**
+ * Groups several repository operations into a single {@link EntityManager} and transaction.
+ * <p>
+ * While a unit of work is open on the current thread, all {@link org.opentosca.container.core.next.repository.JpaRepository}
+ * operations share its EntityManager instead of opening one per call. Changes are only written once {@link #commit()}
+ * is called, closing the unit of work without committing rolls them back:
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     repository.add(first);
+ *     repository.update(second);
+ *     uow.commit();
+ * }
+ * </pre>
+ * Units of work may be nested, in which case the inner one joins the outer one. Committing the inner unit of work is a
+ * no-op, closing it without committing marks the outer transaction for rollback.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final EntityManager em;
+    private final boolean outermost;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private boolean committed = false;
+
+    private UnitOfWork(final EntityManager em, final boolean outermost) {
+        this.em = em;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Opens a unit of work on the current thread, or joins the one that is already open.
+     */
+    public static UnitOfWork begin() {
+        final UnitOfWork current = CURRENT.get();
+        if (current != null) {
+            return new UnitOfWork(current.em, false);
+        }
+        final EntityManager em = EntityManagerProvider.createRawEntityManager();
+        em.getTransaction().begin();
+        final UnitOfWork unitOfWork = new UnitOfWork(em, true);
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * @return whether a unit of work is open on the current thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs the given action once the unit of work open on the current thread is committed, or immediately if there is
+     * none. The action is discarded if the unit of work is rolled back.
+     */
+    public static void afterCommit(final Runnable action) {
+        final UnitOfWork current = CURRENT.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * @return the EntityManager of the unit of work open on the current thread, or <code>null</code> if there is none
+     */
+    static EntityManager currentEntityManager() {
+        final UnitOfWork current = CURRENT.get();
+        return current == null ? null : current.em;
+    }
+
+    public void commit() {
+        committed = true;
+        if (outermost) {
+            em.getTransaction().commit();
+            afterCommit.forEach(Runnable::run);
+            afterCommit.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!outermost) {
+            if (!committed && em.getTransaction().isActive()) {
+                em.getTransaction().setRollbackOnly();
+            }
+            return;
+        }
+        try {
+            final EntityTransaction tx = em.getTransaction();
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+        } finally {
+            CURRENT.remove();
+            em.close();
+        }
+    }
+}
@@ -6,15 +6,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -25,10 +27,12 @@ import javax.xml.namespace.QName;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.opentosca.container.core.common.jpa.QNameConverter;
-import org.opentosca.container.core.next.xml.PropertyParser;
 
 @Entity
-@Table(name = NodeTemplateInstance.TABLE_NAME)
+@Table(name = NodeTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IDX_NTI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+    @Index(name = "IDX_NTI_TEMPLATE_TYPE", columnList = "TEMPLATE_TYPE")
+})
 public class NodeTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "NODE_TEMPLATE_INSTANCE";
@@ -44,6 +48,13 @@ public class NodeTemplateInstance extends PersistenceObject {
     @JsonIgnore
     private Set<NodeTemplateInstanceProperty> properties = new HashSet<>();
 
+    @ElementCollection
+    @CollectionTable(name = NodeTemplateInstance.TABLE_NAME + "_" + PropertyEntry.TABLE_NAME,
+        joinColumns = @JoinColumn(name = "NODE_TEMPLATE_INSTANCE_ID"),
+        indexes = @Index(name = "IDX_NTI_PROPERTY_ENTRY", columnList = "NAME, VALUE"))
+    @JsonIgnore
+    private List<PropertyEntry> propertyEntries = new ArrayList<>();
+
     @ManyToOne
     @JoinColumn(name = "SERVICE_TEMPLATE_INSTANCE_ID")
     private ServiceTemplateInstance serviceTemplateInstance;
@@ -90,6 +101,7 @@ public class NodeTemplateInstance extends PersistenceObject {
 
     public void setProperties(final Set<NodeTemplateInstanceProperty> properties) {
         this.properties = properties;
+        updatePropertyEntries();
     }
 
     public void addProperty(final NodeTemplateInstanceProperty property) {
@@ -100,23 +112,36 @@ public class NodeTemplateInstance extends PersistenceObject {
         if (property.getNodeTemplateInstance() != this) {
             property.setNodeTemplateInstance(this);
         }
+        updatePropertyEntries();
+    }
+
+    /**
+     * @return the entries of the XML property, which can be queried without parsing the XML
+     */
+    public List<PropertyEntry> getPropertyEntries() {
+        return this.propertyEntries;
     }
 
     /*
-     * Currently, the plan writes all properties as one XML document into the database. Therefore,
-     * we parse this XML and return a Map<String, String>.
+     * Currently, the plan writes all properties as one XML document into the database. The document is split into
+     * property entries whenever it is set, which are returned as Map<String, String> without parsing the document.
      */
     @JsonProperty("properties")
     public Map<String, String> getPropertiesAsMap() {
-        final PropertyParser parser = new PropertyParser();
-        final NodeTemplateInstanceProperty prop =
-            getProperties().stream()
-                .filter(p -> p.getType().equalsIgnoreCase("xml"))
-                .collect(Collectors.reducing((a, b) -> null)).orElse(null);
-        if (prop != null) {
-            return parser.parse(prop.getValue());
-        }
-        return null;
+        return PropertyEntry.toMap(getProperties(), this.propertyEntries);
+    }
+
+    /**
+     * Derives the property entries from the XML property if there are none, because the instance was stored before
+     * property entries were introduced. Called on managed instances by the repository and the startup migration.
+     */
+    public void migratePropertyEntries() {
+        PropertyEntry.migrate(this.propertyEntries, getProperties());
+    }
+
+    private void updatePropertyEntries() {
+        // replaced instead of cleared, as the entries of a detached instance may not be loaded
+        this.propertyEntries = PropertyEntry.of(this.properties);
     }
 
     public ServiceTemplateInstance getServiceTemplateInstance() {
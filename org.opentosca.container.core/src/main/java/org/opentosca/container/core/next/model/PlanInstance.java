@@ -12,6 +12,7 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -23,17 +24,24 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.opentosca.container.core.common.jpa.QNameConverter;
 
 @Entity
-@Table(name = PlanInstance.TABLE_NAME)
+// correlationId is unique and therefore already indexed
+@Table(name = PlanInstance.TABLE_NAME, indexes = {
+    @Index(name = "IDX_PI_CHOREOGRAPHY_CORRELATION_ID", columnList = PlanInstance.CHOREOGRAPHY_CORRELATION_ID_COLUMN),
+    @Index(name = "IDX_PI_TEMPLATE_ID", columnList = "TEMPLATE_ID")
+})
 public class PlanInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "PLAN_INSTANCE";
 
+    // the name the column had before it was named explicitly, so existing databases keep their data
+    static final String CHOREOGRAPHY_CORRELATION_ID_COLUMN = "choreographyCorrelationId";
+
     private static final long serialVersionUID = -1289110419946090305L;
 
     @Column(nullable = false, unique = true)
     private String correlationId;
 
-    @Column(nullable = true)
+    @Column(name = CHOREOGRAPHY_CORRELATION_ID_COLUMN, nullable = true)
     private String choreographyCorrelationId;
 
     @Column(nullable = true)
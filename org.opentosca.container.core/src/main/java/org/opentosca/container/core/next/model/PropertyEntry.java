@@ -0,0 +1,145 @@
+package org.opentosca.container.core.next.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+import org.hibernate.Hibernate;
+import org.opentosca.container.core.next.xml.PropertyParser;
+
+/**
+ * A single property of an instance, stored next to the XML document of all properties so that properties can be read
+ * without parsing the document and instances can be queried by property.
+ * <p>
+ * The entries of an instance are derived from its XML property whenever it is set and must not be modified otherwise.
+ * The static helpers implement this for all instance types, which only differ in the tables they are mapped to.
+ */
+@Embeddable
+public class PropertyEntry implements Serializable {
+
+    public static final String TABLE_NAME = "PROPERTY_ENTRY";
+
+    private static final long serialVersionUID = -3618040316734802177L;
+
+    @Column(name = "NAME", nullable = false)
+    private String name;
+
+    @Column(name = "VALUE", columnDefinition = "varchar(max)")
+    private String value;
+
+    // 0-args constructor for JPA
+    public PropertyEntry() {
+    }
+
+    public PropertyEntry(final String name, final String value) {
+        this.name = Objects.requireNonNull(name);
+        this.value = value;
+    }
+
+    /**
+     * @return the entries of the XML property of an instance with the given properties
+     */
+    static List<PropertyEntry> of(final Collection<? extends Property> properties) {
+        return parse(xmlProperty(properties));
+    }
+
+    /**
+     * @return the properties of an instance as map, read from its entries unless they are not loaded, or
+     * <code>null</code> if the instance has no XML property
+     */
+    static Map<String, String> toMap(final Collection<? extends Property> properties, final List<PropertyEntry> entries) {
+        final Property xmlProperty = xmlProperty(properties);
+        if (xmlProperty == null) {
+            return null;
+        }
+        if (!Hibernate.isInitialized(entries)) {
+            // a detached instance loaded without its entries
+            return toMap(parse(xmlProperty));
+        }
+        return toMap(entries);
+    }
+
+    /**
+     * Adds the entries of the XML property of an instance with the given properties, unless it already has entries.
+     */
+    static void migrate(final List<PropertyEntry> entries, final Collection<? extends Property> properties) {
+        if (entries.isEmpty()) {
+            entries.addAll(of(properties));
+        }
+    }
+
+    /**
+     * @return the entries of the given XML property document, empty if there is none or it can not be parsed
+     */
+    private static List<PropertyEntry> parse(final Property xmlProperty) {
+        final List<PropertyEntry> entries = new ArrayList<>();
+        if (xmlProperty == null || xmlProperty.getValue() == null) {
+            return entries;
+        }
+        try {
+            new PropertyParser().parse(xmlProperty.getValue()).forEach((name, value) -> entries.add(new PropertyEntry(name, value)));
+        } catch (final RuntimeException e) {
+            // e.g. a document without root element, reading the properties reports the error
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * @return the given entries as map, in the order of the XML document
+     */
+    private static Map<String, String> toMap(final Collection<PropertyEntry> entries) {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        entries.forEach(entry -> properties.put(entry.name, entry.value));
+        return properties;
+    }
+
+    /**
+     * @return the only property of type 'xml' of the given properties, or <code>null</code> if there is none or more
+     * than one
+     */
+    private static <P extends Property> P xmlProperty(final Collection<P> properties) {
+        P result = null;
+        for (final P property : properties) {
+            if ("xml".equalsIgnoreCase(property.getType())) {
+                if (result != null) {
+                    return null;
+                }
+                result = property;
+            }
+        }
+        return result;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || this.getClass() != o.getClass()) {
+            return false;
+        }
+        final PropertyEntry entry = (PropertyEntry) o;
+        return Objects.equals(this.name, entry.name) && Objects.equals(this.value, entry.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.value);
+    }
+}
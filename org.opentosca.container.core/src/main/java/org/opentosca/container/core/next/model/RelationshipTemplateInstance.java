@@ -1,15 +1,21 @@
 package org.opentosca.container.core.next.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -17,10 +23,13 @@ import javax.persistence.OrderBy;
 import javax.persistence.Table;
 import javax.xml.namespace.QName;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.opentosca.container.core.common.jpa.QNameConverter;
 
 @Entity
-@Table(name = RelationshipTemplateInstance.TABLE_NAME)
+@Table(name = RelationshipTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IDX_RTI_TEMPLATE_ID", columnList = "TEMPLATE_ID")
+})
 public class RelationshipTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "RELATIONSHIP_TEMPLATE_INSTANCE";
@@ -39,6 +48,13 @@ public class RelationshipTemplateInstance extends PersistenceObject {
     @OneToMany(mappedBy = "relationshipTemplateInstance", cascade = {CascadeType.ALL})
     private Set<RelationshipTemplateInstanceProperty> properties = new HashSet<>();
 
+    @ElementCollection
+    @CollectionTable(name = RelationshipTemplateInstance.TABLE_NAME + "_" + PropertyEntry.TABLE_NAME,
+        joinColumns = @JoinColumn(name = "RELATIONSHIP_TEMPLATE_INSTANCE_ID"),
+        indexes = @Index(name = "IDX_RTI_PROPERTY_ENTRY", columnList = "NAME, VALUE"))
+    @JsonIgnore
+    private List<PropertyEntry> propertyEntries = new ArrayList<>();
+
     @ManyToOne
     @JoinColumn(name = "SOURCE_ID")
     private NodeTemplateInstance source;
@@ -71,6 +87,7 @@ public class RelationshipTemplateInstance extends PersistenceObject {
 
     public void setProperties(final Set<RelationshipTemplateInstanceProperty> properties) {
         this.properties = properties;
+        updatePropertyEntries();
     }
 
     public void addProperty(final RelationshipTemplateInstanceProperty property) {
@@ -81,6 +98,35 @@ public class RelationshipTemplateInstance extends PersistenceObject {
         if (property.getRelationshipTemplateInstance() != this) {
             property.setRelationshipTemplateInstance(this);
         }
+        updatePropertyEntries();
+    }
+
+    /**
+     * @return the entries of the XML property, which can be queried without parsing the XML
+     */
+    public List<PropertyEntry> getPropertyEntries() {
+        return this.propertyEntries;
+    }
+
+    /**
+     * @return the properties of the XML property as Map, or <code>null</code> if there is no XML property
+     */
+    @JsonIgnore
+    public Map<String, String> getPropertiesAsMap() {
+        return PropertyEntry.toMap(getProperties(), this.propertyEntries);
+    }
+
+    /**
+     * Derives the property entries from the XML property if there are none, because the instance was stored before
+     * property entries were introduced. Called on managed instances by the repository and the startup migration.
+     */
+    public void migratePropertyEntries() {
+        PropertyEntry.migrate(this.propertyEntries, getProperties());
+    }
+
+    private void updatePropertyEntries() {
+        // replaced instead of cleared, as the entries of a detached instance may not be loaded
+        this.propertyEntries = PropertyEntry.of(this.properties);
     }
 
     public ServiceTemplateInstance getServiceTemplateInstance() {
@@ -9,11 +9,17 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
 import javax.persistence.Convert;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.Table;
@@ -23,15 +29,26 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.opentosca.container.core.common.jpa.CsarIdConverter;
 import org.opentosca.container.core.common.jpa.DocumentConverter;
 import org.opentosca.container.core.model.csar.CsarId;
-import org.opentosca.container.core.next.xml.PropertyParser;
 import org.w3c.dom.Document;
 
 @Entity
-@Table(name = ServiceTemplateInstance.TABLE_NAME)
+@Table(name = ServiceTemplateInstance.TABLE_NAME, indexes = {
+    @Index(name = "IDX_STI_TEMPLATE_ID", columnList = "TEMPLATE_ID"),
+    @Index(name = "IDX_STI_CSAR_ID", columnList = "CSAR_ID")
+})
+@NamedEntityGraph(name = ServiceTemplateInstance.GRAPH_PROPERTIES, attributeNodes = {
+    @NamedAttributeNode("properties"),
+    @NamedAttributeNode("propertyEntries")
+})
 public class ServiceTemplateInstance extends PersistenceObject {
 
     public static final String TABLE_NAME = "SERVICE_TEMPLATE_INSTANCE";
 
+    /**
+     * Fetch graph loading the scalar columns and the properties, but none of the node, relationship or plan instances.
+     */
+    public static final String GRAPH_PROPERTIES = "ServiceTemplateInstance.properties";
+
     private static final long serialVersionUID = 6652347924001914320L;
 
     @Column(nullable = false)
@@ -62,6 +79,13 @@ public class ServiceTemplateInstance extends PersistenceObject {
     @JsonIgnore
     private Set<ServiceTemplateInstanceProperty> properties = new HashSet<>();
 
+    @ElementCollection
+    @CollectionTable(name = ServiceTemplateInstance.TABLE_NAME + "_" + PropertyEntry.TABLE_NAME,
+        joinColumns = @JoinColumn(name = "SERVICE_TEMPLATE_INSTANCE_ID"),
+        indexes = @Index(name = "IDX_STI_PROPERTY_ENTRY", columnList = "NAME, VALUE"))
+    @JsonIgnore
+    private List<PropertyEntry> propertyEntries = new ArrayList<>();
+
     @OrderBy("createdAt DESC")
     @OneToMany(mappedBy = "serviceTemplateInstance")
     @JsonIgnore
@@ -157,6 +181,7 @@ public class ServiceTemplateInstance extends PersistenceObject {
 
     public void setProperties(final Set<ServiceTemplateInstanceProperty> properties) {
         this.properties = properties;
+        updatePropertyEntries();
     }
 
     public void addProperty(final ServiceTemplateInstanceProperty property) {
@@ -167,22 +192,31 @@ public class ServiceTemplateInstance extends PersistenceObject {
         if (property.getServiceTemplateInstance() != this) {
             property.setServiceTemplateInstance(this);
         }
+        updatePropertyEntries();
+    }
+
+    /**
+     * @return the entries of the XML property, which can be queried without parsing the XML
+     */
+    public List<PropertyEntry> getPropertyEntries() {
+        return this.propertyEntries;
     }
 
     /*
-     * Currently, the plan writes all properties as one XML document into the database. Therefore, we
-     * parse this XML and return a Map<String, String>.
+     * Currently, the plan writes all properties as one XML document into the database. The document is split into
+     * property entries whenever it is set, which are returned as Map<String, String> without parsing the document.
      */
     @JsonProperty("properties")
     public Map<String, String> getPropertiesAsMap() {
-        final PropertyParser parser = new PropertyParser();
-        final ServiceTemplateInstanceProperty prop =
-            getProperties().stream().filter(p -> p.getType().equalsIgnoreCase("xml"))
-                .collect(Collectors.reducing((a, b) -> null)).orElse(null);
-        if (prop != null) {
-            return parser.parse(prop.getValue());
-        }
-        return null;
+        return PropertyEntry.toMap(getProperties(), this.propertyEntries);
+    }
+
+    /**
+     * Derives the property entries from the XML property if there are none, because the instance was stored before
+     * property entries were introduced. Called on managed instances by the repository and the startup migration.
+     */
+    public void migratePropertyEntries() {
+        PropertyEntry.migrate(this.propertyEntries, getProperties());
     }
 
     public Document getPropertiesAsDocument() {
@@ -197,6 +231,11 @@ public class ServiceTemplateInstance extends PersistenceObject {
         return null;
     }
 
+    private void updatePropertyEntries() {
+        // replaced instead of cleared, as the entries of a detached instance may not be loaded
+        this.propertyEntries = PropertyEntry.of(this.properties);
+    }
+
     public List<DeploymentTest> getDeploymentTests() {
         return this.deploymentTests;
     }
@@ -0,0 +1,54 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import org.opentosca.container.core.model.csar.CsarId;
+
+/**
+ * Read-only projection of the scalar columns of a {@link ServiceTemplateInstance}. Loading it does not touch any of
+ * the associations of the instance, which makes it the cheapest way to list instances or to check their ownership.
+ */
+public class ServiceTemplateInstanceSummary {
+
+    private final Long id;
+    private final Date createdAt;
+    private final CsarId csarId;
+    private final String templateId;
+    private final ServiceTemplateInstanceState state;
+    private final String creationCorrelationId;
+
+    public ServiceTemplateInstanceSummary(final Long id, final Date createdAt, final CsarId csarId,
+                                          final String templateId, final ServiceTemplateInstanceState state,
+                                          final String creationCorrelationId) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.csarId = csarId;
+        this.templateId = templateId;
+        this.state = state;
+        this.creationCorrelationId = creationCorrelationId;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public CsarId getCsarId() {
+        return this.csarId;
+    }
+
+    public String getTemplateId() {
+        return this.templateId;
+    }
+
+    public ServiceTemplateInstanceState getState() {
+        return this.state;
+    }
+
+    public String getCreationCorrelationId() {
+        return this.creationCorrelationId;
+    }
+}
@@ -7,6 +7,7 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
@@ -18,7 +19,9 @@ import org.opentosca.container.core.common.jpa.CsarIdConverter;
 import org.opentosca.container.core.model.csar.CsarId;
 
 @Entity
-@Table(name = SituationTrigger.TABLE_NAME)
+@Table(name = SituationTrigger.TABLE_NAME, indexes = {
+    @Index(name = "IDX_ST_CSAR_ID", columnList = "CSAR_ID")
+})
 public class SituationTrigger extends PersistenceObject {
 
     public static final String TABLE_NAME = "SITUATION_TRIGGER";
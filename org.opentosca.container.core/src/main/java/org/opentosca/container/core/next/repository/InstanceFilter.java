@@ -0,0 +1,84 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Keyset page and filter criteria for instance listings.
+ * <p>
+ * Results are ordered by id. A page contains at most {@code limit} elements with an id greater than {@code after}.
+ * {@code null} criteria do not restrict the result. Filtering by property values is only supported by instances with
+ * property entries, i.e. service, node and relationship template instances.
+ */
+public final class InstanceFilter {
+
+    private static final InstanceFilter ALL = new InstanceFilter(null, null, null, null, null);
+
+    private final Long after;
+    private final Integer limit;
+    private final Collection<?> states;
+    private final Date createdAfter;
+    private final Date createdBefore;
+    private final Map<String, String> properties;
+
+    public InstanceFilter(final Long after, final Integer limit, final Collection<?> states,
+                          final Date createdAfter, final Date createdBefore) {
+        this(after, limit, states, createdAfter, createdBefore, null);
+    }
+
+    public InstanceFilter(final Long after, final Integer limit, final Collection<?> states,
+                          final Date createdAfter, final Date createdBefore, final Map<String, String> properties) {
+        this.after = after;
+        this.limit = limit;
+        this.states = states == null ? Collections.emptyList() : states;
+        this.createdAfter = createdAfter;
+        this.createdBefore = createdBefore;
+        this.properties = properties == null ? Collections.emptyMap() : properties;
+    }
+
+    public static InstanceFilter all() {
+        return ALL;
+    }
+
+    /**
+     * @return a copy of this filter selecting the page of at most {@code limit} elements following {@code after}
+     */
+    public InstanceFilter page(final Long after, final Integer limit) {
+        return new InstanceFilter(after, limit, this.states, this.createdAfter, this.createdBefore, this.properties);
+    }
+
+    public Long getAfter() {
+        return this.after;
+    }
+
+    public Integer getLimit() {
+        return this.limit;
+    }
+
+    public Collection<?> getStates() {
+        return this.states;
+    }
+
+    /**
+     * @return the inclusive lower bound of the creation time
+     */
+    public Date getCreatedAfter() {
+        return this.createdAfter;
+    }
+
+    /**
+     * @return the exclusive upper bound of the creation time
+     */
+    public Date getCreatedBefore() {
+        return this.createdBefore;
+    }
+
+    /**
+     * @return the property values, by property name, the instances must have
+     */
+    public Map<String, String> getProperties() {
+        return this.properties;
+    }
+}
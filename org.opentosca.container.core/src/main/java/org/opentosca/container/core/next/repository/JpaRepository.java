@@ -1,15 +1,35 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Base class for repositories of the instance data model.
+ * <p>
+ * Every operation uses the EntityManager of the {@link org.opentosca.container.core.next.jpa.UnitOfWork} open on the
+ * calling thread and participates in its transaction. Without a unit of work, each operation runs in its own
+ * EntityManager and transaction.
+ */
 public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     protected static final Logger logger = LoggerFactory.getLogger(JpaRepository.class);
@@ -21,72 +41,31 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public void add(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.persist(entity);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        executeInTransaction(em -> em.persist(entity));
     }
 
     @Override
     public void add(final Iterable<T> items) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            items.forEach(em::persist);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        executeInTransaction(em -> items.forEach(em::persist));
     }
 
     @Override
     public void update(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.merge(entity);
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        executeInTransaction(em -> em.merge(entity));
     }
 
     @Override
     public void remove(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.remove(em.merge(entity));
-            em.getTransaction().commit();
-        } finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        executeInTransaction(em -> em.remove(em.contains(entity) ? entity : em.merge(entity)));
     }
 
     @Override
     public Optional<T> find(final Long id) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final T entity = em.find(this.clazz, id);
             if (entity == null) {
                 return Optional.empty();
             }
-            em.refresh(entity);
             initializeInstance(entity);
             return Optional.of(entity);
         } catch (final Exception e) {
@@ -97,11 +76,132 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public Collection<T> findAll() {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             return em.createQuery(String.format("SELECT e FROM %s e", this.clazz.getSimpleName()), this.clazz)
                 .getResultList();
         }
     }
 
+    /**
+     * Finds a page of entities matching the given filter, ordered by id. The collections initialized for each entity
+     * are loaded for the whole page at once, see {@code hibernate.default_batch_fetch_size} in the persistence unit.
+     */
+    public List<T> findPage(final InstanceFilter filter) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final List<T> results = findPage(em, filter, (cb, root, query) -> new ArrayList<>());
+            results.forEach(this::initializeInstance);
+            return results;
+        }
+    }
+
+    /**
+     * Finds a page of entities matching the given filter and the additional constraints, ordered by id. The returned
+     * entities are not initialized.
+     */
+    protected List<T> findPage(final EntityManager em, final InstanceFilter filter, final Constraints<T> constraints) {
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<T> cq = cb.createQuery(this.clazz);
+        final Root<T> root = cq.from(this.clazz);
+        final List<Predicate> predicates = filterPredicates(cb, root, filter);
+        predicates.addAll(constraints.apply(cb, root, cq));
+        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(root.get("id")));
+        return limit(em.createQuery(cq), filter).getResultList();
+    }
+
+    /**
+     * @return the predicates restricting the given root to the id range, states, creation time and property values of
+     * the filter
+     */
+    protected List<Predicate> filterPredicates(final CriteriaBuilder cb, final Root<?> root, final InstanceFilter filter) {
+        final List<Predicate> predicates = new ArrayList<>();
+        if (filter.getAfter() != null) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), filter.getAfter()));
+        }
+        if (!filter.getStates().isEmpty()) {
+            predicates.add(root.get("state").in(filter.getStates()));
+        }
+        if (filter.getCreatedAfter() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<Date>get("createdAt"), filter.getCreatedAfter()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add(cb.lessThan(root.<Date>get("createdAt"), filter.getCreatedBefore()));
+        }
+        predicates.addAll(propertyPredicates(cb, root, filter.getProperties()));
+        return predicates;
+    }
+
+    /**
+     * @return the predicates restricting the given root, which must have property entries, to instances with the given
+     * property values. Joins one entry per property, as property names are unique per instance.
+     */
+    protected static List<Predicate> propertyPredicates(final CriteriaBuilder cb, final Root<?> root,
+                                                        final Map<String, String> properties) {
+        final List<Predicate> predicates = new ArrayList<>();
+        properties.forEach((name, value) -> {
+            final Join<?, ?> entry = root.join("propertyEntries");
+            predicates.add(cb.equal(entry.get("name"), name));
+            predicates.add(value == null ? cb.isNull(entry.get("value")) : cb.equal(entry.get("value"), value));
+        });
+        return predicates;
+    }
+
+    protected static <R> TypedQuery<R> limit(final TypedQuery<R> query, final InstanceFilter filter) {
+        if (filter.getLimit() != null) {
+            query.setMaxResults(filter.getLimit());
+        }
+        return query;
+    }
+
+    /**
+     * Resolves a dot separated attribute path, e.g. {@code serviceTemplateInstance.id}, against the given root.
+     */
+    protected static <Y> Path<Y> path(final Root<?> root, final String attributePath) {
+        Path<?> path = root;
+        for (final String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked") final Path<Y> result = (Path<Y>) path;
+        return result;
+    }
+
+    /**
+     * @return the EntityManager of the current unit of work, or a new one that must be closed by the caller
+     */
+    protected AutoCloseableEntityManager entityManager() {
+        return EntityManagerProvider.joinOrCreateEntityManager();
+    }
+
+    /**
+     * Runs the given action within a transaction. If a unit of work is open, the action joins its transaction and
+     * committing is left to the unit of work.
+     */
+    protected void executeInTransaction(final Consumer<EntityManager> action) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            if (tx.isActive()) {
+                action.accept(em);
+                return;
+            }
+            try {
+                tx.begin();
+                action.accept(em);
+                tx.commit();
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+            }
+        }
+    }
+
     protected abstract void initializeInstance(final T instance);
+
+    /**
+     * Additional restrictions of a paged query.
+     */
+    @FunctionalInterface
+    protected interface Constraints<T> {
+
+        List<Predicate> apply(CriteriaBuilder cb, Root<T> root, CriteriaQuery<?> query);
+    }
 }
@@ -0,0 +1,146 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index of node template instances by their NodeType and properties, used to find instances with matching
+ * instance data by a single lookup instead of parsing the properties of all instances of a type.
+ * <p>
+ * The {@link NodeTemplateInstanceRepository} updates the index whenever an instance is stored or removed and the change
+ * is committed. The index is loaded from the database on first use. The 'State' property is not part of the key, as it
+ * changes during provisioning without affecting the identity of an instance.
+ * <p>
+ * The index only narrows down the candidates: callers must check the returned instances against the database, e.g.
+ * for their state, as changes that bypass the repository are not reflected.
+ */
+public final class NodeTemplateInstancePropertyIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NodeTemplateInstancePropertyIndex.class);
+
+    private static final String STATE_PROPERTY = "State";
+
+    private static final NodeTemplateInstancePropertyIndex INSTANCE = new NodeTemplateInstancePropertyIndex();
+
+    // all fields are guarded by this
+    private final Map<Key, Set<Long>> instancesByKey = new HashMap<>();
+    private final Map<Long, Key> keysById = new HashMap<>();
+    private boolean loaded = false;
+
+    private NodeTemplateInstancePropertyIndex() {
+    }
+
+    public static NodeTemplateInstancePropertyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the ids of the node template instances of the given NodeType whose properties, except 'State', equal the
+     * given ones, in the order they were indexed
+     */
+    public synchronized Collection<Long> find(final QName nodeType, final Map<String, String> properties) {
+        Objects.requireNonNull(nodeType);
+        ensureLoaded();
+        final Set<Long> ids = this.instancesByKey.get(new Key(nodeType, properties));
+        return ids == null ? Collections.emptyList() : Collections.unmodifiableCollection(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Indexes the node template instance with the given id under its current NodeType and properties.
+     */
+    synchronized void put(final Long id, final QName nodeType, final Map<String, String> properties) {
+        if (id == null || nodeType == null || !this.loaded) {
+            // the instance is read from the database once the index is loaded
+            return;
+        }
+        final Key key = new Key(nodeType, properties);
+        final Key previous = this.keysById.put(id, key);
+        if (key.equals(previous)) {
+            return;
+        }
+        unindex(id, previous);
+        this.instancesByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+    }
+
+    /**
+     * Drops the node template instance with the given id from the index.
+     */
+    public synchronized void remove(final Long id) {
+        if (id != null) {
+            unindex(id, this.keysById.remove(id));
+        }
+    }
+
+    private void unindex(final Long id, final Key key) {
+        if (key == null) {
+            return;
+        }
+        final Set<Long> ids = this.instancesByKey.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            this.instancesByKey.remove(key);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        final Collection<NodeTemplateInstance> instances = new NodeTemplateInstanceRepository().findAllIndexable();
+        this.loaded = true;
+        instances.forEach(instance -> put(instance.getId(), instance.getTemplateType(), instance.getPropertiesAsMap()));
+        LOG.debug("Indexed the properties of {} node template instances", this.keysById.size());
+    }
+
+    /**
+     * NodeType and properties without 'State', normalized to a sorted map so that equal property sets share a key.
+     */
+    private static final class Key {
+
+        private final QName nodeType;
+        private final SortedMap<String, String> properties = new TreeMap<>();
+        private final int hash;
+
+        Key(final QName nodeType, final Map<String, String> properties) {
+            this.nodeType = nodeType;
+            if (properties != null) {
+                properties.forEach((name, value) -> {
+                    if (!STATE_PROPERTY.equals(name)) {
+                        this.properties.put(name, value);
+                    }
+                });
+            }
+            this.hash = Objects.hash(nodeType, this.properties);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.hash == other.hash && this.nodeType.equals(other.nodeType)
+                && this.properties.equals(other.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.xml.namespace.QName;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 
@@ -22,8 +25,62 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
         super(NodeTemplateInstance.class);
     }
 
+    @Override
+    public void add(final NodeTemplateInstance entity) {
+        super.add(entity);
+        index(entity);
+    }
+
+    @Override
+    public void add(final Iterable<NodeTemplateInstance> items) {
+        super.add(items);
+        items.forEach(NodeTemplateInstanceRepository::index);
+    }
+
+    @Override
+    public void update(final NodeTemplateInstance entity) {
+        // properties are read from the managed instance, as they may not be loaded in the given one
+        executeInTransaction(em -> {
+            final NodeTemplateInstance managed = em.merge(entity);
+            managed.migratePropertyEntries();
+            index(managed);
+        });
+    }
+
+    @Override
+    public void remove(final NodeTemplateInstance entity) {
+        super.remove(entity);
+        final Long id = entity.getId();
+        UnitOfWork.afterCommit(() -> NodeTemplateInstancePropertyIndex.getInstance().remove(id));
+    }
+
+    /**
+     * Updates the {@link NodeTemplateInstancePropertyIndex} with the given instance once it is committed.
+     */
+    private static void index(final NodeTemplateInstance instance) {
+        final QName nodeType = instance.getTemplateType();
+        final Map<String, String> properties = instance.getPropertiesAsMap();
+        // the id of a new instance may only be assigned on flush
+        UnitOfWork.afterCommit(() -> NodeTemplateInstancePropertyIndex.getInstance()
+            .put(instance.getId(), nodeType, properties));
+    }
+
+    /**
+     * @return all instances with their properties loaded, to build the {@link NodeTemplateInstancePropertyIndex}
+     */
+    Collection<NodeTemplateInstance> findAllIndexable() {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final List<NodeTemplateInstance> instances = em.createQuery("SELECT DISTINCT n FROM NodeTemplateInstance n "
+                + "LEFT JOIN FETCH n.properties", NodeTemplateInstance.class).getResultList();
+            // fetched separately, joining both collections at once would repeat every entry for every property
+            em.createQuery("SELECT DISTINCT n FROM NodeTemplateInstance n LEFT JOIN FETCH n.propertyEntries",
+                NodeTemplateInstance.class).getResultList();
+            return instances;
+        }
+    }
+
     public List<NodeTemplateInstance> find(final ServiceTemplateInstance sti, String nodeTemplateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<ServiceTemplateInstance> owner = cb.parameter(ServiceTemplateInstance.class, "sti");
@@ -47,7 +104,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public Collection<NodeTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -64,7 +121,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public Collection<NodeTemplateInstance> findByTemplateType(final QName templateType) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<QName> templateTypeParameter = cb.parameter(QName.class);
@@ -80,10 +137,38 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
         }
     }
 
+    /**
+     * Finds a page of instances of a node template within a service template, ordered by id.
+     *
+     * @param serviceInstanceId restricts the result to the given service template instance, if not {@code null}
+     * @param outgoingRelationIds restricts the result to sources of any of the given relationship template instances,
+     *                            if not empty
+     */
+    public List<NodeTemplateInstance> findPage(final String serviceTemplateId, final String nodeTemplateId,
+                                               final Long serviceInstanceId, final Collection<Long> outgoingRelationIds,
+                                               final InstanceFilter filter) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return findPage(em, filter, (cb, nti, query) -> {
+                final List<Predicate> predicates = new ArrayList<>();
+                predicates.add(cb.equal(nti.get("templateId"), nodeTemplateId));
+                predicates.add(cb.equal(path(nti, "serviceTemplateInstance.templateId"), serviceTemplateId));
+                if (serviceInstanceId != null) {
+                    predicates.add(cb.equal(path(nti, "serviceTemplateInstance.id"), serviceInstanceId));
+                }
+                if (outgoingRelationIds != null && !outgoingRelationIds.isEmpty()) {
+                    predicates.add(nti.join("outgoingRelations").get("id").in(outgoingRelationIds));
+                    query.distinct(true);
+                }
+                return predicates;
+            });
+        }
+    }
+
     @Override
     protected void initializeInstance(NodeTemplateInstance instance) {
         Hibernate.initialize(instance.getDeploymentTestResults());
         Hibernate.initialize(instance.getProperties());
+        Hibernate.initialize(instance.getPropertyEntries());
         Hibernate.initialize(instance.getOutgoingRelations());
         Hibernate.initialize(instance.getIncomingRelations());
     }
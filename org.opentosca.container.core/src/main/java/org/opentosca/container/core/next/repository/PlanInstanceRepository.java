@@ -11,8 +11,10 @@ import javax.xml.namespace.QName;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.trigger.PlanLifecycleEventBus;
 
 public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
 
@@ -20,6 +22,27 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
         super(PlanInstance.class);
     }
 
+    @Override
+    public void add(final PlanInstance entity) {
+        super.add(entity);
+        publishState(entity);
+    }
+
+    @Override
+    public void update(final PlanInstance entity) {
+        super.update(entity);
+        publishState(entity);
+    }
+
+    /**
+     * Publishes the state of the given plan instance to the {@link PlanLifecycleEventBus} once it is committed.
+     */
+    private static void publishState(final PlanInstance plan) {
+        final String correlationId = plan.getCorrelationId();
+        final PlanInstanceState state = plan.getState();
+        UnitOfWork.afterCommit(() -> PlanLifecycleEventBus.getInstance().publish(correlationId, state));
+    }
+
     public PlanInstance findByCorrelationId(final String correlationId) {
         return this.findPlanByColumnValue("correlationId", correlationId);
     }
@@ -33,7 +56,7 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
     }
 
     public Collection<PlanInstance> findAllPlansByColumnValue(final String columnName, final String columnValue) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
@@ -52,7 +75,7 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
     }
 
     public PlanInstance findPlanByColumnValue(final String columnName, final String columnValue) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
@@ -1,16 +1,18 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 
 public class RelationshipTemplateInstanceRepository extends JpaRepository<RelationshipTemplateInstance> {
@@ -19,8 +21,13 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
         super(RelationshipTemplateInstance.class);
     }
 
+    @Override
+    public void update(final RelationshipTemplateInstance entity) {
+        executeInTransaction(em -> em.merge(entity).migratePropertyEntries());
+    }
+
     public Collection<RelationshipTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -36,8 +43,34 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
         }
     }
 
+    /**
+     * Finds a page of instances of a relationship template within a service template, ordered by id.
+     *
+     * @param serviceInstanceId restricts the result to the given service template instance, if not {@code null}
+     * @param targetId          restricts the result to the given target node template instance, if not {@code null}
+     */
+    public List<RelationshipTemplateInstance> findPage(final String serviceTemplateId, final String relationshipTemplateId,
+                                                       final Long serviceInstanceId, final Long targetId,
+                                                       final InstanceFilter filter) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return findPage(em, filter, (cb, rti, query) -> {
+                final List<Predicate> predicates = new ArrayList<>();
+                predicates.add(cb.equal(rti.get("templateId"), relationshipTemplateId));
+                predicates.add(cb.equal(path(rti, "target.serviceTemplateInstance.templateId"), serviceTemplateId));
+                if (serviceInstanceId != null) {
+                    predicates.add(cb.equal(path(rti, "serviceTemplateInstance.id"), serviceInstanceId));
+                }
+                if (targetId != null) {
+                    predicates.add(cb.equal(path(rti, "target.id"), targetId));
+                }
+                return predicates;
+            });
+        }
+    }
+
     @Override
     protected void initializeInstance(RelationshipTemplateInstance instance) {
         Hibernate.initialize(instance.getProperties());
+        Hibernate.initialize(instance.getPropertyEntries());
     }
 }
@@ -1,31 +1,57 @@
 package org.opentosca.container.core.next.repository;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.hibernate.Hibernate;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
+/**
+ * Repository for {@link ServiceTemplateInstance}s.
+ * <p>
+ * Besides the inherited {@link #find(Long)}, which loads the full instance graph, instances can be loaded with cheaper
+ * fetch plans:
+ * <ul>
+ * <li>{@link #findStateById(Long)} only selects the state column</li>
+ * <li>{@link #findSummaryById(Long)} and {@link #findSummaries(String, InstanceFilter)} select the scalar columns into
+ * a {@link ServiceTemplateInstanceSummary}</li>
+ * <li>{@link #findWithProperties(Long)} loads the entity with its properties only</li>
+ * <li>{@link #findByPlanCorrelationId(String)} finds the owner of a plan instance without scanning all instances</li>
+ * </ul>
+ */
 public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemplateInstance> {
 
+    private static final String SUMMARY_SELECT = "SELECT new " + ServiceTemplateInstanceSummary.class.getName()
+        + "(s.id, s.createdAt, s.csarId, s.templateId, s.state, s.creationCorrelationId) FROM ServiceTemplateInstance s ";
+
     public ServiceTemplateInstanceRepository() {
         super(ServiceTemplateInstance.class);
     }
 
+    @Override
+    public void update(final ServiceTemplateInstance entity) {
+        executeInTransaction(em -> em.merge(entity).migratePropertyEntries());
+    }
+
     @Override
     protected void initializeInstance(ServiceTemplateInstance instance) {
         Hibernate.initialize(instance.getDeploymentTests());
         Hibernate.initialize(instance.getNodeTemplateInstances());
         Hibernate.initialize(instance.getProperties());
+        Hibernate.initialize(instance.getPropertyEntries());
         Hibernate.initialize(instance.getRelationshipTemplateInstances());
         Hibernate.initialize(instance.getPlanInstances());
         instance.getPlanInstances().forEach(pi -> {
@@ -33,11 +59,14 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             Hibernate.initialize(pi.getOutputs());
             Hibernate.initialize(pi.getEvents());
         });
-        instance.getNodeTemplateInstances().forEach(nti -> Hibernate.initialize(nti.getProperties()));
+        instance.getNodeTemplateInstances().forEach(nti -> {
+            Hibernate.initialize(nti.getProperties());
+            Hibernate.initialize(nti.getPropertyEntries());
+        });
     }
 
     public Collection<ServiceTemplateInstance> findByTemplateId(final String templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> templateIdParameter = cb.parameter(String.class);
@@ -56,7 +85,7 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
     }
 
     public Collection<ServiceTemplateInstance> findByCsarId(final CsarId csarId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        try (AutoCloseableEntityManager em = entityManager()) {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<CsarId> csarIdParameter = cb.parameter(CsarId.class);
@@ -73,4 +102,60 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             return results;
         }
     }
+
+    /**
+     * Finds the service template instance owning the plan instance with the given correlation id. The correlation id
+     * is unique, so this is a single indexed lookup joined to the owning instance.
+     */
+    public Optional<ServiceTemplateInstance> findByPlanCorrelationId(final String correlationId) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final Optional<ServiceTemplateInstance> result = em.createQuery(
+                "SELECT s FROM PlanInstance p JOIN p.serviceTemplateInstance s WHERE p.correlationId = :correlationId", ServiceTemplateInstance.class)
+                .setParameter("correlationId", correlationId)
+                .getResultList().stream().findFirst();
+            result.ifPresent(this::initializeInstance);
+            return result;
+        }
+    }
+
+    public Optional<ServiceTemplateInstanceState> findStateById(final Long id) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return em.createQuery("SELECT s.state FROM ServiceTemplateInstance s WHERE s.id = :id", ServiceTemplateInstanceState.class)
+                .setParameter("id", id)
+                .getResultList().stream().findFirst();
+        }
+    }
+
+    public Optional<ServiceTemplateInstanceSummary> findSummaryById(final Long id) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return em.createQuery(SUMMARY_SELECT + "WHERE s.id = :id", ServiceTemplateInstanceSummary.class)
+                .setParameter("id", id)
+                .getResultList().stream().findFirst();
+        }
+    }
+
+    /**
+     * Finds a page of summaries of the instances of the given service template, ordered by id.
+     */
+    public List<ServiceTemplateInstanceSummary> findSummaries(final String templateId, final InstanceFilter filter) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            final CriteriaQuery<ServiceTemplateInstanceSummary> cq = cb.createQuery(ServiceTemplateInstanceSummary.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+            final List<Predicate> predicates = filterPredicates(cb, sti, filter);
+            predicates.add(cb.equal(sti.get("templateId"), templateId));
+            cq.select(cb.construct(ServiceTemplateInstanceSummary.class, sti.get("id"), sti.get("createdAt"),
+                sti.get("csarId"), sti.get("templateId"), sti.get("state"), sti.get("creationCorrelationId")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(sti.get("id")));
+            return limit(em.createQuery(cq), filter).getResultList();
+        }
+    }
+
+    public Optional<ServiceTemplateInstance> findWithProperties(final Long id) {
+        try (AutoCloseableEntityManager em = entityManager()) {
+            return Optional.ofNullable(em.find(ServiceTemplateInstance.class, id,
+                Collections.<String, Object>singletonMap("javax.persistence.fetchgraph", em.getEntityGraph(ServiceTemplateInstance.GRAPH_PROPERTIES))));
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package org.opentosca.container.core.next.trigger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.repository.PlanInstanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process notification about the state of plan instances.
+ * <p>
+ * The {@link PlanInstanceRepository} publishes the state of a plan instance whenever it is stored and the change is
+ * committed. Observers wait for a plan instance to terminate with {@link #awaitTermination(String, long, TimeUnit)}
+ * instead of polling the database. The returned futures are completed on a small, bounded pool, so their dependent
+ * actions must not block for long.
+ * <p>
+ * Every observer is registered until its future completes: when the plan terminates, when the timeout elapses or when
+ * the observer cancels the future. Plan instances that never terminate therefore do not leave observers behind.
+ */
+public final class PlanLifecycleEventBus {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlanLifecycleEventBus.class);
+
+    private static final int THREADS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.plan.events.threads", "4"));
+    private static final long DEFAULT_TIMEOUT_MINUTES =
+        Long.parseLong(Settings.getSetting("org.opentosca.container.plan.events.timeout.minutes", "60"));
+
+    private static final PlanLifecycleEventBus INSTANCE = new PlanLifecycleEventBus();
+
+    // guarded by itself
+    private final SetMultimap<String, CompletableFuture<PlanInstanceState>> observers = HashMultimap.create();
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(THREADS,
+        new ThreadFactoryBuilder().setNameFormat("plan-events-%d").setDaemon(true).build());
+
+    private PlanLifecycleEventBus() {
+    }
+
+    public static PlanLifecycleEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return whether plan instances do not change their state anymore once they are in the given state
+     */
+    public static boolean isTerminal(final PlanInstanceState state) {
+        return state == PlanInstanceState.FINISHED || state == PlanInstanceState.FAILED;
+    }
+
+    /**
+     * Notifies the observers of the plan instance with the given correlation ID about its committed state.
+     */
+    public void publish(final String correlationId, final PlanInstanceState state) {
+        LOG.trace("Plan instance {} is {}", correlationId, state);
+        if (correlationId == null || !isTerminal(state)) {
+            return;
+        }
+        final List<CompletableFuture<PlanInstanceState>> terminations;
+        synchronized (this.observers) {
+            terminations = new ArrayList<>(this.observers.removeAll(correlationId));
+        }
+        terminations.forEach(termination -> this.executor.execute(() -> termination.complete(state)));
+    }
+
+    /**
+     * Waits for the plan instance with the given correlation ID for at most
+     * {@code org.opentosca.container.plan.events.timeout.minutes}.
+     *
+     * @see #awaitTermination(String, long, TimeUnit)
+     */
+    public CompletableFuture<PlanInstanceState> awaitTermination(final String correlationId) {
+        return awaitTermination(correlationId, DEFAULT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @return a future that completes with the terminal state of the plan instance with the given correlation ID, which
+     * may have terminated already, or exceptionally with a {@link TimeoutException} once the timeout elapsed.
+     * Cancelling the future stops observing the plan instance.
+     */
+    public CompletableFuture<PlanInstanceState> awaitTermination(final String correlationId, final long timeout,
+                                                                 final TimeUnit unit) {
+        Objects.requireNonNull(correlationId);
+        final CompletableFuture<PlanInstanceState> termination = new CompletableFuture<>();
+        synchronized (this.observers) {
+            this.observers.put(correlationId, termination);
+        }
+        final ScheduledFuture<?> expiry = this.executor.schedule(() -> termination.completeExceptionally(
+            new TimeoutException("Plan instance " + correlationId + " did not terminate in time")), timeout, unit);
+        termination.whenComplete((state, e) -> {
+            expiry.cancel(false);
+            synchronized (this.observers) {
+                this.observers.remove(correlationId, termination);
+            }
+        });
+
+        // registered before reading, so a termination committed in the meantime is published to the future
+        new PlanInstanceRepository().findAllPlansByColumnValue("correlationId", correlationId).stream()
+            .map(PlanInstance::getState)
+            .filter(PlanLifecycleEventBus::isTerminal)
+            .findFirst()
+            .ifPresent(state -> publish(correlationId, state));
+        return termination;
+    }
+}
@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.persistence.PostPersist;
 import javax.xml.namespace.QName;
@@ -15,6 +17,7 @@ import org.eclipse.winery.model.tosca.TExportedOperation;
 import org.eclipse.winery.model.tosca.TPlan;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.container.core.common.NotFoundException;
 import org.opentosca.container.core.common.Settings;
@@ -44,6 +47,10 @@ public class SituationTriggerInstanceListener {
 
     private static final List<SituationTriggerInstanceObserver> obs = Lists.newArrayList();
 
+    private static final ExecutorService observerPool = Executors.newFixedThreadPool(
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.situations.trigger.threads", "4")),
+        new ThreadFactoryBuilder().setNameFormat("situation-trigger-%d").setDaemon(true).build());
+
     private static Map<String, List<String>> planToOperationMap = new HashMap<>();
 
     @PostPersist
@@ -53,7 +60,7 @@ public class SituationTriggerInstanceListener {
         SpringBeanAutowiringSupport.processInjectionBasedOnCurrentContext(obs);
 
         SituationTriggerInstanceListener.obs.add(obs);
-        new Thread(obs).start();
+        observerPool.execute(obs);
     }
 
     private class SituationTriggerInstanceObserver implements Runnable {
@@ -153,36 +160,41 @@ public class SituationTriggerInstanceListener {
                     }
                 }
 
-                try {
-                    final String correlationId = planInvocEngine.createCorrelationId();
-                    // FIXME QName natural key migration to string leftover
-                    if (servInstance != null) {
-                        planInvocEngine.invokePlan(servInstance.getCsarId(),
-                            QName.valueOf(servInstance.getTemplateId()), servInstance.getId(), planDTO,
-                            correlationId);
-                    } else {
-                        planInvocEngine.invokePlan(instance.getSituationTrigger().getCsarId(), new QName(csar.entryServiceTemplate().getTargetNamespace(), csar.entryServiceTemplate().getId()), -1,
-                            planDTO, correlationId);
-                    }
-
-                    // now wait for finished execution
-                    PlanInstance planInstance = planRepository.findByCorrelationId(correlationId);
-                    while (!(planInstance.getState() == PlanInstanceState.FINISHED)
-                        || planInstance.getState() == PlanInstanceState.FAILED) {
-                        Thread.sleep(10000);
-                        planInstance = planRepository.findByCorrelationId(correlationId);
-                    }
+                final String correlationId = planInvocEngine.createCorrelationId();
+                // FIXME QName natural key migration to string leftover
+                if (servInstance != null) {
+                    planInvocEngine.invokePlan(servInstance.getCsarId(),
+                        QName.valueOf(servInstance.getTemplateId()), servInstance.getId(), planDTO,
+                        correlationId);
+                } else {
+                    planInvocEngine.invokePlan(instance.getSituationTrigger().getCsarId(), new QName(csar.entryServiceTemplate().getTargetNamespace(), csar.entryServiceTemplate().getId()), -1,
+                        planDTO, correlationId);
+                }
 
-                    // plan finished, write output to trigger instance
-                    planInstance.getOutputs().forEach(x -> instance.getOutputs()
-                        .add(new SituationTriggerInstanceProperty(x.getName(), x.getValue(), x.getType())));
+                // write the outputs to the trigger instance once the plan terminated
+                PlanLifecycleEventBus.getInstance().awaitTermination(correlationId)
+                    .thenAccept(state -> onPlanTerminated(correlationId, state))
+                    .exceptionally(e -> {
+                        this.LOG.error("Could not finish SituationTriggerInstance {}", this.instance.getId(), e);
+                        return null;
+                    });
+            }
+        }
 
-                    instance.setFinished(true);
-                    repo.update(instance);
-                } catch (final InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+        private void onPlanTerminated(final String correlationId, final PlanInstanceState state) {
+            if (state != PlanInstanceState.FINISHED) {
+                this.LOG.warn("Plan instance {} of SituationTriggerInstance {} terminated in state {}", correlationId,
+                    this.instance.getId(), state);
+                return;
             }
+
+            // plan finished, write output to trigger instance
+            final PlanInstance planInstance = this.planRepository.findByCorrelationId(correlationId);
+            planInstance.getOutputs().forEach(x -> this.instance.getOutputs()
+                .add(new SituationTriggerInstanceProperty(x.getName(), x.getValue(), x.getType())));
+
+            this.instance.setFinished(true);
+            this.repo.update(this.instance);
         }
     }
 
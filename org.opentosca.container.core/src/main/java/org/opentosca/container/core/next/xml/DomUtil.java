@@ -1,13 +1,8 @@
 package org.opentosca.container.core.next.xml;
 
-import java.io.StringWriter;
 import java.util.regex.Pattern;
 
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -103,15 +98,7 @@ public abstract class DomUtil {
 
     public static String toString(final DOMSource source) {
         try {
-            final StringWriter sw = new StringWriter();
-            final TransformerFactory tf = TransformerFactory.newInstance();
-            final Transformer transformer = tf.newTransformer();
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-            transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            transformer.transform(source, new StreamResult(sw));
-            return sw.toString();
+            return XmlSupport.toString(source.getNode(), true);
         } catch (final Exception e) {
             throw new RuntimeException("Error converting XML to String: " + e.getMessage(), e);
         }
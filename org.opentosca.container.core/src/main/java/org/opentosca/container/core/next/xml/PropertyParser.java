@@ -1,12 +1,8 @@
 package org.opentosca.container.core.next.xml;
 
-import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +10,6 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
 /**
  * Parser to parse the properties from XML into a Map<String, String> structure.
@@ -55,10 +50,7 @@ public final class PropertyParser {
 
     private Document createDocument(final String xml) {
         try {
-            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            final DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(new InputSource(new StringReader(xml)));
+            return XmlSupport.parse(xml);
         } catch (final Exception e) {
             logger.error("Error parsing XML string", e);
             throw new IllegalArgumentException(e);
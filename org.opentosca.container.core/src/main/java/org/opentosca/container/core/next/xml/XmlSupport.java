@@ -0,0 +1,140 @@
+package org.opentosca.container.core.next.xml;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ExecutionException;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.opentosca.container.core.common.Settings;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Shared XML parsers, serializers and compiled XPath expressions.
+ * <p>
+ * Looking up the JAXP factories and creating parsers and transformers is expensive compared to processing the small
+ * documents the container handles, e.g. instance properties. As neither parsers, transformers nor compiled XPath
+ * expressions are thread-safe, every thread keeps its own instances, which are reset before each use. All parsers are
+ * namespace aware.
+ */
+public final class XmlSupport {
+
+    private static final int XPATH_CACHE_SIZE =
+        Integer.parseInt(Settings.getSetting("org.opentosca.container.xml.xpath.cache.size", "256"));
+
+    private static final ThreadLocal<DocumentBuilder> PARSER = ThreadLocal.withInitial(() -> newParser(false));
+    private static final ThreadLocal<DocumentBuilder> PARSER_IGNORING_COMMENTS =
+        ThreadLocal.withInitial(() -> newParser(true));
+    private static final ThreadLocal<Transformer> SERIALIZER = ThreadLocal.withInitial(XmlSupport::newSerializer);
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Cache<String, XPathExpression>> XPATH_EXPRESSIONS =
+        ThreadLocal.withInitial(() -> CacheBuilder.newBuilder().maximumSize(XPATH_CACHE_SIZE).build());
+
+    private XmlSupport() {
+    }
+
+    /**
+     * @return a new, empty document
+     */
+    public static Document newDocument() {
+        return parser(PARSER).newDocument();
+    }
+
+    /**
+     * Parses the given XML string.
+     */
+    public static Document parse(final String xml) throws SAXException, IOException {
+        return parser(PARSER).parse(new InputSource(new StringReader(xml)));
+    }
+
+    /**
+     * Parses the given XML string, dropping all comments.
+     */
+    public static Document parseIgnoringComments(final String xml) throws SAXException, IOException {
+        return parser(PARSER_IGNORING_COMMENTS).parse(new InputSource(new StringReader(xml)));
+    }
+
+    /**
+     * Serializes the given node including an XML declaration.
+     *
+     * @param indent whether the output is indented
+     */
+    public static String toString(final Node node, final boolean indent) throws TransformerException {
+        final Transformer transformer = SERIALIZER.get();
+        // drops the output properties of the previous use
+        transformer.reset();
+        if (indent) {
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        }
+        final StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(node), new StreamResult(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Compiles the given XPath expression or returns it from the cache of the current thread. The returned expression
+     * must not be shared with other threads.
+     */
+    public static XPathExpression compile(final String expression) throws XPathExpressionException {
+        try {
+            return XPATH_EXPRESSIONS.get().get(expression, () -> XPATH.get().compile(expression));
+        } catch (final ExecutionException e) {
+            throw (XPathExpressionException) e.getCause();
+        }
+    }
+
+    /**
+     * Evaluates the given XPath expression on the given item.
+     *
+     * @param returnType one of the {@link javax.xml.xpath.XPathConstants}
+     */
+    public static Object evaluate(final String expression, final Object item,
+                                  final QName returnType) throws XPathExpressionException {
+        return compile(expression).evaluate(item, returnType);
+    }
+
+    private static DocumentBuilder parser(final ThreadLocal<DocumentBuilder> parser) {
+        final DocumentBuilder builder = parser.get();
+        builder.reset();
+        return builder;
+    }
+
+    private static DocumentBuilder newParser(final boolean ignoreComments) {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setIgnoringComments(ignoreComments);
+        try {
+            return factory.newDocumentBuilder();
+        } catch (final ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to create XML parser", e);
+        }
+    }
+
+    private static Transformer newSerializer() {
+        try {
+            return TransformerFactory.newInstance().newTransformer();
+        } catch (final TransformerConfigurationException e) {
+            throw new IllegalStateException("Unable to create XML serializer", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.opentosca.container.core.service;
 
 import java.net.URI;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.xml.namespace.QName;
 
@@ -126,6 +127,13 @@ public interface ICoreEndpointService {
      */
     public boolean removeWSDLEndpoint(WSDLEndpoint endpoint);
 
+    /**
+     * Registers a listener that is called with every WSDL Endpoint after it was removed.
+     *
+     * @param listener the listener to call, must not block
+     */
+    public void addWSDLEndpointRemovalListener(Consumer<WSDLEndpoint> listener);
+
     /**
      * Debug print of plan endpoints.
      */
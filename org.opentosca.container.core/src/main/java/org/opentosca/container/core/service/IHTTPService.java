@@ -3,16 +3,20 @@ package org.opentosca.container.core.service;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.ResponseHandler;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.cookie.Cookie;
+import org.apache.http.pool.PoolStats;
 
 /**
  * This interface defines the standard HTTP commands as methods, plus some specific methods mainly created for the AAR
- * plug-in of the IAEngine, that are provided by the HTTPService.
+ * plug-in of the IAEngine, that are provided by the HTTPService. All requests share one pool of connections.
  *
  * @see org.opentosca.iaengine.plugins.aaraxis.service.impl
  */
@@ -105,4 +109,27 @@ public interface IHTTPService {
      * @return Response Message
      */
     public HttpResponse Options(String uri) throws ClientProtocolException, IOException;
+
+    /**
+     * Executes the given request and passes the response to the handler while the connection is held, so that the
+     * response entity can be streamed. The connection is released once the handler returns.
+     *
+     * @param request - the request to execute
+     * @param handler - reads the response
+     * @return the result of the handler
+     */
+    public <T> T execute(HttpUriRequest request, ResponseHandler<? extends T> handler) throws ClientProtocolException,
+        IOException;
+
+    /**
+     * Executes the given request like {@link #execute(HttpUriRequest, ResponseHandler)} on a bounded pool of threads.
+     *
+     * @return a future completing with the result of the handler, or exceptionally with an UncheckedIOException
+     */
+    public <T> CompletableFuture<T> executeAsync(HttpUriRequest request, ResponseHandler<? extends T> handler);
+
+    /**
+     * @return the current usage of the connection pool shared by all requests
+     */
+    public PoolStats getPoolStats();
 }
@@ -197,10 +197,13 @@ public class BpelPlanEnginePlugin implements IPlanEnginePlanRefPluginService {
             } else {
                 final OdeConnector connector = new OdeConnector();
                 processId = connector.deploy(tempPlan.toFile(), url);
-                endpoints = connector.getEndpointsForPID(processId, url);
+                // a failed deployment is reported below
+                if (processId != null) {
+                    endpoints = connector.getEndpointsForPID(processId, url);
+                }
             }
         } catch (final Exception e) {
-            e.printStackTrace();
+            LOG.error("Deployment of Plan {} on {} failed", tempPlan.getFileName(), url, e);
         }
 
         // this will be the endpoint the container can use to instantiate the
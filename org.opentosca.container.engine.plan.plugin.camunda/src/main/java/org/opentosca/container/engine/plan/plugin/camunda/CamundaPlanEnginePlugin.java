@@ -19,16 +19,11 @@ import org.eclipse.winery.model.tosca.TServiceTemplate;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.entity.mime.content.FileBody;
 import org.apache.http.entity.mime.content.StringBody;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -117,10 +112,6 @@ public class CamundaPlanEnginePlugin implements IPlanEnginePlanRefPluginService
         }
         LOG.debug("Plan contains {} files.", planContents.size());
 
-        // create Post request for the Camunda REST API
-        final HttpPost deploymentRequest = new HttpPost(
-            Settings.ENGINE_PLAN_BPMN_URL + DEPLOYMENT_SUFFIX + CREATE_SUFFIX);
-
         // only deploy if plan was not deployed before or files have changed
         final StringBody enableDuplicateFiltering = new StringBody("false", ContentType.TEXT_PLAIN);
         final StringBody deployChangedOnly = new StringBody("false", ContentType.TEXT_PLAIN);
@@ -138,11 +129,11 @@ public class CamundaPlanEnginePlugin implements IPlanEnginePlanRefPluginService
             builder.addPart(file.getFileName().toString(), fileBody);
         }
 
-        try (final CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            // send Post request to the engine
+        try {
+            // send Post request to the Camunda REST API
             final HttpEntity httpEntity = builder.build();
-            deploymentRequest.setEntity(httpEntity);
-            HttpResponse response = httpClient.execute(deploymentRequest);
+            HttpResponse response =
+                httpService.Post(Settings.ENGINE_PLAN_BPMN_URL + DEPLOYMENT_SUFFIX + CREATE_SUFFIX, httpEntity);
 
             if (response.getStatusLine().getStatusCode() != 200) {
                 LOG.error("Response returned status code: {}", response.getStatusLine().getStatusCode());
@@ -162,8 +153,7 @@ public class CamundaPlanEnginePlugin implements IPlanEnginePlanRefPluginService
             // get all process definition IDs of the created deployment
             final URIBuilder uriBuilder = new URIBuilder(Settings.ENGINE_PLAN_BPMN_URL + PROCESS_DEFINITION_SUFFIX);
             uriBuilder.setParameter("deploymentId", id);
-            final HttpGet getProcessDefinition = new HttpGet(uriBuilder.build());
-            response = httpClient.execute(getProcessDefinition);
+            response = httpService.Get(uriBuilder.build().toString());
 
             final JSONArray processDefinitions = (JSONArray) jsonParser
                 .parse(EntityUtils.toString(response.getEntity()));
@@ -218,11 +208,10 @@ public class CamundaPlanEnginePlugin implements IPlanEnginePlanRefPluginService
             final String processDefinitionID = endpointParts[endpointParts.length - 2];
             LOG.debug("Extracted following process definition ID: {}", processDefinitionID);
 
-            try (final CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            try {
                 // get information for process definition to extract related deployment ID
-                final HttpGet getProcessDefinition = new HttpGet(
+                final HttpResponse processDefinitionResponse = httpService.Get(
                     Settings.ENGINE_PLAN_BPMN_URL + PROCESS_DEFINITION_SUFFIX + "/" + processDefinitionID);
-                final HttpResponse processDefinitionResponse = httpClient.execute(getProcessDefinition);
 
                 if (processDefinitionResponse.getStatusLine().getStatusCode() != 200) {
                     LOG.error("Request to retrieve process definition returned invalid status code {}",
@@ -244,8 +233,7 @@ public class CamundaPlanEnginePlugin implements IPlanEnginePlanRefPluginService
                 final URIBuilder uriBuilder = new URIBuilder(
                     Settings.ENGINE_PLAN_BPMN_URL + DEPLOYMENT_SUFFIX + "/" + deploymentID);
                 uriBuilder.setParameter("cascade", "true");
-                final HttpDelete deleteDeployment = new HttpDelete(uriBuilder.build());
-                final HttpResponse deletionResponse = httpClient.execute(deleteDeployment);
+                final HttpResponse deletionResponse = httpService.Delete(uriBuilder.build().toString());
 
                 // check success and reutrn to caller
                 if (deletionResponse.getStatusLine().getStatusCode() == 204) {
@@ -0,0 +1,157 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opentosca.bus.management.service.impl.util.IADeploymentLockManager.Lock;
+import org.opentosca.bus.management.service.impl.util.IADeploymentLockManager.LockStatistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class IADeploymentLockManagerTest {
+
+    private static final String IA = "container/container/{http://example.org}Impl/IA/1";
+    private static final String METRICS_KEY = "container/{http://example.org}Impl/IA";
+
+    private final IADeploymentLockManager lockManager = new IADeploymentLockManager();
+
+    @After
+    public void tearDown() {
+        this.lockManager.close();
+    }
+
+    @Test
+    public void testReleaseDropsLock() {
+        final Lock lock = this.lockManager.acquire(IA, METRICS_KEY);
+        assertThat(this.lockManager.getRetainedLockCount(), is(1));
+
+        lock.close();
+        // closing again must not release a lock granted to someone else
+        lock.close();
+
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+        final LockStatistics statistics = this.lockManager.getStatistics().get(METRICS_KEY);
+        assertThat(statistics.getAcquisitions(), is(1L));
+        assertThat(statistics.getContended(), is(0L));
+    }
+
+    @Test
+    public void testWaitersAreGrantedInOrder() throws Exception {
+        final Lock first = this.lockManager.acquireAsync(IA, METRICS_KEY).get();
+        final CompletableFuture<Lock> second = this.lockManager.acquireAsync(IA, METRICS_KEY);
+        final CompletableFuture<Lock> third = this.lockManager.acquireAsync(IA, METRICS_KEY);
+        assertThat(second.isDone(), is(false));
+        assertThat(third.isDone(), is(false));
+
+        first.close();
+        second.get(1, TimeUnit.MINUTES).close();
+        third.get(1, TimeUnit.MINUTES).close();
+
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+        final LockStatistics statistics = this.lockManager.getStatistics().get(METRICS_KEY);
+        assertThat(statistics.getAcquisitions(), is(3L));
+        assertThat(statistics.getContended(), is(2L));
+    }
+
+    @Test
+    public void testCancelledWaiterPassesLockOn() throws Exception {
+        final Lock first = this.lockManager.acquireAsync(IA, METRICS_KEY).get();
+        final CompletableFuture<Lock> cancelled = this.lockManager.acquireAsync(IA, METRICS_KEY);
+        final CompletableFuture<Lock> waiting = this.lockManager.acquireAsync(IA, METRICS_KEY);
+
+        assertThat(cancelled.cancel(false), is(true));
+        first.close();
+        waiting.get(1, TimeUnit.MINUTES).close();
+
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+    }
+
+    @Test
+    public void testCancelledOnlyWaiterDropsLock() throws Exception {
+        final Lock first = this.lockManager.acquireAsync(IA, METRICS_KEY).get();
+        this.lockManager.acquireAsync(IA, METRICS_KEY).cancel(false);
+        first.close();
+
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+    }
+
+    @Test
+    public void testBlockingAcquireIsReentrant() throws Exception {
+        final Lock outer = this.lockManager.acquire(IA, METRICS_KEY);
+        final Lock nested = this.lockManager.acquire(IA, METRICS_KEY);
+        nested.close();
+
+        // the nested release keeps the lock with the outer acquisition
+        final CompletableFuture<Void> other = CompletableFuture.runAsync(() -> this.lockManager.acquire(IA, METRICS_KEY).close());
+        Thread.sleep(200);
+        assertThat(other.isDone(), is(false));
+
+        outer.close();
+        other.get(1, TimeUnit.MINUTES);
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+    }
+
+    @Test
+    public void testBoundSectionMayAcquireAgain() throws Exception {
+        final Lock lock = this.lockManager.acquireAsync(IA, METRICS_KEY).get();
+
+        final boolean nestedGranted = lock.callBound(() -> {
+            final CompletableFuture<Lock> nested = this.lockManager.acquireAsync(IA, METRICS_KEY);
+            nested.join().close();
+            return nested.isDone();
+        });
+        assertThat(nestedGranted, is(true));
+
+        // outside of the section the lock is not bound to this thread anymore
+        final CompletableFuture<Lock> waiting = this.lockManager.acquireAsync(IA, METRICS_KEY);
+        assertThat(waiting.isDone(), is(false));
+
+        lock.close();
+        waiting.get(1, TimeUnit.MINUTES).close();
+    }
+
+    @Test
+    public void testDistinctIdentifiersDoNotContend() throws Exception {
+        final Lock first = this.lockManager.acquire(IA, METRICS_KEY);
+        final CompletableFuture<Lock> other = this.lockManager.acquireAsync(IA + "/other", METRICS_KEY);
+
+        assertThat(other.isDone(), is(true));
+        other.get().close();
+        first.close();
+        assertThat(this.lockManager.getStatistics().get(METRICS_KEY).getContended(), is(0L));
+    }
+
+    @Test
+    public void testContendedThreadsAreSerialized() throws Exception {
+        final int threads = 8;
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicInteger inside = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try (Lock lock = this.lockManager.acquire(IA, METRICS_KEY)) {
+                    if (inside.incrementAndGet() > 1) {
+                        overlapped.set(true);
+                    }
+                    Thread.sleep(10);
+                    inside.decrementAndGet();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        assertThat(done.await(1, TimeUnit.MINUTES), is(true));
+        assertThat(overlapped.get(), is(false));
+        assertThat(this.lockManager.getRetainedLockCount(), is(0));
+        assertThat(this.lockManager.getStatistics().get(METRICS_KEY).getAcquisitions(), is((long) threads));
+    }
+}
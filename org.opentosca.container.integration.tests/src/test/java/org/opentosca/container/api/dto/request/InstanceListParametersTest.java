@@ -0,0 +1,67 @@
+package org.opentosca.container.api.dto.request;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.BadRequestException;
+
+import org.junit.Test;
+import org.opentosca.container.core.next.repository.InstanceFilter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class InstanceListParametersTest {
+
+    @Test
+    public void testUnrestrictedFilter() {
+        final InstanceFilter filter = new InstanceListParameters().toFilter();
+        assertThat(filter.getLimit(), is(nullValue()));
+        assertThat(filter.getAfter(), is(nullValue()));
+        assertThat(filter.getProperties().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testPage() {
+        final InstanceFilter filter = new InstanceListParameters(1, 42L, "2020-01-31T12:00:00Z", null, null).toFilter();
+        assertThat(filter.getLimit(), is(1));
+        assertThat(filter.getAfter(), is(42L));
+        assertThat(filter.getCreatedAfter(), is(Date.from(Instant.parse("2020-01-31T12:00:00Z"))));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testZeroLimit() {
+        new InstanceListParameters(0, null, null, null, null).toFilter();
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testNegativeLimit() {
+        new InstanceListParameters(-1, null, null, null, null).toFilter(Collections.emptyList());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testMalformedInstant() {
+        new InstanceListParameters(null, null, null, "yesterday", null).toFilter();
+    }
+
+    @Test
+    public void testProperties() {
+        final InstanceFilter filter = new InstanceListParameters(null, null, null, null,
+            Arrays.asList("State=Running", "Port=")).toFilter(Collections.emptyList());
+        assertThat(filter.getProperties().get("State"), is("Running"));
+        assertThat(filter.getProperties().get("Port"), is(""));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testMalformedProperty() {
+        new InstanceListParameters(null, null, null, null, Collections.singletonList("=Running")).toFilter(null);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testPropertiesOfListingWithoutPropertyFilter() {
+        new InstanceListParameters(null, null, null, null, Collections.singletonList("State=Running")).toFilter();
+    }
+}
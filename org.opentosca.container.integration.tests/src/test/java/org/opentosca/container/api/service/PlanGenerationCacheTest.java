@@ -0,0 +1,166 @@
+package org.opentosca.container.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class PlanGenerationCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private PlanGenerationCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = this.folder.newFolder("cache").toPath();
+        this.cache = new PlanGenerationCache(this.directory, 2, "build");
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        final Path planned = file("planned.csar", "plans");
+        this.cache.put("a", planned);
+
+        final Optional<Path> copy = this.cache.get("a", "MyApp.csar");
+        assertThat(copy.isPresent(), is(true));
+        assertThat(copy.get().getFileName().toString(), is("MyApp.csar"));
+        assertThat(new String(Files.readAllBytes(copy.get()), StandardCharsets.UTF_8), is("plans"));
+        assertThat(Files.exists(planned), is(true));
+    }
+
+    @Test
+    public void testGetMissingEntry() throws Exception {
+        assertThat(this.cache.get("a", "MyApp.csar").isPresent(), is(false));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() throws Exception {
+        this.cache.put("a", file("a.csar", "a"));
+        this.cache.put("b", file("b.csar", "b"));
+        Files.setLastModifiedTime(this.directory.resolve("a.csar"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(this.directory.resolve("b.csar"), FileTime.fromMillis(2000));
+
+        // reading an entry marks it as recently used
+        assertThat(this.cache.get("a", "a.csar").isPresent(), is(true));
+        this.cache.put("c", file("c.csar", "c"));
+
+        assertThat(this.cache.get("a", "a.csar").isPresent(), is(true));
+        assertThat(this.cache.get("b", "b.csar").isPresent(), is(false));
+        assertThat(this.cache.get("c", "c.csar").isPresent(), is(true));
+    }
+
+    @Test
+    public void testFingerprintIgnoresZipMetadata() throws Exception {
+        final Path first = this.folder.newFolder("first").toPath().resolve("MyApp.csar");
+        final Path second = this.folder.newFolder("second").toPath().resolve("MyApp.csar");
+        zip(first, 1000, "Definitions/a.tosca", "a", "Definitions/b.tosca", "b");
+        zip(second, 2000, "Definitions/b.tosca", "b", "Definitions/a.tosca", "a");
+
+        assertThat(this.cache.fingerprint(first).isPresent(), is(true));
+        assertThat(this.cache.fingerprint(second), is(this.cache.fingerprint(first)));
+    }
+
+    @Test
+    public void testFingerprintCoversContentAndName() throws Exception {
+        final Path csar = this.folder.newFolder("first").toPath().resolve("MyApp.csar");
+        final Path changed = this.folder.newFolder("second").toPath().resolve("MyApp.csar");
+        final Path renamed = this.folder.newFolder("third").toPath().resolve("Other.csar");
+        zip(csar, 1000, "Definitions/a.tosca", "a");
+        zip(changed, 1000, "Definitions/a.tosca", "b");
+        zip(renamed, 1000, "Definitions/a.tosca", "a");
+
+        assertThat(this.cache.fingerprint(changed), is(not(this.cache.fingerprint(csar))));
+        assertThat(this.cache.fingerprint(renamed), is(not(this.cache.fingerprint(csar))));
+    }
+
+    @Test
+    public void testFingerprintWhenDisabledOrUnreadable() throws Exception {
+        final Path csar = this.folder.getRoot().toPath().resolve("MyApp.csar");
+        zip(csar, 1000, "Definitions/a.tosca", "a");
+
+        assertThat(new PlanGenerationCache(this.directory, 0, "build").fingerprint(csar).isPresent(), is(false));
+        assertThat(this.cache.fingerprint(file("broken.csar", "no zip")).isPresent(), is(false));
+        assertThat(new PlanGenerationCache(this.directory, 2, null).fingerprint(csar).isPresent(), is(false));
+    }
+
+    @Test
+    public void testFingerprintCoversBuild() throws Exception {
+        final Path csar = this.folder.getRoot().toPath().resolve("MyApp.csar");
+        zip(csar, 1000, "Definitions/a.tosca", "a");
+
+        assertThat(new PlanGenerationCache(this.directory, 2, "build").fingerprint(csar), is(this.cache.fingerprint(csar)));
+        assertThat(new PlanGenerationCache(this.directory, 2, "other").fingerprint(csar), is(not(this.cache.fingerprint(csar))));
+    }
+
+    @Test
+    public void testBuildIdentifierCoversCodeButNotItsLocation() throws Exception {
+        final Path first = this.folder.newFolder("first").toPath();
+        final Path second = this.folder.newFolder("second").toPath();
+        for (final Path location : Arrays.asList(first, second)) {
+            Files.createDirectories(location.resolve("classes/org/example"));
+            Files.write(location.resolve("classes/org/example/Plugin.class"), "plugin".getBytes(StandardCharsets.UTF_8));
+            Files.write(location.resolve("planbuilder.jar"), "planbuilder".getBytes(StandardCharsets.UTF_8));
+        }
+        final Optional<String> identifier = PlanGenerationCache.buildIdentifier(locations(first));
+
+        assertThat(identifier.isPresent(), is(true));
+        assertThat(PlanGenerationCache.buildIdentifier(locations(second)), is(identifier));
+
+        Files.write(second.resolve("classes/org/example/Plugin.class"), "changed".getBytes(StandardCharsets.UTF_8));
+        assertThat(PlanGenerationCache.buildIdentifier(locations(second)), is(not(identifier)));
+        assertThat(PlanGenerationCache.buildIdentifier(new TreeSet<>()).isPresent(), is(false));
+        assertThat(PlanGenerationCache.buildIdentifier(new TreeSet<>(Collections.singleton(first.resolve("missing.jar")))).isPresent(), is(false));
+    }
+
+    @Test
+    public void testCodeLocations() {
+        final Optional<SortedSet<Path>> locations = PlanGenerationCache.codeLocations(
+            Arrays.asList(PlanGenerationCacheTest.class, PlanGenerationCacheTest.class, Test.class));
+
+        assertThat(locations.isPresent(), is(true));
+        assertThat(locations.get().size(), is(2));
+        // classes of the bootstrap class loader have no code location
+        assertThat(PlanGenerationCache.codeLocations(Collections.singletonList(String.class)).isPresent(), is(false));
+    }
+
+    private static SortedSet<Path> locations(final Path root) {
+        return new TreeSet<>(Arrays.asList(root.resolve("classes"), root.resolve("planbuilder.jar")));
+    }
+
+    private Path file(final String name, final String content) throws IOException {
+        return Files.write(this.folder.getRoot().toPath().resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void zip(final Path file, final long time, final String... entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                final ZipEntry entry = new ZipEntry(entries[i]);
+                entry.setTime(time);
+                zip.putNextEntry(entry);
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+}
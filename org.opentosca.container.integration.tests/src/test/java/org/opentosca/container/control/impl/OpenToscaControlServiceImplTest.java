@@ -0,0 +1,191 @@
+package org.opentosca.container.control.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.winery.model.tosca.TPlan;
+import org.eclipse.winery.model.tosca.TPlans;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.impl.service.DeploymentTrackerImpl;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
+import org.opentosca.container.engine.plan.IPlanEngineService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class OpenToscaControlServiceImplTest {
+
+    private static final String NAMESPACE = "http://example.org/plans";
+
+    // identifies the deployment state written by this test in the shared database
+    private final CsarId csarId = new CsarId(UUID.randomUUID() + ".csar");
+    private final FakePlanEngine planEngine = new FakePlanEngine();
+
+    private DeploymentTrackerImpl deploymentTracker;
+    private OpenToscaControlServiceImpl service;
+
+    @Before
+    public void setUp() {
+        this.deploymentTracker = new DeploymentTrackerImpl();
+        this.service = new OpenToscaControlServiceImpl(this.deploymentTracker, this.planEngine, null, null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.service.close();
+        this.deploymentTracker.deleteDeploymentState(this.csarId);
+        this.deploymentTracker.close();
+    }
+
+    @Test
+    public void testAllPlansDeployed() {
+        assertThat(this.service.deployPlans(this.csarId, plans("Build", "Terminate"), NAMESPACE), is(true));
+
+        assertThat(this.planEngine.deployed, containsInAnyOrder("Build", "Terminate"));
+        assertThat(this.planEngine.undeployed, is(empty()));
+        assertThat(state("Build"), is(PlanDeploymentState.PLAN_DEPLOYED));
+        assertThat(state("Terminate"), is(PlanDeploymentState.PLAN_DEPLOYED));
+    }
+
+    @Test
+    public void testFailedPlanUndeploysDeployedPlans() throws Exception {
+        final CountDownLatch buildDeployed = new CountDownLatch(1);
+        this.planEngine.behavior.put("Build", () -> {
+            buildDeployed.countDown();
+            return true;
+        });
+        this.planEngine.behavior.put("Terminate", () -> {
+            await(buildDeployed);
+            return false;
+        });
+
+        assertThat(this.service.deployPlans(this.csarId, plans("Build", "Terminate"), NAMESPACE), is(false));
+
+        awaitState("Build", PlanDeploymentState.PLAN_UNDEPLOYED);
+        assertThat(this.planEngine.undeployed, contains("Build"));
+        assertThat(state("Terminate"), is(PlanDeploymentState.PLAN_DEPLOYMENT_FAILED));
+    }
+
+    @Test
+    public void testPlanStillDeployingOnFailureIsUndeployed() throws Exception {
+        final CountDownLatch terminateFailed = new CountDownLatch(1);
+        this.planEngine.behavior.put("Build", () -> {
+            await(terminateFailed);
+            return true;
+        });
+        this.planEngine.behavior.put("Terminate", () -> {
+            terminateFailed.countDown();
+            return false;
+        });
+
+        assertThat(this.service.deployPlans(this.csarId, plans("Build", "Terminate"), NAMESPACE), is(false));
+
+        awaitState("Build", PlanDeploymentState.PLAN_UNDEPLOYED);
+        assertThat(this.planEngine.undeployed, contains("Build"));
+    }
+
+    @Test
+    public void testCancelledDeploymentUndeploysPlansOnceDeployed() throws Exception {
+        final CountDownLatch buildStarted = new CountDownLatch(1);
+        final CountDownLatch releaseBuild = new CountDownLatch(1);
+        this.planEngine.behavior.put("Build", () -> {
+            buildStarted.countDown();
+            await(releaseBuild);
+            return true;
+        });
+        final CompletableFuture<Boolean> deployed = new CompletableFuture<>();
+        final Thread caller = new Thread(() ->
+            deployed.complete(this.service.deployPlans(this.csarId, plans("Build", "Terminate"), NAMESPACE)));
+        caller.start();
+
+        assertThat(buildStarted.await(1, TimeUnit.MINUTES), is(true));
+        awaitState("Terminate", PlanDeploymentState.PLAN_DEPLOYED);
+        caller.interrupt();
+        assertThat(deployed.get(1, TimeUnit.MINUTES), is(false));
+
+        // the running deployment can not be interrupted, it is undeployed once it finished
+        awaitState("Terminate", PlanDeploymentState.PLAN_UNDEPLOYED);
+        assertThat(state("Build"), is(PlanDeploymentState.PLAN_DEPLOYING));
+        releaseBuild.countDown();
+        awaitState("Build", PlanDeploymentState.PLAN_UNDEPLOYED);
+        assertThat(this.planEngine.undeployed, containsInAnyOrder("Build", "Terminate"));
+    }
+
+    private PlanDeploymentState state(final String planId) {
+        return this.deploymentTracker.getPlanDeploymentInfo(this.csarId, planId).getDeploymentState();
+    }
+
+    private void awaitState(final String planId, final PlanDeploymentState expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (this.deploymentTracker.getPlanDeploymentInfo(this.csarId, planId) == null || state(planId) != expected) {
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertThat(state(planId), is(expected));
+    }
+
+    private static List<TPlan> plans(final String... ids) {
+        return Arrays.stream(ids)
+            .map(id -> new TPlan.Builder(id, "http://docs.oasis-open.org/tosca/ns/2011/12/PlanTypes/BuildPlan",
+                "http://docs.oasis-open.org/wsbpel/2.0/process/executable").build())
+            .collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class FakePlanEngine implements IPlanEngineService {
+
+        private final Map<String, Supplier<Boolean>> behavior = new ConcurrentHashMap<>();
+        private final List<String> deployed = new CopyOnWriteArrayList<>();
+        private final List<String> undeployed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<TPlan> deployPlans(final TPlans plans, final String targetNamespace, final CsarId csarId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<TPlan> undeployPlans(final TPlans plans, final String targetNamespace, final CsarId csarId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean deployPlan(final TPlan plan, final String targetNamespace, final CsarId csarId) {
+            final boolean result = this.behavior.getOrDefault(plan.getId(), () -> true).get();
+            if (result) {
+                this.deployed.add(plan.getId());
+            }
+            return result;
+        }
+
+        @Override
+        public boolean undeployPlan(final TPlan plan, final String targetNamspace, final CsarId csarId) {
+            this.undeployed.add(plan.getId());
+            return true;
+        }
+    }
+}
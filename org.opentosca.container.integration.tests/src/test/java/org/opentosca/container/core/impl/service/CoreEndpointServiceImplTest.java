@@ -0,0 +1,160 @@
+package org.opentosca.container.core.impl.service;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityTransaction;
+import javax.xml.namespace.QName;
+
+import com.google.common.base.Strings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class CoreEndpointServiceImplTest {
+
+    // identifies the endpoints written by this test in the shared database
+    private final String container = "test-" + UUID.randomUUID();
+    private final CsarId csarId = new CsarId("CoreEndpointServiceImplTest.csar");
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private final List<WSDLEndpoint> removed = new CopyOnWriteArrayList<>();
+
+    private CoreEndpointServiceImpl service;
+
+    @Before
+    public void setUp() {
+        this.service = new CoreEndpointServiceImpl();
+        this.service.addWSDLEndpointRemovalListener(this.removed::add);
+    }
+
+    @After
+    public void cleanUp() {
+        this.releaseWriter.countDown();
+        this.service.close();
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            em.createQuery("SELECT e FROM WSDLEndpoint e WHERE e.triggeringContainer = :container", WSDLEndpoint.class)
+                .setParameter("container", this.container)
+                .getResultList()
+                .forEach(em::remove);
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void testStoredEndpointIsWrittenBehind() {
+        final WSDLEndpoint endpoint = endpoint("Stored", "http://localhost/stored");
+        this.service.storeWSDLEndpoint(endpoint);
+
+        // answered from the registry before it is written
+        assertThat(this.service.getWSDLEndpointsForCsarId(this.container, this.csarId), contains(endpoint));
+
+        this.service.close();
+        assertThat(endpoint.getId(), is(notNullValue()));
+        assertThat(find(endpoint), is(notNullValue()));
+    }
+
+    @Test
+    public void testFailedChangeOfBatchIsDiscardedAndReported() throws Exception {
+        blockWriter();
+        final WSDLEndpoint first = endpoint("First", "http://localhost/first");
+        // longer than the uri column, so it fails when the batch is committed
+        final WSDLEndpoint invalid = endpoint("Invalid", "http://localhost/" + Strings.repeat("a", 600));
+        final WSDLEndpoint last = endpoint("Last", "http://localhost/last");
+        this.service.storeWSDLEndpoint(first);
+        this.service.storeWSDLEndpoint(invalid);
+        this.service.storeWSDLEndpoint(last);
+        this.releaseWriter.countDown();
+        this.service.close();
+
+        assertThat(find(first), is(notNullValue()));
+        assertThat(find(last), is(notNullValue()));
+        assertThat(this.removed, contains(invalid));
+        final List<WSDLEndpoint> registered = this.service.getWSDLEndpointsForCsarId(this.container, this.csarId);
+        assertThat(registered, not(hasItem(invalid)));
+        assertThat(registered, hasItem(first));
+        assertThat(registered, hasItem(last));
+    }
+
+    @Test
+    public void testFailingChangeIsReportedOnce() throws Exception {
+        blockWriter();
+        final List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        final WSDLEndpoint endpoint = endpoint("Stored", "http://localhost/stored");
+        this.service.storeWSDLEndpoint(endpoint);
+        this.service.writeBehind(em -> {
+            throw new IllegalStateException("failing change");
+        }, failures::add);
+        this.releaseWriter.countDown();
+        this.service.close();
+
+        assertThat(failures.size(), is(1));
+        assertThat(failures.get(0).getMessage(), is("failing change"));
+        assertThat(find(endpoint), is(notNullValue()));
+        assertThat(this.removed, is(empty()));
+    }
+
+    @Test
+    public void testRemovedEndpointIsDeleted() throws Exception {
+        blockWriter();
+        final WSDLEndpoint endpoint = endpoint("Removed", "http://localhost/removed");
+        this.service.storeWSDLEndpoint(endpoint);
+        assertThat(this.service.removeWSDLEndpoint(endpoint), is(true));
+        assertThat(this.service.removeWSDLEndpoint(endpoint), is(false));
+        this.releaseWriter.countDown();
+        this.service.close();
+
+        assertThat(this.removed, contains(endpoint));
+        assertThat(find(endpoint), is(nullValue()));
+        assertThat(this.service.getWSDLEndpointsForCsarId(this.container, this.csarId), is(empty()));
+    }
+
+    /**
+     * Occupies the writer thread, so the changes queued afterwards are written as one batch.
+     */
+    private void blockWriter() throws InterruptedException {
+        this.service.writeBehind(em -> {
+            this.writerBlocked.countDown();
+            try {
+                this.releaseWriter.await(1, TimeUnit.MINUTES);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, e -> {
+        });
+        assertThat(this.writerBlocked.await(1, TimeUnit.MINUTES), is(true));
+    }
+
+    private WSDLEndpoint endpoint(final String portType, final String uri) {
+        return new WSDLEndpoint(URI.create(uri), new QName("http://example.org", portType), this.container,
+            this.container, this.csarId, 1L, new QName("http://example.org", "Plan"), null, null, null);
+    }
+
+    private WSDLEndpoint find(final WSDLEndpoint endpoint) {
+        if (endpoint.getId() == null) {
+            return null;
+        }
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            return em.find(WSDLEndpoint.class, endpoint.getId());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.opentosca.container.core.impl.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opentosca.container.core.model.csar.Csar;
+import org.opentosca.container.core.model.csar.CsarId;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CsarStorageServiceImplTest {
+
+    private static final CsarId CSAR_ID = new CsarId("test.csar");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path basePath;
+    private CsarStorageServiceImpl storage;
+
+    @Before
+    public void setUp() throws Exception {
+        this.basePath = this.folder.getRoot().toPath();
+        Files.createDirectories(this.basePath.resolve(CSAR_ID.csarName()));
+        this.storage = new CsarStorageServiceImpl(this.basePath);
+    }
+
+    @Test
+    public void testFindByIdReturnsCachedInstance() {
+        final Csar csar = this.storage.findById(CSAR_ID);
+        assertThat(this.storage.findById(CSAR_ID), sameInstance(csar));
+        assertThat(this.storage.getCacheStats().hitCount(), is(1L));
+    }
+
+    @Test
+    public void testFindAllSharesCachedInstances() {
+        final Csar csar = this.storage.findById(CSAR_ID);
+        assertThat(this.storage.findAll(), contains(sameInstance(csar)));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteInvalidatesCache() throws Exception {
+        this.storage.findById(CSAR_ID);
+        this.storage.deleteCSAR(CSAR_ID);
+        this.storage.findById(CSAR_ID);
+    }
+
+    @Test
+    public void testPurgeInvalidatesCache() throws Exception {
+        final Csar csar = this.storage.findById(CSAR_ID);
+        this.storage.purgeCsars();
+        Files.createDirectories(this.basePath.resolve(CSAR_ID.csarName()));
+        assertThat(this.storage.findById(CSAR_ID), not(sameInstance(csar)));
+    }
+}
@@ -0,0 +1,57 @@
+package org.opentosca.container.core.model.csar;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.winery.model.tosca.TNodeType;
+import org.eclipse.winery.model.tosca.TServiceTemplate;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CsarImplTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Csar csar;
+
+    @Before
+    public void setUp() throws Exception {
+        final Path location = folder.newFolder("test.csar").toPath();
+        this.csar = new CsarImpl(new CsarId("test.csar"), location);
+    }
+
+    @Test
+    public void testDefinitionsAreReadOnce() {
+        assertThat(this.csar.serviceTemplates(), sameInstance(this.csar.serviceTemplates()));
+        assertThat(this.csar.nodeTypes(), sameInstance(this.csar.nodeTypes()));
+        assertThat(this.csar.definitions(), sameInstance(this.csar.definitions()));
+    }
+
+    @Test
+    public void testEmptyRepository() {
+        assertThat(this.csar.serviceTemplates(), empty());
+        assertThat(this.csar.artifactTemplates(), empty());
+        assertThat(this.csar.entryServiceTemplate(), nullValue());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testServiceTemplatesAreUnmodifiable() {
+        final List<TServiceTemplate> serviceTemplates = this.csar.serviceTemplates();
+        serviceTemplates.add(new TServiceTemplate());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNodeTypesAreUnmodifiable() {
+        final List<TNodeType> nodeTypes = this.csar.nodeTypes();
+        nodeTypes.clear();
+    }
+}
@@ -0,0 +1,113 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityTransaction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.next.model.PropertyEntry;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
+import org.opentosca.container.core.next.repository.InstanceFilter;
+import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class PropertyEntryMigrationTest {
+
+    private final ServiceTemplateInstanceRepository repository = new ServiceTemplateInstanceRepository();
+
+    // identifies the rows seeded by this test in the shared database
+    private final String marker = UUID.randomUUID().toString();
+    private final List<Long> instanceIds = new ArrayList<>();
+
+    @Before
+    public void seed() {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            for (final String region : new String[] {"eu", "us"}) {
+                final ServiceTemplateInstance instance = new ServiceTemplateInstance();
+                instance.setCsarId(new CsarId(this.marker + ".csar"));
+                instance.setTemplateId(this.marker);
+                instance.setState(ServiceTemplateInstanceState.CREATED);
+                final ServiceTemplateInstanceProperty property = new ServiceTemplateInstanceProperty();
+                property.setName("xml");
+                property.setType("xml");
+                property.setValue("<Properties><Region>" + region + "</Region><State>Running</State></Properties>");
+                instance.addProperty(property);
+                em.persist(instance);
+                this.instanceIds.add(instance.getId());
+            }
+            em.flush();
+            // drop the entries, like for instances stored before property entries were introduced
+            em.createNativeQuery("DELETE FROM " + ServiceTemplateInstance.TABLE_NAME + "_" + PropertyEntry.TABLE_NAME
+                + " WHERE SERVICE_TEMPLATE_INSTANCE_ID IN (:ids)")
+                .setParameter("ids", this.instanceIds)
+                .executeUpdate();
+            tx.commit();
+        }
+    }
+
+    @After
+    public void cleanUp() {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            em.createQuery("SELECT s FROM ServiceTemplateInstance s WHERE s.templateId = :marker", ServiceTemplateInstance.class)
+                .setParameter("marker", this.marker)
+                .getResultList()
+                .forEach(em::remove);
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void testStoredInstancesAreFoundByPropertyAfterMigration() {
+        assertThat(findIds("Region", "eu"), is(empty()));
+
+        PropertyEntryMigration.run();
+
+        assertThat(findIds("Region", "eu"), contains(this.instanceIds.get(0)));
+        assertThat(findIds("Region", "us"), contains(this.instanceIds.get(1)));
+        assertThat(findIds("State", "Running"), contains(this.instanceIds.get(0), this.instanceIds.get(1)));
+        assertThat(findIds("Region", "asia"), is(empty()));
+    }
+
+    @Test
+    public void testMigratedEntriesAreRead() {
+        PropertyEntryMigration.run();
+
+        final ServiceTemplateInstance instance = this.repository.find(this.instanceIds.get(0)).get();
+        assertThat(instance.getPropertyEntries(), containsInAnyOrder(new PropertyEntry("Region", "eu"), new PropertyEntry("State", "Running")));
+        assertThat(instance.getPropertiesAsMap().get("Region"), is("eu"));
+    }
+
+    @Test
+    public void testMigrationKeepsExistingEntries() {
+        PropertyEntryMigration.run();
+        PropertyEntryMigration.run();
+
+        assertThat(this.repository.find(this.instanceIds.get(1)).get().getPropertyEntries().size(), is(2));
+    }
+
+    private List<Long> findIds(final String property, final String value) {
+        final InstanceFilter filter = new InstanceFilter(null, null, null, null, null, Collections.singletonMap(property, value));
+        return this.repository.findSummaries(this.marker, filter).stream()
+            .map(ServiceTemplateInstanceSummary::getId)
+            .collect(Collectors.toList());
+    }
+}
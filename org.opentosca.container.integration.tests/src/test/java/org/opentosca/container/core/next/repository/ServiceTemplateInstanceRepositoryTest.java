@@ -0,0 +1,107 @@
+package org.opentosca.container.core.next.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.persistence.EntityTransaction;
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.CsarId;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
+import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceState;
+import org.opentosca.container.core.next.model.PlanLanguage;
+import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ServiceTemplateInstanceRepositoryTest {
+
+    private static final int SERVICE_INSTANCES = 50;
+    private static final int PLAN_INSTANCES_PER_SERVICE = 20;
+
+    private final ServiceTemplateInstanceRepository repository = new ServiceTemplateInstanceRepository();
+
+    // identifies the rows seeded by this test in the shared database
+    private final String marker = UUID.randomUUID().toString();
+    private final List<Long> serviceInstanceIds = new ArrayList<>();
+
+    @Before
+    public void seed() {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            for (int s = 0; s < SERVICE_INSTANCES; s++) {
+                final ServiceTemplateInstance instance = new ServiceTemplateInstance();
+                instance.setCsarId(new CsarId(this.marker + ".csar"));
+                instance.setTemplateId(this.marker);
+                instance.setState(ServiceTemplateInstanceState.CREATED);
+                em.persist(instance);
+                for (int p = 0; p < PLAN_INSTANCES_PER_SERVICE; p++) {
+                    final PlanInstance plan = new PlanInstance();
+                    plan.setCorrelationId(correlationId(s, p));
+                    plan.setState(PlanInstanceState.FINISHED);
+                    plan.setType(p == 0 ? PlanType.BUILD : PlanType.MANAGEMENT);
+                    plan.setLanguage(PlanLanguage.BPEL);
+                    plan.setTemplateId(new QName("http://example.org", "Plan" + p));
+                    plan.setServiceTemplateInstance(instance);
+                    em.persist(plan);
+                }
+                this.serviceInstanceIds.add(instance.getId());
+            }
+            tx.commit();
+        }
+    }
+
+    @After
+    public void cleanUp() {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            final EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            em.createQuery("DELETE FROM PlanInstance p WHERE p.correlationId LIKE :marker")
+                .setParameter("marker", this.marker + "%")
+                .executeUpdate();
+            em.createQuery("DELETE FROM ServiceTemplateInstance s WHERE s.templateId = :marker")
+                .setParameter("marker", this.marker)
+                .executeUpdate();
+            tx.commit();
+        }
+    }
+
+    @Test
+    public void testFindByPlanCorrelationId() {
+        final Optional<ServiceTemplateInstance> owner = this.repository.findByPlanCorrelationId(correlationId(42, 7));
+
+        assertThat(owner.isPresent(), is(true));
+        assertThat(owner.get().getId(), is(this.serviceInstanceIds.get(42)));
+        // the owner is initialized like by find(Long), so it can be used after the EntityManager is closed
+        assertThat(owner.get().getPlanInstances().size(), is(PLAN_INSTANCES_PER_SERVICE));
+    }
+
+    @Test
+    public void testFindByPlanCorrelationIdOfEachPlan() {
+        for (int p = 0; p < PLAN_INSTANCES_PER_SERVICE; p++) {
+            final Optional<ServiceTemplateInstance> owner = this.repository.findByPlanCorrelationId(correlationId(3, p));
+            assertThat(owner.isPresent(), is(true));
+            assertThat(owner.get().getId(), is(this.serviceInstanceIds.get(3)));
+        }
+    }
+
+    @Test
+    public void testFindByUnknownPlanCorrelationId() {
+        assertThat(this.repository.findByPlanCorrelationId(this.marker + "-unknown").isPresent(), is(false));
+    }
+
+    private String correlationId(final int serviceInstance, final int planInstance) {
+        return this.marker + "-" + serviceInstance + "-" + planInstance;
+    }
+}
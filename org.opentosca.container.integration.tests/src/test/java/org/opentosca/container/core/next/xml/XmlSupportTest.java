@@ -0,0 +1,122 @@
+package org.opentosca.container.core.next.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class XmlSupportTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void testParseAndSerialize() throws Exception {
+        final Document document = XmlSupport.parse("<ns:Properties xmlns:ns=\"http://example.org\"><ns:Name>value</ns:Name></ns:Properties>");
+        assertThat(document.getDocumentElement().getLocalName(), is("Properties"));
+        assertThat(document.getDocumentElement().getNamespaceURI(), is("http://example.org"));
+
+        final String xml = XmlSupport.toString(document, false);
+        assertThat(xml, containsString("<?xml"));
+        assertThat(xml, containsString("<ns:Name>value</ns:Name>"));
+    }
+
+    @Test
+    public void testParseIgnoringComments() throws Exception {
+        final String xml = "<Properties><!-- comment --><Name>value</Name></Properties>";
+        assertThat(XmlSupport.parse(xml).getDocumentElement().getFirstChild().getNodeType(), is(Node.COMMENT_NODE));
+        assertThat(XmlSupport.parseIgnoringComments(xml).getDocumentElement().getFirstChild().getNodeType(),
+            is(Node.ELEMENT_NODE));
+        // the parsers are kept apart, so the previous call does not affect the next one
+        assertThat(XmlSupport.parse(xml).getDocumentElement().getFirstChild().getNodeType(), is(Node.COMMENT_NODE));
+    }
+
+    @Test
+    public void testSerializerIsResetBetweenUses() throws Exception {
+        final Document document = XmlSupport.newDocument();
+        final Element root = document.createElement("Properties");
+        root.appendChild(document.createElement("Name")).setTextContent("value");
+        document.appendChild(root);
+
+        assertThat(XmlSupport.toString(document, true), containsString("\n"));
+        assertThat(XmlSupport.toString(document, false), not(containsString("<Properties>\n")));
+    }
+
+    @Test
+    public void testCompiledExpressionsAreCachedPerThread() throws Exception {
+        final XPathExpression expression = XmlSupport.compile("/Properties/Name");
+        assertThat(XmlSupport.compile("/Properties/Name"), sameInstance(expression));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final XPathExpression other = executor.submit(() -> XmlSupport.compile("/Properties/Name")).get();
+            assertThat(other == expression, is(false));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = XPathExpressionException.class)
+    public void testCompileInvalidExpression() throws Exception {
+        XmlSupport.compile("/Properties/[");
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        final Document document = XmlSupport.parse("<Properties><Name>value</Name><Name>other</Name></Properties>");
+        assertThat(XmlSupport.evaluate("/Properties/Name[2]", document, XPathConstants.STRING), is("other"));
+        assertThat(XmlSupport.evaluate("count(/Properties/Name)", document, XPathConstants.NUMBER), is(2.0));
+    }
+
+    @Test
+    public void testParseSerializeAndEvaluateConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                final Callable<Integer> task = () -> {
+                    start.await();
+                    int checked = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        final String value = thread + "-" + i;
+                        final Document document = XmlSupport.parse("<Properties><!-- " + value + " --><Name>"
+                            + value + "</Name></Properties>");
+                        assertThat(XmlSupport.evaluate("/Properties/Name", document, XPathConstants.STRING), is(value));
+                        final Document copy = XmlSupport.parseIgnoringComments(XmlSupport.toString(document, i % 2 == 0));
+                        assertThat(XmlSupport.evaluate("/Properties/Name", copy, XPathConstants.STRING), is(value));
+                        checked++;
+                    }
+                    return checked;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (final Future<Integer> result : results) {
+                assertThat(result.get(1, TimeUnit.MINUTES), is(ITERATIONS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -89,7 +89,8 @@ public class CoreFileServiceImpl implements ICoreFileService {
 
             Path persistentStorageLocation = baseDirectory.resolve(csarID.getFileName());
             try {
-                FileSystem.copyDirectory(csarUnpackDir, persistentStorageLocation);
+                // the unpack directory is not needed anymore, so avoid copying all files of the CSAR
+                FileSystem.moveDirectory(csarUnpackDir, persistentStorageLocation);
             } catch (IOException e) {
                 throw new SystemException("Creating the permanent storage for the CSAR failed", e);
             }
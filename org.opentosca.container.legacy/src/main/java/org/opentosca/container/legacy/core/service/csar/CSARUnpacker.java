@@ -124,6 +124,12 @@ public class CSARUnpacker {
         if (this.csarUnpackDirectory == null) {
             return;
         }
+        if (!Files.exists(this.csarUnpackDirectory)) {
+            // moved to the permanent storage location
+            this.csarUnpackDirectory = null;
+            this.csarVisitor = null;
+            return;
+        }
         LOG.debug("Deleting CSAR unpack dir \"{}\"...", this.csarUnpackDirectory);
 
         final DirectoryDeleteVisitor csarDeleteVisitor = new DirectoryDeleteVisitor();
@@ -0,0 +1,64 @@
+package org.opentosca.deployment.checks;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on a shared executor, but at most a given number of them at the same time. Further tasks wait in a queue
+ * without occupying a thread of the executor.
+ */
+final class ConcurrencyLimiter {
+
+    private final Executor executor;
+    private final int limit;
+
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    ConcurrencyLimiter(final Executor executor, final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        this.executor = executor;
+        this.limit = limit;
+    }
+
+    <T> CompletableFuture<T> submit(final Supplier<T> task) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        this.waiting.add(() -> {
+            try {
+                result.complete(task.get());
+            } catch (final Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                this.running.decrementAndGet();
+                drain();
+            }
+        });
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        while (!this.waiting.isEmpty()) {
+            final int current = this.running.get();
+            if (current >= this.limit) {
+                // a running task drains the queue once it finishes
+                return;
+            }
+            if (!this.running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final Runnable next = this.waiting.poll();
+            if (next == null) {
+                this.running.decrementAndGet();
+                continue;
+            }
+            this.executor.execute(next);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.opentosca.deployment.checks;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -9,6 +10,8 @@ import javax.inject.Inject;
 
 import org.eclipse.winery.model.tosca.TServiceTemplate;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.model.csar.CsarId;
 import org.opentosca.container.core.next.model.DeploymentTest;
@@ -18,6 +21,7 @@ import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
+import org.opentosca.container.core.next.trigger.PlanLifecycleEventBus;
 import org.opentosca.container.core.service.CsarStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,10 +30,16 @@ public class DeploymentTestService {
 
     private static final Logger logger = LoggerFactory.getLogger(DeploymentTestService.class);
 
+    // time to wait for a plan to finish before its deployment test is dropped
+    private static final long PLAN_TIMEOUT_MINUTES =
+        Long.parseLong(Settings.getSetting("org.opentosca.deployment.checks.plan.timeout", "45"));
+
     private final DeploymentTestRepository repository = new DeploymentTestRepository();
     private final CsarStorageService csarStorage;
 
-    private final ExecutorService pool = Executors.newFixedThreadPool(5);
+    // prepares tests, the tests themselves run on the pools of the executor
+    private final ExecutorService preparation = Executors.newFixedThreadPool(2,
+        new ThreadFactoryBuilder().setNameFormat("deployment-test-%d").setDaemon(true).build());
 
     private final TestExecutor executor;
 
@@ -41,7 +51,8 @@ public class DeploymentTestService {
     }
 
     /**
-     * Runs a deployment test if a plan with the given correlation id is in state FINISHED.
+     * Runs a deployment test once the plan with the given correlation id is in state FINISHED. No thread is held
+     * while waiting for the plan.
      *
      * @param csarId        The corresponding CSAR
      * @param correlationId The correlation ID of a plan
@@ -49,34 +60,21 @@ public class DeploymentTestService {
     public void runAfterPlan(final CsarId csarId, final String correlationId) {
         logger.info("Trigger deployment test after plan has been finished; correlation_id={}, csar={}", correlationId,
             csarId);
-        this.pool.submit(() -> {
-            final long sleep = 1000;
-            final long timeout = TimeUnit.MINUTES.toMillis(45);
-            long waited = 0;
-            while (true) {
-                PlanInstance pi = null;
-                boolean finished = false;
-                try {
-                    pi = new PlanInstanceRepository().findByCorrelationId(correlationId);
-                    finished = pi.getState().equals(PlanInstanceState.FINISHED);
-                } catch (final Exception e) {
-                    finished = false;
-                }
-                if (finished) {
-                    run(csarId, pi.getServiceTemplateInstance());
-                    break;
-                }
-                if (waited >= timeout) {
-                    logger.warn("Timeout reached, deployment test has not been executed");
-                    break;
+        // the event bus stops observing the plan once the timeout elapsed
+        PlanLifecycleEventBus.getInstance().awaitTermination(correlationId, PLAN_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .whenComplete((state, e) -> {
+                if (e != null) {
+                    logger.warn("Timeout reached, deployment test has not been executed; correlation_id={}", correlationId);
+                    return;
                 }
-                try {
-                    Thread.sleep(sleep);
-                } catch (final InterruptedException e) {
+                if (state != PlanInstanceState.FINISHED) {
+                    logger.info("Plan terminated in state {}, deployment test has not been executed; correlation_id={}",
+                        state, correlationId);
+                    return;
                 }
-                waited += sleep;
-            }
-        });
+                final PlanInstance pi = new PlanInstanceRepository().findByCorrelationId(correlationId);
+                run(csarId, pi.getServiceTemplateInstance());
+            });
     }
 
     /**
@@ -98,19 +96,17 @@ public class DeploymentTestService {
         this.repository.add(result);
 
         // Execute
-        this.pool.submit(() -> {
+        CompletableFuture.supplyAsync(() -> {
             logger.info("Executing deployment test...");
             // Prepare the context
             final Csar csar = csarStorage.findById(csarId);
             final TServiceTemplate entryServiceTemplate = csar.entryServiceTemplate();
-            final TestContext context = new TestContext(csar, entryServiceTemplate, serviceTemplateInstance, result);
-            final CompletableFuture<Void> future = this.executor.verify(context);
-            logger.info("Wait until jobs has been finished...");
-            try {
-                future.join();
+            return new TestContext(csar, entryServiceTemplate, serviceTemplateInstance, result);
+        }, this.preparation).thenCompose(this.executor::verify).whenComplete((v, e) -> {
+            if (e == null) {
                 logger.info("Jobs has been finished");
                 result.setState(DeploymentTestState.FINISHED);
-            } catch (final Exception e) {
+            } else {
                 logger.error("Jobs completed with exception: {}", e.getMessage(), e);
                 result.setState(DeploymentTestState.FAILED);
             }
@@ -120,4 +116,11 @@ public class DeploymentTestService {
 
         return result;
     }
+
+    /**
+     * @return the statistics of the jobs executed so far per test plugin
+     */
+    public Map<String, TestExecutor.JobStatistics> getJobStatistics() {
+        return this.executor.getStatistics();
+    }
 }
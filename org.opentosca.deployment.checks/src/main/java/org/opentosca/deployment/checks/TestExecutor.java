@@ -1,14 +1,19 @@
 package org.opentosca.deployment.checks;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -21,8 +26,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.camel.CamelContext;
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.model.csar.Csar;
 import org.opentosca.container.core.next.model.DeploymentTestResult;
+import org.opentosca.container.core.next.model.DeploymentTestState;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.deployment.checks.test.HttpTest;
 import org.opentosca.deployment.checks.test.ManagementOperationTest;
@@ -31,15 +38,25 @@ import org.opentosca.deployment.checks.test.TestExecutionPlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Executes the jobs of deployment tests. The jobs of all tests share one pool, the number of jobs that run at the same
+ * time is additionally limited per plugin, e.g. to not open too many connections to the tested applications.
+ */
 public class TestExecutor {
 
     private static Logger logger = LoggerFactory.getLogger(TestExecutor.class);
 
+    private static final int JOB_THREADS =
+        Integer.parseInt(Settings.getSetting("org.opentosca.deployment.checks.jobs.threads", "20"));
+
     private final List<TestExecutionPlugin> plugins;
 
     private final ExecutorService jobExecutor;
     private final ExecutorService testExecutor;
 
+    private final Map<TestExecutionPlugin, ConcurrencyLimiter> limiters = new HashMap<>();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
     @Inject
     @Deprecated
     public TestExecutor(CamelContext camelContext) {
@@ -54,9 +71,31 @@ public class TestExecutor {
         this.plugins = plugins;
         ThreadFactory threadFactory;
         threadFactory = new ThreadFactoryBuilder().setNameFormat("job-pool-%d").setDaemon(true).build();
-        this.jobExecutor = Executors.newFixedThreadPool(20, threadFactory);
+        this.jobExecutor = Executors.newFixedThreadPool(JOB_THREADS, threadFactory);
         threadFactory = new ThreadFactoryBuilder().setNameFormat("test-pool-%d").setDaemon(true).build();
         this.testExecutor = Executors.newFixedThreadPool(5, threadFactory);
+        for (final TestExecutionPlugin plugin : plugins) {
+            this.limiters.put(plugin, new ConcurrencyLimiter(this.jobExecutor, concurrencyLimit(plugin)));
+        }
+    }
+
+    /**
+     * @return the maximum number of jobs of the given plugin that run at the same time, configured by
+     * <tt>org.opentosca.deployment.checks.concurrency.&lt;plugin class name&gt;</tt>
+     */
+    private static int concurrencyLimit(final TestExecutionPlugin plugin) {
+        final String name = plugin.getClass().getSimpleName();
+        return Integer.parseInt(Settings.getSetting("org.opentosca.deployment.checks.concurrency." + name,
+            Integer.toString(Math.min(JOB_THREADS, 5))));
+    }
+
+    /**
+     * @return a snapshot of the job statistics per plugin, i.e. how long its jobs waited for a free slot and ran
+     */
+    public Map<String, JobStatistics> getStatistics() {
+        final Map<String, JobStatistics> snapshot = new HashMap<>();
+        this.statistics.forEach((plugin, stats) -> snapshot.put(plugin, stats.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
     }
 
     public CompletableFuture<Void> verify(final TestContext context) {
@@ -91,15 +130,17 @@ public class TestExecutor {
                 }
             }
 
-            // Wait until all jobs have been completed
-            final List<DeploymentTestResult> results =
-                futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            return futures;
+        }, this.testExecutor).thenCompose(futures ->
+            // Collect the results once all jobs have been completed, without blocking a thread
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenRun(() -> {
+                final List<DeploymentTestResult> results =
+                    futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
 
-            context.setDeploymentTestResults(results);
-            logger.info("Job statistics: {}", context.getDeploymentTest().getStatistics());
-
-            return null;
-        }, this.testExecutor);
+                context.setDeploymentTestResults(results);
+                logger.info("Job statistics: {}", context.getDeploymentTest().getStatistics());
+                logger.debug("Job statistics per plugin: {}", getStatistics());
+            }));
     }
 
     public void shutdown() {
@@ -125,12 +166,97 @@ public class TestExecutor {
                                                            final TNodeTemplate nodeTemplate,
                                                            final NodeTemplateInstance nodeTemplateInstance,
                                                            final TPolicyTemplate policyTemplate) {
+        final String name = plugin.getClass().getSimpleName();
+        final Statistics stats = this.statistics.computeIfAbsent(name, k -> new Statistics());
         final long start = System.currentTimeMillis();
-        return CompletableFuture.supplyAsync(() -> {
-            final long d = System.currentTimeMillis() - start;
+        return this.limiters.get(plugin).submit(() -> {
+            final long queued = System.currentTimeMillis() - start;
             logger.info("Job \"{}\" for node template \"{}\" (instance={}) spent {}ms in queue",
-                plugin.getClass().getSimpleName(), nodeTemplate.getId(), nodeTemplateInstance.getId(), d);
-            return plugin.execute(context, nodeTemplate, nodeTemplateInstance, policyTemplate);
-        }, this.jobExecutor);
+                name, nodeTemplate.getId(), nodeTemplateInstance.getId(), queued);
+            final long started = System.currentTimeMillis();
+            DeploymentTestResult result = null;
+            try {
+                result = plugin.execute(context, nodeTemplate, nodeTemplateInstance, policyTemplate);
+                return result;
+            } finally {
+                final long duration = System.currentTimeMillis() - started;
+                final boolean success = result != null && result.getState() == DeploymentTestState.SUCCESS;
+                stats.executed(queued, duration, success);
+                logger.info("Job \"{}\" for node template \"{}\" (instance={}) finished in {}ms: {}",
+                    name, nodeTemplate.getId(), nodeTemplateInstance.getId(), duration,
+                    result == null ? DeploymentTestState.FAILED : result.getState());
+            }
+        });
+    }
+
+    /**
+     * Immutable snapshot of the executed jobs of a plugin.
+     */
+    public static final class JobStatistics {
+
+        private final long jobs;
+        private final long succeeded;
+        private final long totalQueueMillis;
+        private final long totalExecutionMillis;
+        private final long maxExecutionMillis;
+
+        private JobStatistics(final long jobs, final long succeeded, final long totalQueueMillis,
+                              final long totalExecutionMillis, final long maxExecutionMillis) {
+            this.jobs = jobs;
+            this.succeeded = succeeded;
+            this.totalQueueMillis = totalQueueMillis;
+            this.totalExecutionMillis = totalExecutionMillis;
+            this.maxExecutionMillis = maxExecutionMillis;
+        }
+
+        public long getJobs() {
+            return this.jobs;
+        }
+
+        public long getSucceeded() {
+            return this.succeeded;
+        }
+
+        public long getTotalQueueMillis() {
+            return this.totalQueueMillis;
+        }
+
+        public long getTotalExecutionMillis() {
+            return this.totalExecutionMillis;
+        }
+
+        public long getMaxExecutionMillis() {
+            return this.maxExecutionMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("jobs: %d, succeeded: %d, total queue: %d ms, total execution: %d ms, max execution: %d ms",
+                this.jobs, this.succeeded, this.totalQueueMillis, this.totalExecutionMillis, this.maxExecutionMillis);
+        }
+    }
+
+    private static final class Statistics {
+
+        private final LongAdder jobs = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder totalQueueMillis = new LongAdder();
+        private final LongAdder totalExecutionMillis = new LongAdder();
+        private final LongAccumulator maxExecutionMillis = new LongAccumulator(Math::max, 0);
+
+        void executed(final long queueMillis, final long executionMillis, final boolean success) {
+            this.jobs.increment();
+            if (success) {
+                this.succeeded.increment();
+            }
+            this.totalQueueMillis.add(queueMillis);
+            this.totalExecutionMillis.add(executionMillis);
+            this.maxExecutionMillis.accumulate(executionMillis);
+        }
+
+        JobStatistics snapshot() {
+            return new JobStatistics(this.jobs.sum(), this.succeeded.sum(), this.totalQueueMillis.sum(),
+                this.totalExecutionMillis.sum(), this.maxExecutionMillis.get());
+        }
     }
 }
@@ -120,15 +120,7 @@ public class BPELSituationAwareBuildProcessBuilder extends AbstractBuildPlanBuil
                               final AbstractServiceTemplate serviceTemplate) {
         // create empty plan from servicetemplate and add definitions
 
-        String namespace;
-        if (serviceTemplate.getTargetNamespace() != null) {
-            namespace = serviceTemplate.getTargetNamespace();
-        } else {
-            namespace = definitions.getTargetNamespace();
-        }
-
-        if (namespace.equals(serviceTemplate.getQName().getNamespaceURI())
-            && serviceTemplate.getId().equals(serviceTemplate.getQName().getLocalPart())) {
+        if (hasValidQName(definitions, serviceTemplate)) {
 
             final String processName = ModelUtils.makeValidNCName(serviceTemplate.getId() + "_sitAwareBuildPlan");
             final String processNamespace = serviceTemplate.getTargetNamespace() + "_sitAwareBuildPlan";
@@ -248,6 +240,34 @@ public class BPELSituationAwareBuildProcessBuilder extends AbstractBuildPlanBuil
         return plans;
     }
 
+    /**
+     * Checks whether this builder generates a build plan for any ServiceTemplate of the given Definitions, i.e. whether
+     * a ServiceTemplate without build plan has situation policies, without generating the plans.
+     *
+     * @param definitions the Definitions to check
+     * @return true if this builder should be used instead of the default build plan builder
+     */
+    public boolean isApplicable(final AbstractDefinitions definitions) {
+        for (final AbstractServiceTemplate serviceTemplate : definitions.getServiceTemplates()) {
+            if (!serviceTemplate.hasBuildPlan() && hasValidQName(definitions, serviceTemplate)
+                && !getSituationPolicies(serviceTemplate).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasValidQName(final AbstractDefinitions definitions, final AbstractServiceTemplate serviceTemplate) {
+        String namespace;
+        if (serviceTemplate.getTargetNamespace() != null) {
+            namespace = serviceTemplate.getTargetNamespace();
+        } else {
+            namespace = definitions.getTargetNamespace();
+        }
+        return namespace.equals(serviceTemplate.getQName().getNamespaceURI())
+            && serviceTemplate.getId().equals(serviceTemplate.getQName().getLocalPart());
+    }
+
     private Map<AbstractPolicy, String> nodePolicyToId(Map<AbstractNodeTemplate, Collection<AbstractPolicy>> situationPolicies) {
         Map<AbstractPolicy, String> nodePolicyToIdMap = new HashMap<AbstractPolicy, String>();
 
@@ -25,6 +25,7 @@ import javax.xml.stream.FactoryConfigurationError;
 import org.eclipse.winery.model.selfservice.Application;
 import org.eclipse.winery.model.selfservice.ApplicationOption;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.ode.schemas.dd._2007._03.TProvide;
 import org.oasis_open.docs.tosca.ns._2011._12.Definitions;
 import org.oasis_open.docs.tosca.ns._2011._12.ObjectFactory;
@@ -353,6 +354,9 @@ public class Exporter extends AbstractExporter {
             Exporter.LOG.error("Some error while marshalling with JAXB", e);
         } catch (final SystemException e) {
             Exporter.LOG.error("Some error in the openTOSCA Core", e);
+        } finally {
+            // the repackaged CSAR contains all files, the staging directory is not needed anymore
+            FileUtils.deleteQuietly(tempDir.toFile());
         }
 
         Exporter.LOG.debug(repackagedCsar.toString());
@@ -72,6 +72,9 @@ public abstract class AbstractImporter {
 
     /**
      * Generates Plans for ServiceTemplates inside the given Definitions document
+     * <p>
+     * The plan builders run one after another, as the Definitions expose live DOM nodes, which are not safe to read
+     * from multiple threads.
      *
      * @param defs     an AbstractDefinitions
      * @param csarName the FileName of the CSAR the given Definitions is contained in
@@ -79,15 +82,9 @@ public abstract class AbstractImporter {
      */
     public List<AbstractPlan> buildPlans(final AbstractDefinitions defs, final String csarName) {
 
-        final List<AbstractPlan> plans = new ArrayList<>();
-
-        AbstractSimplePlanBuilder buildPlanBuilder = new BPELBuildProcessBuilder(pluginRegistry);
+        final AbstractSimplePlanBuilder defaultBuildPlanBuilder = new BPELBuildProcessBuilder(pluginRegistry);
         final BPELSituationAwareBuildProcessBuilder sitAwareBuilder = new BPELSituationAwareBuildProcessBuilder(pluginRegistry);
 
-        if (!sitAwareBuilder.buildPlans(csarName, defs).isEmpty()) {
-            buildPlanBuilder = sitAwareBuilder;
-        }
-
         // FIXME: This does not work for me (Michael W. - 2018-02-19)
         // if (!this.hasPolicies(defs)) {
         // buildPlanBuilder = new BPELBuildProcessBuildeplanr();
@@ -110,17 +107,33 @@ public abstract class AbstractImporter {
         final AbstractSimplePlanBuilder backupPlanBuilder = new BPELBackupManagementProcessBuilder(pluginRegistry);
         final AbstractSimplePlanBuilder testPlanBuilder = new BPELTestManagementProcessBuilder(pluginRegistry);
 
+        final List<AbstractPlan> plans = new ArrayList<>();
         plans.addAll(scalingPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(buildPlanBuilder.buildPlans(csarName, defs));
+        plans.addAll(buildBuildPlans(sitAwareBuilder, defaultBuildPlanBuilder, defs, csarName));
         plans.addAll(terminationPlanBuilder.buildPlans(csarName, defs));
         plans.addAll(freezePlanBuilder.buildPlans(csarName, defs));
         plans.addAll(defreezePlanBuilder.buildPlans(csarName, defs));
         plans.addAll(backupPlanBuilder.buildPlans(csarName, defs));
         plans.addAll(testPlanBuilder.buildPlans(csarName, defs));
-
         return plans;
     }
 
+    /**
+     * @return the situation-aware build plans if the builder is applicable and generates any, otherwise the default
+     * build plans
+     */
+    private static List<AbstractPlan> buildBuildPlans(final BPELSituationAwareBuildProcessBuilder sitAwareBuilder,
+                                                      final AbstractSimplePlanBuilder defaultBuildPlanBuilder,
+                                                      final AbstractDefinitions defs, final String csarName) {
+        if (sitAwareBuilder.isApplicable(defs)) {
+            final List<AbstractPlan> sitAwarePlans = sitAwareBuilder.buildPlans(csarName, defs);
+            if (!sitAwarePlans.isEmpty()) {
+                return sitAwarePlans;
+            }
+        }
+        return defaultBuildPlanBuilder.buildPlans(csarName, defs);
+    }
+
     private boolean hasPolicies(final AbstractDefinitions defs) {
         for (final AbstractServiceTemplate serv : defs.getServiceTemplates()) {
             for (final AbstractNodeTemplate nodeTemplate : serv.getTopologyTemplate().getNodeTemplates()) {